@@ -0,0 +1,133 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.web.benchmarks;
+
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
+import ortus.boxlang.web.context.WebRequestBoxContext;
+import ortus.boxlang.web.exchange.BoxCookie;
+import ortus.boxlang.web.util.MockHTTPExchange;
+
+/**
+ * Shared setup for the web benchmarks. Requests run against the mock exchange used by the tests and the small
+ * web root in <code>src/jmh/resources/webroot</code>.
+ */
+public final class BenchmarkSupport {
+
+	/**
+	 * The benchmark web root. JMH forks run with the project directory as their working directory.
+	 */
+	public static final String WEBROOT = Path.of( "src/jmh/resources/webroot" ).toAbsolutePath().toString();
+
+	private BenchmarkSupport() {
+	}
+
+	/**
+	 * Start the runtime, if it is not already running
+	 *
+	 * @return The runtime
+	 */
+	public static BoxRuntime runtime() {
+		return BoxRuntime.getInstance();
+	}
+
+	/**
+	 * Create a GET exchange for a request URI, with a response writer which discards its output
+	 *
+	 * @param requestURI The request URI
+	 * @param urlParams  The query string parameters
+	 *
+	 * @return The exchange
+	 */
+	public static MockHTTPExchange newExchange( String requestURI, Map<String, String[]> urlParams ) {
+		Map<String, String[]> headers = new HashMap<>();
+		headers.put( "Host", new String[] { "localhost:8080" } );
+		headers.put( "User-Agent", new String[] { "jmh" } );
+		headers.put( "Accept", new String[] { "text/html" } );
+
+		MockHTTPExchange exchange = new MockHTTPExchange( new BoxCookie[ 0 ], headers );
+		exchange.setRequestMethod( "GET" );
+		exchange.setRequestURI( requestURI );
+		exchange.setRequestURLMap( urlParams );
+		exchange.setRequestFormMap( new HashMap<>() );
+		exchange.setRequestServerName( "localhost" );
+		exchange.setRequestServerPort( 8080 );
+		exchange.setRequestRemoteAddr( "127.0.0.1" );
+		exchange.setResponseWriter( new PrintWriter( Writer.nullWriter() ) );
+		return exchange;
+	}
+
+	/**
+	 * Create a request context around an exchange with its application loaded, without running the request
+	 *
+	 * @param exchange The exchange
+	 *
+	 * @return The context
+	 */
+	public static WebRequestBoxContext newContext( MockHTTPExchange exchange ) {
+		WebRequestBoxContext context = new WebRequestBoxContext( runtime().getRuntimeContext(), exchange, WEBROOT );
+		try {
+			context.loadApplicationDescriptor( new URI( exchange.getRequestURI() ) );
+		} catch ( URISyntaxException e ) {
+			throw new BoxRuntimeException( "Invalid URI", e );
+		}
+		return context;
+	}
+
+	/**
+	 * Build a parameter map
+	 *
+	 * @param count The number of parameters
+	 *
+	 * @return A map of <code>param1=value1</code> ... <code>paramN=valueN</code>
+	 */
+	public static Map<String, String[]> params( int count ) {
+		Map<String, String[]> params = new HashMap<>();
+		for ( int i = 1; i <= count; i++ ) {
+			params.put( "param" + i, new String[] { "value" + i } );
+		}
+		return params;
+	}
+
+	/**
+	 * Build a query string with the same parameters as {@link #params(int)}, where every tenth value is percent
+	 * encoded
+	 *
+	 * @param count The number of parameters
+	 *
+	 * @return A query string of <code>param1=value1&amp;</code> ... <code>paramN=valueN</code>
+	 */
+	public static String queryString( int count ) {
+		StringBuilder query = new StringBuilder( count * 20 );
+		for ( int i = 1; i <= count; i++ ) {
+			if ( i > 1 ) {
+				query.append( '&' );
+			}
+			query.append( "param" ).append( i ).append( '=' ).append( i % 10 == 0 ? "value%20" : "value" ).append( i );
+		}
+		return query.toString();
+	}
+}
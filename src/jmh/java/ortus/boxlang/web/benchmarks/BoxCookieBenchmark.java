@@ -0,0 +1,64 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.web.benchmarks;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ortus.boxlang.web.exchange.BoxCookie;
+
+/**
+ * Serializing a fully populated session cookie into a Set-Cookie header
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class BoxCookieBenchmark {
+
+	private BoxCookie cookie;
+
+	@Setup
+	public void setup() {
+		cookie = new BoxCookie( "jsessionid", "0d5a3f1e-7c2b-4e8a-9f61-3b2d4c5e6f70" );
+		cookie.setPath( "/" );
+		cookie.setDomain( "example.com" );
+		cookie.setHttpOnly( true );
+		cookie.setSecure( true );
+		cookie.setMaxAge( 86400 );
+		cookie.setExpires( new Date( System.currentTimeMillis() + 86_400_000L ) );
+	}
+
+	@Benchmark
+	public String toSetCookieHeader() {
+		return cookie.toSetCookieHeader();
+	}
+}
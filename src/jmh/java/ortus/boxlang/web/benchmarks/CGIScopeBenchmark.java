@@ -0,0 +1,81 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.web.benchmarks;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.web.context.WebRequestBoxContext;
+import ortus.boxlang.web.scopes.CGIScope;
+
+/**
+ * CGI scope lookups for a built-in key near the start and end of the resolver, an HTTP header and a missing key
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class CGIScopeBenchmark {
+
+	private static final Key	SCRIPT_NAME		= Key.of( "script_name" );
+	private static final Key	SERVER_PORT		= Key.of( "server_port" );
+	private static final Key	HTTP_USER_AGENT	= Key.of( "http_user_agent" );
+	private static final Key	MISSING			= Key.of( "not_a_cgi_variable" );
+
+	private CGIScope			cgi;
+
+	@Setup
+	public void setup() {
+		WebRequestBoxContext context = BenchmarkSupport.newContext( BenchmarkSupport.newExchange( "/index.bxm", new HashMap<>() ) );
+		cgi = ( CGIScope ) context.getScopeNearby( CGIScope.name );
+	}
+
+	@Benchmark
+	public Object scriptName() {
+		return cgi.dereference( null, SCRIPT_NAME, true );
+	}
+
+	@Benchmark
+	public Object serverPort() {
+		return cgi.dereference( null, SERVER_PORT, true );
+	}
+
+	@Benchmark
+	public Object header() {
+		return cgi.dereference( null, HTTP_USER_AGENT, true );
+	}
+
+	@Benchmark
+	public Object missing() {
+		return cgi.dereference( null, MISSING, true );
+	}
+}
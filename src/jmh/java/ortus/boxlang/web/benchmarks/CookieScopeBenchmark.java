@@ -0,0 +1,87 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.web.benchmarks;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.web.context.WebRequestBoxContext;
+import ortus.boxlang.web.exchange.RequestCookieJar;
+import ortus.boxlang.web.scopes.CookieScope;
+import ortus.boxlang.web.util.MockHTTPExchange;
+
+/**
+ * Reading one cookie out of the 30 an analytics heavy site sends. <code>decodeAll</code> decodes every cookie up
+ * front, as the containers do for {@link ortus.boxlang.web.exchange.IBoxHTTPExchange#getRequestCookies()}.
+ * <code>cookieHeaderParser</code> parses the Cookie header and only decodes the cookie which is read.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class CookieScopeBenchmark {
+
+	private static final Key		SESSION_KEY	= Key.of( "jsessionid" );
+
+	private String					cookieHeader;
+	private MockHTTPExchange		arrayExchange;
+	private WebRequestBoxContext	arrayContext;
+	private WebRequestBoxContext	parserContext;
+
+	@Setup
+	public void setup() {
+		StringBuilder header = new StringBuilder();
+		for ( int i = 1; i < 30; i++ ) {
+			header.append( "_analytics" ).append( i ).append( "=GA1.2.%7B" ).append( 1_000_000 + i ).append( "%7D; " );
+		}
+		cookieHeader = header.append( "jsessionid=0d5a3f1e-7c2b-4e8a-9f61-3b2d4c5e6f70" ).toString();
+
+		arrayExchange	= BenchmarkSupport.newExchange( "/index.bxm", Map.of() );
+		arrayContext	= BenchmarkSupport.newContext( arrayExchange );
+
+		MockHTTPExchange parserExchange = BenchmarkSupport.newExchange( "/index.bxm", Map.of() );
+		parserExchange.setRequestHeaders( Map.of( "Cookie", new String[] { cookieHeader } ) );
+		parserExchange.setUseCookieHeaderParser( true );
+		parserContext = BenchmarkSupport.newContext( parserExchange );
+	}
+
+	@Benchmark
+	public Object decodeAll() {
+		arrayExchange.setRequestCookies( RequestCookieJar.parse( cookieHeader ).toCookies() );
+		return new CookieScope( arrayContext ).get( SESSION_KEY );
+	}
+
+	@Benchmark
+	public Object cookieHeaderParser() {
+		return new CookieScope( parserContext ).get( SESSION_KEY );
+	}
+}
@@ -0,0 +1,87 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.web.benchmarks;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ortus.boxlang.web.context.WebRequestBoxContext;
+import ortus.boxlang.web.exchange.QueryStringParser;
+import ortus.boxlang.web.scopes.URLScope;
+import ortus.boxlang.web.util.MockHTTPExchange;
+
+/**
+ * Building the URL scope from a container's parameter map compared to parsing the query string straight into it.
+ * <code>urlScopeFromMap</code> does not include the container's own cost of building the map, which
+ * <code>parseToMap</code> approximates.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class QueryStringParserBenchmark {
+
+	@Param( { "10", "100", "1000" } )
+	public int						paramCount;
+
+	private String					queryString;
+	private WebRequestBoxContext	mapContext;
+	private WebRequestBoxContext	parserContext;
+
+	@Setup
+	public void setup() {
+		queryString = BenchmarkSupport.queryString( paramCount );
+
+		MockHTTPExchange mapExchange = BenchmarkSupport.newExchange( "/index.bxm", BenchmarkSupport.params( paramCount ) );
+		mapContext = BenchmarkSupport.newContext( mapExchange );
+
+		MockHTTPExchange parserExchange = BenchmarkSupport.newExchange( "/index.bxm", Map.of() );
+		parserExchange.setRequestQueryString( queryString );
+		parserExchange.setUseQueryStringParser( true );
+		parserContext = BenchmarkSupport.newContext( parserExchange );
+	}
+
+	@Benchmark
+	public URLScope urlScopeFromMap() {
+		return new URLScope( mapContext );
+	}
+
+	@Benchmark
+	public URLScope urlScopeFromQueryString() {
+		return new URLScope( parserContext );
+	}
+
+	@Benchmark
+	public Map<String, String[]> parseToMap() {
+		return QueryStringParser.DEFAULT.parseToMap( queryString );
+	}
+}
@@ -0,0 +1,95 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.web.benchmarks;
+
+import java.util.HashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ortus.boxlang.web.WebRequestExecutor;
+import ortus.boxlang.web.util.VirtualThreads;
+
+/**
+ * Many concurrent async SSE streams, each sending three events 100ms apart.
+ *
+ * The platform benchmark serves the connections from a fixed pool of platform threads, the way a servlet container
+ * does, with the SSE callbacks on the shared io-tasks pool. The virtual benchmark gives every connection a virtual
+ * thread and enables the <code>web.virtualThreads</code> mode. The score is the time taken to serve every stream.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.SingleShotTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 1 )
+@Measurement( iterations = 3 )
+@Fork( 1 )
+public class SSEConcurrencyBenchmark {
+
+	/**
+	 * The usual size of a servlet container's request thread pool
+	 */
+	private static final int	CONTAINER_THREADS	= 200;
+
+	@Param( { "10000" } )
+	public int					connections;
+
+	@Setup
+	public void setup() {
+		BenchmarkSupport.runtime();
+	}
+
+	@TearDown
+	public void tearDown() {
+		VirtualThreads.setEnabled( null );
+	}
+
+	@Benchmark
+	public void platformThreads() throws InterruptedException {
+		VirtualThreads.setEnabled( false );
+		serve( Executors.newFixedThreadPool( CONTAINER_THREADS ) );
+	}
+
+	@Benchmark
+	public void virtualThreads() throws InterruptedException {
+		VirtualThreads.setEnabled( true );
+		serve( Executors.newVirtualThreadPerTaskExecutor() );
+	}
+
+	private void serve( ExecutorService container ) throws InterruptedException {
+		try ( container ) {
+			for ( int i = 0; i < connections; i++ ) {
+				container.submit( () -> WebRequestExecutor.execute( BenchmarkSupport.newExchange( "/sse.bxm", new HashMap<>() ), BenchmarkSupport.WEBROOT, true ) );
+			}
+			container.shutdown();
+			container.awaitTermination( 10, TimeUnit.MINUTES );
+		}
+	}
+}
@@ -0,0 +1,74 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.web.benchmarks;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.Struct;
+import ortus.boxlang.web.util.SSEEmitter;
+
+/**
+ * Sending simple and JSON serialized events through an SSE emitter
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class SSEEmitterBenchmark {
+
+	private SSEEmitter	emitter;
+	private IStruct		payload;
+
+	@Setup
+	public void setup() {
+		emitter	= new SSEEmitter( 0, 0, BenchmarkSupport.newContext( BenchmarkSupport.newExchange( "/events.bxm", new HashMap<>() ) ) );
+		payload	= Struct.of( Key.of( "user" ), "jmh", Key.of( "count" ), 42, Key.of( "active" ), true );
+	}
+
+	@TearDown
+	public void tearDown() {
+		emitter.close();
+	}
+
+	@Benchmark
+	public void sendText() {
+		emitter.send( "tick", "update", 1 );
+	}
+
+	@Benchmark
+	public void sendStruct() {
+		emitter.send( payload, "update", 1 );
+	}
+}
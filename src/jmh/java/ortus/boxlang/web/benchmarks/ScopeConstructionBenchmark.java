@@ -0,0 +1,88 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.web.benchmarks;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.web.context.WebRequestBoxContext;
+import ortus.boxlang.web.scopes.FormScope;
+import ortus.boxlang.web.scopes.URLScope;
+import ortus.boxlang.web.util.MockHTTPExchange;
+
+/**
+ * Building the form and URL scopes from the exchange's parameter maps, and reading the form scope either a couple of
+ * fields at a time or all the way through
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class ScopeConstructionBenchmark {
+
+	private static final Key		PARAM1	= Key.of( "param1" );
+	private static final Key		PARAM2	= Key.of( "param2" );
+
+	@Param( { "10", "100", "1000" } )
+	public int						paramCount;
+
+	private WebRequestBoxContext	context;
+
+	@Setup
+	public void setup() {
+		MockHTTPExchange exchange = BenchmarkSupport.newExchange( "/index.bxm", BenchmarkSupport.params( paramCount ) );
+		exchange.setRequestFormMap( BenchmarkSupport.params( paramCount ) );
+		context = BenchmarkSupport.newContext( exchange );
+	}
+
+	@Benchmark
+	public URLScope urlScope() {
+		return new URLScope( context );
+	}
+
+	@Benchmark
+	public void formScope( Blackhole blackhole ) {
+		FormScope form = new FormScope( context );
+		blackhole.consume( form.get( PARAM1 ) );
+		blackhole.consume( form.get( PARAM2 ) );
+	}
+
+	@Benchmark
+	public void formScopeIterated( Blackhole blackhole ) {
+		for ( Map.Entry<Key, Object> entry : new FormScope( context ).entrySet() ) {
+			blackhole.consume( entry.getKey() );
+			blackhole.consume( entry.getValue() );
+		}
+	}
+}
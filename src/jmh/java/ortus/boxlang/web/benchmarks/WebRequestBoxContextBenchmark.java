@@ -0,0 +1,84 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.web.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ortus.boxlang.web.context.WebRequestBoxContext;
+import ortus.boxlang.web.exchange.BoxCookie;
+import ortus.boxlang.web.util.MockHTTPExchange;
+
+/**
+ * The per request cost of the web scopes. <code>lazy</code> builds a context and never reads its scopes, as a health
+ * check or a remote method which only uses its arguments would. <code>eager</code> builds every scope, which is what
+ * each request paid before the scopes were built on first use. Run with <code>-prof gc</code> to compare allocations.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class WebRequestBoxContextBenchmark {
+
+	@Param( { "10", "100" } )
+	public int					paramCount;
+
+	private MockHTTPExchange	exchange;
+
+	@Setup
+	public void setup() {
+		BenchmarkSupport.runtime();
+		exchange = BenchmarkSupport.newExchange( "/index.bxm", BenchmarkSupport.params( paramCount ) );
+		exchange.setRequestMethod( "POST" );
+		exchange.setRequestFormMap( BenchmarkSupport.params( paramCount ) );
+		BoxCookie[] cookies = new BoxCookie[ 10 ];
+		for ( int i = 0; i < cookies.length; i++ ) {
+			cookies[ i ] = new BoxCookie( "cookie" + i, "value%20" + i );
+		}
+		exchange.setRequestCookies( cookies );
+	}
+
+	@Benchmark
+	public WebRequestBoxContext lazy() {
+		return new WebRequestBoxContext( BenchmarkSupport.runtime().getRuntimeContext(), exchange, BenchmarkSupport.WEBROOT );
+	}
+
+	@Benchmark
+	public WebRequestBoxContext eager() {
+		WebRequestBoxContext context = new WebRequestBoxContext( BenchmarkSupport.runtime().getRuntimeContext(), exchange, BenchmarkSupport.WEBROOT );
+		context.getURLScope();
+		context.getFormScope();
+		context.getCGIScope();
+		context.getCookieScope();
+		context.getRequestScope();
+		return context;
+	}
+}
@@ -0,0 +1,73 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.web.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ortus.boxlang.web.WebRequestExecutor;
+import ortus.boxlang.web.util.MockHTTPExchange;
+
+/**
+ * The full web request lifecycle, from the exchange to the flushed response
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class WebRequestExecutorBenchmark {
+
+	private Map<String, String[]> remoteParams;
+
+	@Setup
+	public void setup() {
+		BenchmarkSupport.runtime();
+		remoteParams = new HashMap<>();
+		remoteParams.put( "method", new String[] { "hello" } );
+		remoteParams.put( "name", new String[] { "JMH" } );
+	}
+
+	@Benchmark
+	public MockHTTPExchange helloWorldTemplate() {
+		MockHTTPExchange exchange = BenchmarkSupport.newExchange( "/index.bxm", new HashMap<>() );
+		WebRequestExecutor.execute( exchange, BenchmarkSupport.WEBROOT, true );
+		return exchange;
+	}
+
+	@Benchmark
+	public MockHTTPExchange classRemoteMethod() {
+		MockHTTPExchange exchange = BenchmarkSupport.newExchange( "/Greeter.bx", remoteParams );
+		exchange.setRequestQueryString( "method=hello&name=JMH" );
+		WebRequestExecutor.execute( exchange, BenchmarkSupport.WEBROOT, true );
+		return exchange;
+	}
+}
@@ -0,0 +1,70 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.web.benchmarks;
+
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ortus.boxlang.web.exchange.WhitespaceManagingPrintWriter;
+
+/**
+ * Throughput of the whitespace compressing response writer on a 64KB page
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class WhitespaceManagingPrintWriterBenchmark {
+
+	@Param( { "true", "false" } )
+	public boolean	compress;
+
+	private String	page;
+
+	@Setup
+	public void setup() {
+		StringBuilder builder = new StringBuilder( "<html>\n\t<head>\n\t\t<title>Benchmark</title>\n\t</head>\n\t<body>\n" );
+		while ( builder.length() < 64 * 1024 ) {
+			builder.append( "\t\t<div class=\"row\">\n\t\t\t<p>Lorem ipsum   dolor sit amet,\n\t\t\t\tconsectetur adipiscing elit.</p>\n\t\t</div>\n\n\n" );
+			builder.append( "\t\t<pre>\n  keep   this\n</pre>\n" );
+		}
+		builder.append( "\t</body>\n</html>\n" );
+		page = builder.toString();
+	}
+
+	@Benchmark
+	public void writePage() {
+		try ( WhitespaceManagingPrintWriter writer = new WhitespaceManagingPrintWriter( Writer.nullWriter(), compress ) ) {
+			writer.write( page );
+		}
+	}
+}
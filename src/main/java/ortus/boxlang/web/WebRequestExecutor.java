@@ -21,11 +21,14 @@ import java.net.URI;
 import java.nio.file.Path;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import ortus.boxlang.runtime.BoxRuntime;
 import ortus.boxlang.runtime.application.BaseApplicationListener;
 import ortus.boxlang.runtime.bifs.global.decision.IsJSON;
 import ortus.boxlang.runtime.context.RequestBoxContext;
+import ortus.boxlang.runtime.dynamic.casters.BooleanCaster;
+import ortus.boxlang.runtime.dynamic.casters.IntegerCaster;
 import ortus.boxlang.runtime.dynamic.casters.StringCaster;
 import ortus.boxlang.runtime.interop.DynamicObject;
 import ortus.boxlang.runtime.logging.BoxLangLogger;
@@ -44,7 +47,12 @@ import ortus.boxlang.web.exchange.IBoxHTTPExchange;
 import ortus.boxlang.web.handlers.WebErrorHandler;
 import ortus.boxlang.web.scopes.FormScope;
 import ortus.boxlang.web.scopes.URLScope;
+import ortus.boxlang.web.util.AdaptiveConcurrencyLimiter;
+import ortus.boxlang.web.util.ApplicationDescriptorCache;
+import ortus.boxlang.web.util.ConcurrencyLimits;
 import ortus.boxlang.web.util.KeyDictionary;
+import ortus.boxlang.web.util.WebRuntimeMetrics;
+import ortus.boxlang.web.util.WebRuntimeMetrics.Phase;
 
 /**
  * I handle running a web request
@@ -69,15 +77,95 @@ public class WebRequestExecutor {
 
 	public static final String			DEFAULT_BINARY_CONTENT_TYPE			= "application/octet-stream";
 
+	public static final String			SERVER_TIMING_HEADER				= "Server-Timing";
+
+	public static final String			RETRY_AFTER_HEADER					= "Retry-After";
+
 	private static final BoxLangLogger	logger								= BoxRuntime.getInstance().getLoggingService().RUNTIME_LOGGER;
 
 	/**
-	 * Execute a web request
+	 * How long, in seconds, a resolved application descriptor location is trusted when the
+	 * <code>web.descriptorCacheTTL</code> setting is not present in the runtime configuration
+	 */
+	public static final int				DEFAULT_DESCRIPTOR_CACHE_TTL		= 10;
+
+	/**
+	 * The application descriptor location caches, one per web root
+	 */
+	private static final ConcurrentHashMap<String, ApplicationDescriptorCache>	descriptorCaches	= new ConcurrentHashMap<>();
+
+	/**
+	 * Execute a web request on the calling thread. Containers which dispatch on virtual threads keep doing so, and
+	 * moving a request off a platform thread would only add a hop, as that thread has to wait for it anyway.
 	 *
 	 * @param exchange The exchange object to use for the request
 	 * @param webRoot  The web root of the application
 	 */
 	public static void execute( IBoxHTTPExchange exchange, String webRoot, Boolean manageFullReqestLifecycle ) {
+		// Shed load before we spend anything on the request
+		AdaptiveConcurrencyLimiter limiter = ConcurrencyLimits.forRequest( exchange.getRequestURI() );
+		if ( limiter == null ) {
+			executeRequest( exchange, webRoot, manageFullReqestLifecycle, null );
+			return;
+		}
+		AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquirePermit();
+		if ( permit == null ) {
+			rejectOverloaded( exchange, limiter );
+			return;
+		}
+
+		try {
+			executeRequest( exchange, webRoot, manageFullReqestLifecycle, permit );
+		} finally {
+			// Event streams stay open as long as the client does, so their duration says nothing about load. The
+			// serverSideEvent bif gives the permit back as soon as the stream starts, so this only catches other streams.
+			if ( isEventStream( exchange ) ) {
+				permit.releaseWithoutSample();
+			} else {
+				permit.release();
+			}
+		}
+	}
+
+	/**
+	 * Reject a request because the server is over its concurrency limit. This runs before any request context exists,
+	 * so it only touches the exchange.
+	 *
+	 * @param exchange The exchange object to use for the request
+	 * @param limiter  The limiter which rejected the request
+	 */
+	private static void rejectOverloaded( IBoxHTTPExchange exchange, AdaptiveConcurrencyLimiter limiter ) {
+		if ( logger.isTraceEnabled() ) {
+			logger.trace( "WebRequestExecutor: Rejected [" + exchange.getRequestURI() + "], the concurrency limit of [" + limiter.getLimit() + "] was reached" );
+		}
+		exchange.setResponseStatus( 503, "Service Unavailable" );
+		exchange.setResponseHeader( RETRY_AFTER_HEADER, String.valueOf( limiter.getRetryAfter() ) );
+		exchange.setResponseHeader( CONTENT_TYPE_HEADER, "text/plain;charset=UTF-8" );
+		exchange.getResponseWriter().write( "Service Unavailable" );
+		exchange.flushResponseBuffer();
+	}
+
+	/**
+	 * Check if the response is a Server-Sent Events stream
+	 *
+	 * @param exchange The exchange object to use for the request
+	 *
+	 * @return true if the response content type is text/event-stream
+	 */
+	private static boolean isEventStream( IBoxHTTPExchange exchange ) {
+		String contentType = exchange.getResponseHeader( CONTENT_TYPE_HEADER );
+		return contentType != null && contentType.startsWith( "text/event-stream" );
+	}
+
+	/**
+	 * Execute a web request on the current thread
+	 *
+	 * @param exchange The exchange object to use for the request
+	 * @param webRoot  The web root of the application
+	 * @param permit   The request's concurrency limit permit, or null if limiting is disabled
+	 */
+	private static void executeRequest( IBoxHTTPExchange exchange, String webRoot, Boolean manageFullReqestLifecycle,
+	    AdaptiveConcurrencyLimiter.Permit permit ) {
 		WebRequestBoxContext	context			= null;
 		DynamicObject			trans			= null;
 		FRTransService			frTransService	= null;
@@ -85,6 +173,7 @@ public class WebRequestExecutor {
 		Throwable				errorToHandle	= null;
 		String					requestString	= "";
 		ClassLoader				oldClassLoader	= Thread.currentThread().getContextClassLoader();
+		long					requestStart	= System.nanoTime();
 
 		try {
 			// Debug tracking
@@ -97,6 +186,7 @@ public class WebRequestExecutor {
 
 			// Load up the runtime, context and app listener
 			context = new WebRequestBoxContext( BoxRuntime.getInstance().getRuntimeContext(), exchange, webRoot );
+			context.setConcurrencyPermit( permit );
 			RequestBoxContext.setCurrent( context );
 
 			trans = frTransService.startTransaction( "Web Request", requestString );
@@ -155,10 +245,12 @@ public class WebRequestExecutor {
 			}
 
 			// Pass through to the Application.bx onRequestStart method
+			context.startPhase( Phase.REQUEST_START );
 			boolean result = appListener.onRequestStart( context, new Object[] { requestString } );
 
 			// If we have a result, then we can continue
 			if ( result ) {
+				context.startPhase( Phase.REQUEST );
 				if ( VALID_REMOTE_REQUEST_EXTENSIONS.contains( ext ) ) {
 					handleClassRemoteMethod( context, appListener, requestPath, exchange );
 				} else {
@@ -169,10 +261,16 @@ public class WebRequestExecutor {
 
 			// Any unhandled exceptions in the request, will skip onRequestEnd
 			// This includes aborts, custom exceptions, and missing file includes
+			context.startPhase( Phase.REQUEST_END );
 			appListener.onRequestEnd( context, new Object[] { requestString } );
 
+			// Run the actions deferred by this request (htmlHead, htmlBody, etc) now that the page is complete
+			context.runRequestEndActions();
+
 			// Finally flush the buffer
+			context.startPhase( Phase.FLUSH );
 			context.flushBuffer( false );
+			context.endPhase();
 		}
 		/**
 		 * --------------------------------------------------------------------------------
@@ -225,11 +323,16 @@ public class WebRequestExecutor {
 			ensureContentType( exchange, DEFAULT_CONTENT_TYPE );
 
 			if ( context != null ) {
+				// Close out the phase which was interrupted, if any
+				context.endPhase();
 				context.flushBuffer( false );
 			}
 
 			// Was there an error produced above
 			if ( errorToHandle != null ) {
+				if ( context != null ) {
+					context.startPhase( Phase.ERROR );
+				}
 
 				// If the error to handle is an abort, then take care of it
 				if ( errorToHandle instanceof AbortException e ) {
@@ -282,10 +385,20 @@ public class WebRequestExecutor {
 
 				}
 
+				if ( context != null ) {
+					context.endPhase();
+				}
 			}
 
 			if ( context != null ) {
+				if ( appListener != null && !context.isResponseCommitted() && isServerTimingEnabled( context ) ) {
+					exchange.setResponseHeader( SERVER_TIMING_HEADER, WebRuntimeMetrics.toServerTiming( context.getPhaseTimings() ) );
+				}
+				context.startPhase( Phase.FLUSH );
 				context.flushBuffer( true );
+				context.endPhase();
+				context.addPhaseTime( Phase.TOTAL, System.nanoTime() - requestStart );
+				WebRuntimeMetrics.recordRequest( getApplicationName( appListener ), context.getPhaseTimings() );
 			} else {
 				exchange.flushResponseBuffer();
 			}
@@ -325,10 +438,14 @@ public class WebRequestExecutor {
 	 * @throws BoxRuntimeException if there is an error loading the application descriptor
 	 */
 	private static BaseApplicationListener initializeApplicationListener( WebRequestBoxContext context, String requestString ) {
+		context.startPhase( Phase.DESCRIPTOR );
 		try {
+			// Point the runtime at the directory we already know holds the descriptor so it does not have to search for it
+			String descriptorTemplate = getApplicationDescriptorCache( context.getWebRoot() ).resolve( requestString );
 			// Use multi-arg URI constructor to ensure special chars get encoded properly in the request string
-			context.loadApplicationDescriptor( new URI( null, null, requestString, null, null ) );
+			context.loadApplicationDescriptor( new URI( null, null, descriptorTemplate, null, null ) );
 			BaseApplicationListener appListener = context.getApplicationListener();
+			context.endPhase();
 			return appListener;
 
 		} catch ( AbortException ae ) {
@@ -339,6 +456,64 @@ public class WebRequestExecutor {
 		}
 	}
 
+	/**
+	 * Get the application descriptor location cache for a web root, creating it on first use.
+	 * The TTL is read from the <code>web.descriptorCacheTTL</code> runtime setting, in seconds, and 0 disables the cache.
+	 *
+	 * @param webRoot The physical web root
+	 *
+	 * @return The cache for the web root
+	 */
+	public static ApplicationDescriptorCache getApplicationDescriptorCache( String webRoot ) {
+		ApplicationDescriptorCache cache = descriptorCaches.get( webRoot );
+		if ( cache != null ) {
+			return cache;
+		}
+		return descriptorCaches.computeIfAbsent( webRoot, root -> {
+			Object	webSettings	= BoxRuntime.getInstance().getRuntimeContext().getConfig().get( KeyDictionary.web );
+			Object	ttl			= webSettings instanceof IStruct settings ? settings.get( KeyDictionary.descriptorCacheTTL ) : null;
+			return new ApplicationDescriptorCache( root, IntegerCaster.attempt( ttl ).getOrDefault( DEFAULT_DESCRIPTOR_CACHE_TTL ) );
+		} );
+	}
+
+	/**
+	 * Check if the phase timings of the request should be sent in a Server-Timing response header.
+	 * This is enabled via the <code>web.metrics.serverTiming</code> setting.
+	 *
+	 * @param context The web request context
+	 *
+	 * @return true if the header should be sent
+	 */
+	private static boolean isServerTimingEnabled( WebRequestBoxContext context ) {
+		return BooleanCaster.attempt( context.getWebSetting( false, KeyDictionary.metrics, KeyDictionary.serverTiming ) ).getOrDefault( false );
+	}
+
+	/**
+	 * Get the name of an application, for metrics
+	 *
+	 * @param appListener The application listener, which may be null
+	 *
+	 * @return The application name, or null if there is no application
+	 */
+	private static String getApplicationName( BaseApplicationListener appListener ) {
+		if ( appListener == null ) {
+			return null;
+		}
+		Object name = appListener.getSettings().get( Key._NAME );
+		return name == null ? null : name.toString();
+	}
+
+	/**
+	 * Get the hit and miss counters of every application descriptor location cache
+	 *
+	 * @return A struct of cache stats, keyed by web root
+	 */
+	public static IStruct getApplicationDescriptorCacheStats() {
+		IStruct stats = new Struct();
+		descriptorCaches.forEach( ( webRoot, cache ) -> stats.put( Key.of( webRoot ), cache.getStats() ) );
+		return stats;
+	}
+
 	/**
 	 * Ensure the content type is set if it is not already
 	 *
@@ -14,6 +14,9 @@
  */
 package ortus.boxlang.web.bifs;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import ortus.boxlang.runtime.bifs.BIF;
 import ortus.boxlang.runtime.bifs.BoxBIF;
 import ortus.boxlang.runtime.context.IBoxContext;
@@ -56,8 +59,11 @@ public class GetHTTPResponseData extends BIF {
 			}
 		} );
 
-		IStruct cookies = new Struct( false );
-		for ( BoxCookie cookie : exchange.getResponseCookies() ) {
+		IStruct			cookies		= new Struct( false );
+		List<BoxCookie>	allCookies	= new ArrayList<>( List.of( exchange.getResponseCookies() ) );
+		// Cookies set by the application are held by the request until the response is committed
+		allCookies.addAll( List.of( requestContext.getResponseCookies() ) );
+		for ( BoxCookie cookie : allCookies ) {
 			IStruct cookieStruct = Struct.ofNonConcurrent(
 			    Key.of( "name" ), cookie.getName(),
 			    Key.of( "value" ), cookie.getValue() != null ? cookie.getValue() : "",
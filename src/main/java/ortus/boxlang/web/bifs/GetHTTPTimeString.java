@@ -18,8 +18,6 @@
  */
 package ortus.boxlang.web.bifs;
 
-import java.time.ZoneId;
-
 import ortus.boxlang.runtime.bifs.BIF;
 import ortus.boxlang.runtime.bifs.BoxBIF;
 import ortus.boxlang.runtime.context.IBoxContext;
@@ -27,8 +25,7 @@ import ortus.boxlang.runtime.dynamic.casters.DateTimeCaster;
 import ortus.boxlang.runtime.scopes.ArgumentsScope;
 import ortus.boxlang.runtime.scopes.Key;
 import ortus.boxlang.runtime.types.Argument;
-import ortus.boxlang.runtime.types.DateTime;
-import ortus.boxlang.runtime.util.LocalizationUtil;
+import ortus.boxlang.web.util.HTTPDateFormat;
 
 @BoxBIF( description = "Returns the legacy HTTP TimeString as specified for the now-obsolete RFC 1123/RCF 822" )
 public class GetHTTPTimeString extends BIF {
@@ -62,14 +59,9 @@ public class GetHTTPTimeString extends BIF {
 	public Object _invoke( IBoxContext context, ArgumentsScope arguments ) {
 		Object dateArg = arguments.get( Key.date );
 		if ( dateArg == null ) {
-			dateArg = new DateTime( LocalizationUtil.parseZoneId( null, context ) );
+			return HTTPDateFormat.now();
 		}
-		DateTime	dateRef		= DateTimeCaster.cast( dateArg );
-		DateTime	converted	= dateRef.convertToZone( ZoneId.of( "GMT" ) );
-		converted.setFormat( "EEE, dd MMM yyyy HH:mm:ss z" );
-
-		return converted.toString();
-
+		return HTTPDateFormat.format( DateTimeCaster.cast( dateArg ).toInstant() );
 	}
 
 }
@@ -0,0 +1,78 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.web.bifs;
+
+import ortus.boxlang.runtime.bifs.BIF;
+import ortus.boxlang.runtime.bifs.BoxBIF;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.dynamic.casters.BooleanCaster;
+import ortus.boxlang.runtime.scopes.ArgumentsScope;
+import ortus.boxlang.runtime.types.Argument;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.web.WebRequestExecutor;
+import ortus.boxlang.web.util.ConcurrencyLimits;
+import ortus.boxlang.web.util.KeyDictionary;
+import ortus.boxlang.web.util.NegativeLookupCache;
+import ortus.boxlang.web.util.WebRuntimeMetrics;
+
+@BoxBIF( description = "Returns the latency metrics of the web runtime, per request phase and per application." )
+public class GetWebRuntimeMetrics extends BIF {
+
+	/**
+	 * Constructor
+	 */
+	public GetWebRuntimeMetrics() {
+		super();
+		declaredArguments = new Argument[] {
+		    new Argument( false, Argument.BOOLEAN, KeyDictionary.reset, false )
+		};
+	}
+
+	/**
+	 * Returns the latency metrics of the web runtime. Each phase of the web request lifecycle (<code>app</code>,
+	 * <code>start</code>, <code>request</code>, <code>end</code>, <code>flush</code>, <code>error</code> and
+	 * <code>total</code>) has a histogram with the count, mean, max and the 50th, 90th, 99th and 99.9th percentiles,
+	 * in milliseconds. The histograms are kept for the whole runtime in <code>phases</code> and for each application in
+	 * <code>applications</code>. The hit and miss counters of the application descriptor cache are in
+	 * <code>descriptorCache</code>, keyed by web root. When the <code>web.concurrencyLimit</code> setting is enabled, the
+	 * current limit, in flight and rejected request counts and the long term latency of each limiter are in
+	 * <code>concurrency</code>, keyed by URL prefix. The hits, misses and hit rate of the unscoped lookup cache, which
+	 * remembers names found in none of the CGI, URL and form scopes, are in <code>scopeLookupCache</code>.
+	 *
+	 * @param context   The context in which the BIF is being invoked.
+	 * @param arguments Argument scope for the BIF.
+	 *
+	 * @argument.reset If true, the histograms are cleared after they are read.
+	 *
+	 * @return A struct with the web runtime metrics.
+	 */
+	public Object _invoke( IBoxContext context, ArgumentsScope arguments ) {
+		IStruct metrics = WebRuntimeMetrics.getSnapshot();
+		metrics.put( KeyDictionary.descriptorCache, WebRequestExecutor.getApplicationDescriptorCacheStats() );
+		metrics.put( KeyDictionary.concurrency, ConcurrencyLimits.getSnapshot() );
+		metrics.put( KeyDictionary.scopeLookupCache, NegativeLookupCache.getStats() );
+
+		if ( BooleanCaster.cast( arguments.get( KeyDictionary.reset ) ) ) {
+			WebRuntimeMetrics.reset();
+			NegativeLookupCache.resetStats();
+		}
+
+		return metrics;
+	}
+
+}
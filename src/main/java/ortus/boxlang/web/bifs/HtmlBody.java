@@ -17,10 +17,6 @@ package ortus.boxlang.web.bifs;
 import java.util.Set;
 import java.util.TreeMap;
 
-import org.jsoup.Jsoup;
-import org.jsoup.nodes.Document;
-import org.jsoup.nodes.Element;
-
 import ortus.boxlang.runtime.bifs.BIF;
 import ortus.boxlang.runtime.bifs.BoxBIF;
 import ortus.boxlang.runtime.context.IBoxContext;
@@ -31,6 +27,7 @@ import ortus.boxlang.runtime.scopes.Key;
 import ortus.boxlang.runtime.scopes.VariablesScope;
 import ortus.boxlang.runtime.types.Argument;
 import ortus.boxlang.runtime.validation.Validator;
+import ortus.boxlang.web.context.WebRequestBoxContext;
 import ortus.boxlang.web.util.KeyDictionary;
 
 @BoxBIF( description = "Writes text to the body section of a generated HTML page. It supports appending, writing, reading, resetting, or flushing the HTML body buffer." )
@@ -139,8 +136,8 @@ public class HtmlBody extends BIF {
 	}
 
 	/**
-	 * Appends text to the HTML body buffer. On the first call, this method registers an onRequestEnd interceptor
-	 * that injects the accumulated buffer into the rendered HTML body element using Jsoup.
+	 * Appends text to the HTML body buffer. The accumulated buffer is injected right after the rendered HTML body start
+	 * tag once the request has ended. Pages without a body start tag are reparsed with Jsoup instead.
 	 *
 	 * If an {@code id} is provided, the same snippet (identified by that id) will not be appended more than once per
 	 * request.
@@ -156,32 +153,12 @@ public class HtmlBody extends BIF {
 			return false;
 		}
 
-		RequestBoxContext requestContext = context.getParentOfType( RequestBoxContext.class );
+		// The body content is injected once the request has ended
+		WebRequestBoxContext requestContext = HtmlInjection.forRequest( context, "htmlBody" );
 
-		// Initialize the buffer and register the end-of-request interceptor on first use
+		// Initialize the buffer on first use
 		if ( !requestContext.hasAttachment( KeyDictionary.htmlBody ) ) {
 			requestContext.putAttachment( KeyDictionary.htmlBody, new StringBuffer() );
-
-			requestContext
-			    .getApplicationListener()
-			    .getInterceptorPool()
-			    .register( data -> {
-				    IBoxContext dataContext = ( IBoxContext ) data.get( Key.context );
-				    if ( requestContext.hasAttachment( KeyDictionary.htmlBody ) ) {
-					    StringBuffer bodyBuffer	= requestContext.getAttachment( KeyDictionary.htmlBody );
-					    String		bodyContent	= bodyBuffer.toString();
-					    if ( !bodyContent.isEmpty() ) {
-						    StringBuffer buffer	= dataContext.getBuffer();
-						    Document	doc		= Jsoup.parse( buffer.toString() );
-						    Element		body	= doc.body();
-						    // Prepend so that cfhtmlbody content appears at the top of the body
-						    body.prepend( bodyContent );
-						    dataContext.clearBuffer();
-						    dataContext.writeToBuffer( doc.toString() );
-					    }
-				    }
-				    return false;
-			    }, KeyDictionary.onRequestEnd );
 		}
 
 		// Check ID uniqueness — skip if this id has already been registered this request
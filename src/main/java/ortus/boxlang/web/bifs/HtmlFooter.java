@@ -16,19 +16,15 @@ package ortus.boxlang.web.bifs;
 
 import java.util.Set;
 
-import org.jsoup.Jsoup;
-import org.jsoup.nodes.Document;
-import org.jsoup.nodes.Element;
-
 import ortus.boxlang.runtime.bifs.BIF;
 import ortus.boxlang.runtime.bifs.BoxBIF;
 import ortus.boxlang.runtime.context.IBoxContext;
-import ortus.boxlang.runtime.context.RequestBoxContext;
 import ortus.boxlang.runtime.scopes.ArgumentsScope;
 import ortus.boxlang.runtime.scopes.Key;
 import ortus.boxlang.runtime.types.Argument;
 import ortus.boxlang.runtime.types.Array;
 import ortus.boxlang.runtime.validation.Validator;
+import ortus.boxlang.web.context.WebRequestBoxContext;
 import ortus.boxlang.web.util.KeyDictionary;
 
 @BoxBIF( description = "Writes text to the footer section of a generated HTML page." )
@@ -72,43 +68,16 @@ public class HtmlFooter extends BIF {
 	 * @param text    Text to add to the footer area of an HTML page.
 	 */
 	public static void addToFooter( IBoxContext context, String text ) {
+		// The footer content is injected once the request has ended
+		WebRequestBoxContext requestContext = HtmlInjection.forRequest( context, "htmlFooter" );
 		// Init it if it doesn't exist to an array
-		if ( !context.hasAttachment( KeyDictionary.htmlFooter ) ) {
+		if ( !requestContext.hasAttachment( KeyDictionary.htmlFooter ) ) {
 			// Init the html footer array
-			context.putAttachment( KeyDictionary.htmlFooter, new Array() );
-
-			// Init a new interceptor for the application
-			context
-			    .getParentOfType( RequestBoxContext.class )
-			    .getApplicationListener()
-			    .getInterceptorPool()
-			    .register( data -> {
-				    IBoxContext dataContext = ( IBoxContext ) data.get( Key.context );
-				    // Only if the attachment exists use it
-				    if ( dataContext.hasAttachment( KeyDictionary.htmlHead ) ) {
-					    Array		headArray	= dataContext.getAttachment( KeyDictionary.htmlHead );
-					    StringBuffer buffer		= dataContext.getBuffer();
-					    Document	doc			= Jsoup.parse( buffer.toString() );
-
-					    // Get the body element
-					    Element		body		= doc.body();
-					    // Add to the end of the body
-					    for ( Object item : headArray ) {
-						    body.append( item.toString() );
-					    }
-
-					    // Clear the buffer
-					    dataContext.clearBuffer();
-
-					    // Set the new buffer
-					    dataContext.writeToBuffer( doc.toString() );
-				    }
-				    return false;
-			    }, KeyDictionary.onRequestEnd );
+			requestContext.putAttachment( KeyDictionary.htmlFooter, new Array() );
 		}
 
 		// Append the text to the footer array
-		Array footer = context.getAttachment( KeyDictionary.htmlFooter );
+		Array footer = requestContext.getAttachment( KeyDictionary.htmlFooter );
 		footer.append( text );
 	}
 }
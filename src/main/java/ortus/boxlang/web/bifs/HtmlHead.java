@@ -16,19 +16,15 @@ package ortus.boxlang.web.bifs;
 
 import java.util.Set;
 
-import org.jsoup.Jsoup;
-import org.jsoup.nodes.Document;
-import org.jsoup.nodes.Element;
-
 import ortus.boxlang.runtime.bifs.BIF;
 import ortus.boxlang.runtime.bifs.BoxBIF;
 import ortus.boxlang.runtime.context.IBoxContext;
-import ortus.boxlang.runtime.context.RequestBoxContext;
 import ortus.boxlang.runtime.scopes.ArgumentsScope;
 import ortus.boxlang.runtime.scopes.Key;
 import ortus.boxlang.runtime.types.Argument;
 import ortus.boxlang.runtime.types.Array;
 import ortus.boxlang.runtime.validation.Validator;
+import ortus.boxlang.web.context.WebRequestBoxContext;
 import ortus.boxlang.web.util.KeyDictionary;
 
 @BoxBIF( description = "Writes text to the head section of a generated HTML page." )
@@ -75,46 +71,12 @@ public class HtmlHead extends BIF {
 	 * @param text    Text to add to the head area of an HTML page.
 	 */
 	public static void addToHead( IBoxContext context, String text ) {
-		RequestBoxContext requestContext = context.getParentOfType( RequestBoxContext.class );
+		// The head content is injected once the request has ended
+		WebRequestBoxContext requestContext = HtmlInjection.forRequest( context, "htmlHead" );
 		// Init it if it doesn't exist to an array
 		if ( !requestContext.hasAttachment( KeyDictionary.htmlHead ) ) {
 			// Init the html head array
 			requestContext.putAttachment( KeyDictionary.htmlHead, new Array() );
-
-			// Init a new interceptor for the application
-			requestContext
-			    .getApplicationListener()
-			    .getInterceptorPool()
-			    .register( data -> {
-				    IBoxContext dataContext = ( IBoxContext ) data.get( Key.context );
-				    // Only if the attachment exists use it
-				    if ( requestContext.hasAttachment( KeyDictionary.htmlHead ) ) {
-					    Array		headArray	= requestContext.getAttachment( KeyDictionary.htmlHead );
-					    StringBuffer buffer		= dataContext.getBuffer();
-					    Document	doc			= Jsoup.parse( buffer.toString() );
-
-					    // Get the html head element
-					    Element		headElement	= doc.head();
-
-					    // If the head element doesn't exist, create it
-					    if ( headElement == null ) {
-						    // Create the head element
-						    headElement = doc.appendElement( "head" );
-					    }
-
-					    // Add the head content to the head element
-					    for ( Object headContent : headArray ) {
-						    headElement.append( ( String ) headContent );
-					    }
-
-					    // Clear the buffer
-					    dataContext.clearBuffer();
-
-					    // Set the new buffer
-					    dataContext.writeToBuffer( doc.toString() );
-				    }
-				    return false;
-			    }, KeyDictionary.onRequestEnd );
 		}
 
 		// Append the text to the head array
@@ -0,0 +1,126 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.web.bifs;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.types.Array;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
+import ortus.boxlang.web.context.WebRequestBoxContext;
+import ortus.boxlang.web.util.HtmlInjector;
+import ortus.boxlang.web.util.KeyDictionary;
+
+/**
+ * The request end action shared by htmlHead, htmlBody and htmlFooter. However many of them a request uses, the
+ * rendered page is scanned once and all of their content is spliced in together. Only content which finds no place in
+ * the page falls back to a Jsoup reparse, or is appended to the end of the page if its start was already streamed.
+ */
+final class HtmlInjection {
+
+	private HtmlInjection() {
+	}
+
+	/**
+	 * Get the web request a page injection BIF is running in, and make sure the injection runs when it ends
+	 *
+	 * @param context The context the BIF is running in
+	 * @param bifName The name of the BIF, for the error message
+	 *
+	 * @return The web request context
+	 *
+	 * @throws BoxRuntimeException If the BIF is not running in a web request
+	 */
+	static WebRequestBoxContext forRequest( IBoxContext context, String bifName ) {
+		WebRequestBoxContext requestContext = context.getParentOfType( WebRequestBoxContext.class );
+		if ( requestContext == null ) {
+			throw new BoxRuntimeException( bifName + "() can only be used in a web request, as it modifies the rendered HTML page" );
+		}
+		requestContext.registerRequestEndAction( KeyDictionary.htmlInjection, HtmlInjection::inject );
+		return requestContext;
+	}
+
+	/**
+	 * Inject the accumulated head, body and footer content into the rendered page
+	 *
+	 * @param requestContext The request context whose output is being injected into
+	 */
+	static void inject( WebRequestBoxContext requestContext ) {
+		String	head	= join( requestContext.getAttachment( KeyDictionary.htmlHead ) );
+		String	body	= requestContext.hasAttachment( KeyDictionary.htmlBody ) ? requestContext.getAttachment( KeyDictionary.htmlBody ).toString() : "";
+		String	footer	= join( requestContext.getAttachment( KeyDictionary.htmlFooter ) );
+		if ( head.isEmpty() && body.isEmpty() && footer.isEmpty() ) {
+			return;
+		}
+
+		// Splice the content in place, only reparsing pages we cannot find a place in
+		StringBuffer			buffer		= requestContext.getBuffer();
+		HtmlInjector.Injection	injection	= HtmlInjector.inject( buffer, head, body, footer );
+		if ( injection.complete() ) {
+			return;
+		}
+
+		// The start of the page has already been sent to the client, so the best we can do is add to the end of it.
+		// Reparsing would wrap what is left of the page in a second html document.
+		if ( requestContext.isResponseCommitted() ) {
+			if ( !injection.head() ) {
+				buffer.append( head );
+			}
+			if ( !injection.bodyStart() ) {
+				buffer.append( body );
+			}
+			if ( !injection.bodyEnd() ) {
+				buffer.append( footer );
+			}
+			return;
+		}
+
+		Document doc = Jsoup.parse( buffer.toString() );
+		if ( !injection.head() ) {
+			doc.head().append( head );
+		}
+		if ( !injection.bodyStart() ) {
+			// Prepend so that htmlBody content appears at the top of the body
+			doc.body().prepend( body );
+		}
+		if ( !injection.bodyEnd() ) {
+			doc.body().append( footer );
+		}
+		requestContext.clearBuffer();
+		requestContext.writeToBuffer( doc.toString() );
+	}
+
+	/**
+	 * Join the items of an htmlHead or htmlFooter attachment
+	 *
+	 * @param items The attachment, which may be null
+	 *
+	 * @return The joined content
+	 */
+	private static String join( Array items ) {
+		if ( items == null ) {
+			return "";
+		}
+		StringBuilder content = new StringBuilder();
+		for ( Object item : items ) {
+			content.append( item );
+		}
+		return content.toString();
+	}
+}
@@ -74,8 +74,10 @@ public class Location extends BIF {
 		WebRequestBoxContext	requestContext	= context.getParentOfType( WebRequestBoxContext.class );
 		IBoxHTTPExchange		exchange		= requestContext.getHTTPExchange();
 
-		exchange.setResponseStatus( statusCode );
-		exchange.setResponseHeader( "location", URL );
+		if ( requestContext.canChangeResponseHeaders( "the redirect to [" + URL + "]" ) ) {
+			exchange.setResponseStatus( statusCode );
+			exchange.setResponseHeader( "location", URL );
+		}
 
 		throw new AbortException();
 	}
@@ -34,6 +34,7 @@ import ortus.boxlang.web.context.WebRequestBoxContext;
 import ortus.boxlang.web.exchange.IBoxHTTPExchange;
 import ortus.boxlang.web.util.KeyDictionary;
 import ortus.boxlang.web.util.SSEEmitter;
+import ortus.boxlang.web.util.VirtualThreads;
 
 @BoxBIF( alias = "sse", description = "Enables Server-Sent Events (SSE) streaming to the client." )
 public class ServerSideEvent extends BIF {
@@ -134,7 +135,8 @@ public class ServerSideEvent extends BIF {
 	 * @argument.callback A closure/lambda that receives an emitter object for sending SSE events.
 	 *
 	 * @argument.async If true, the callback runs in a background thread (non-blocking). If false (default),
-	 *                 the callback blocks the current thread until completion.
+	 *                 the callback blocks the current thread until completion. The background thread is a virtual
+	 *                 thread when the <code>web.virtualThreads</code> setting is enabled.
 	 *
 	 * @argument.retry The number of milliseconds the client should wait before attempting to reconnect
 	 *                 after a connection drop. Default is 0 (not sent). Only sent on the first message.
@@ -182,31 +184,41 @@ public class ServerSideEvent extends BIF {
 		// Clear any existing buffer to prevent content corruption
 		context.clearBuffer();
 
+		// The emitter writes to the exchange directly, so the cookies set so far have to go out with its first flush
+		requestContext.commitResponse();
+		// The stream stays open as long as the client does, so it must not hold a place under the concurrency limit
+		requestContext.releaseConcurrencyPermit();
+
 		// Create the SSE emitter
 		SSEEmitter emitter = new SSEEmitter( retry, keepAliveInterval, requestContext );
 
 		// Execute the callback
 		if ( async ) {
 			// Use CountDownLatch to block the request thread until async task completes
-			// This prevents WebRequestExecutor from closing the connection prematurely
+			// This prevents WebRequestExecutor from closing the connection prematurely.
+			// Only the callback moves to a virtual thread in virtual thread mode; the request keeps waiting on the
+			// container's own thread for as long as the stream is open.
 			CountDownLatch latch = new CountDownLatch( 1 );
 
 			// Run in background thread with context preservation
-			this.targetExecutor.submit(
-			    () -> {
-				    try {
-					    context.invokeFunction( callback, new Object[] { emitter } );
-				    } catch ( AbortException ae ) {
-					    // re-throw this
-					    throw ae;
-				    } catch ( Exception e ) {
-					    emitter.handleError( e );
-				    } finally {
-					    emitter.cleanup();
-					    latch.countDown(); // Signal completion
-				    }
-			    }
-			);
+			Runnable task = () -> {
+				try {
+					context.invokeFunction( callback, new Object[] { emitter } );
+				} catch ( AbortException ae ) {
+					// re-throw this
+					throw ae;
+				} catch ( Exception e ) {
+					emitter.handleError( e );
+				} finally {
+					emitter.cleanup();
+					latch.countDown(); // Signal completion
+				}
+			};
+			if ( VirtualThreads.isEnabled() ) {
+				VirtualThreads.getExecutor().submit( task );
+			} else {
+				this.targetExecutor.submit( task );
+			}
 
 			// Block the request thread until the async task completes or timeout is reached
 			try {
@@ -19,8 +19,19 @@ package ortus.boxlang.web.components;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 
 import ortus.boxlang.runtime.components.Attribute;
 import ortus.boxlang.runtime.components.BoxComponent;
@@ -37,10 +48,18 @@ import ortus.boxlang.runtime.validation.Validator;
 import ortus.boxlang.web.WebRequestExecutor;
 import ortus.boxlang.web.context.WebRequestBoxContext;
 import ortus.boxlang.web.exchange.IBoxHTTPExchange;
+import ortus.boxlang.web.util.ByteRange;
+import ortus.boxlang.web.util.HTTPDateFormat;
 
 @BoxComponent( allowsBody = true, description = "Sends content to the client, such as HTML pages, files, or binary data or it can also be used to set the content type of the response." )
 public class Content extends Component {
 
+	private static final String	CONTENT_LENGTH_HEADER	= "Content-Length";
+
+	private static final String	LAST_MODIFIED_HEADER	= "Last-Modified";
+
+	private static final String	ETAG_HEADER				= "ETag";
+
 	public Content() {
 		super();
 		declaredAttributes = new Attribute[] {
@@ -88,7 +107,7 @@ public class Content extends Component {
 	 *
 	 * @atribute.file Name of file whose contents will be the page output. The file attribute must refer to a path on the system on which the web
 	 *                server runs. When you use this attribute, any other output on the current page is ignored; only the contents of the file is sent
-	 *                to the client.
+	 *                to the client. Range requests for the file are honoured, so clients can resume downloads and seek in media.
 	 *
 	 * @atribute.variable Name of a variable whose contents can be displayed by the
 	 *                    browser, such as the contents of a chart generated by the
@@ -145,7 +164,8 @@ public class Content extends Component {
 			}
 			// The buffer always gets cleared when using the `file` attribute
 			context.clearBuffer();
-			exchange.sendResponseFile( fileObj );
+			requestContext.commitResponse();
+			sendFile( exchange, fileObj );
 			if ( deleteFile ) {
 				FileSystemUtil.deleteFile( file );
 			}
@@ -159,27 +179,29 @@ public class Content extends Component {
 			} else {
 				context.flushBuffer( false );
 			}
-			byte[]	bytesToWrite;
-			boolean	isBinary	= false;
-			if ( variable instanceof byte[] barr ) {
-				bytesToWrite	= barr;
-				isBinary		= true;
-			} else if ( variable instanceof IBoxBinaryRepresentable representable ) {
-				bytesToWrite	= representable.toByteArray();
-				isBinary		= true;
-
-			} else {
-				// If not a byte array or binary representable, we treat it as a string
-				bytesToWrite = StringCaster.cast( variable ).getBytes();
-			}
 			// If a type is not given but we know this is binary data, we set the content type to application/octet-stream
+			boolean isBinary = variable instanceof byte[] || variable instanceof IBoxBinaryRepresentable || variable instanceof InputStream;
 			if ( isBinary && type == null
 			    &&
 			    ( assignedContentType == null
 			        || assignedContentType.equals( WebRequestExecutor.DEFAULT_CONTENT_TYPE ) ) ) {
 				exchange.setResponseHeader( WebRequestExecutor.CONTENT_TYPE_HEADER, WebRequestExecutor.DEFAULT_BINARY_CONTENT_TYPE );
 			}
-			exchange.sendResponseBinary( bytesToWrite );
+			requestContext.commitResponse();
+			if ( variable instanceof byte[] barr ) {
+				exchange.writeResponse( ByteBuffer.wrap( barr ) );
+			} else if ( variable instanceof IBoxBinaryRepresentable representable ) {
+				exchange.writeResponse( ByteBuffer.wrap( representable.toByteArray() ) );
+			} else if ( variable instanceof InputStream stream ) {
+				try ( stream ) {
+					exchange.sendResponseStream( stream, -1 );
+				} catch ( IOException e ) {
+					throw new BoxIOException( "An error occurred while closing the content stream", e );
+				}
+			} else {
+				// If not binary, we treat it as a string in the response's character encoding
+				exchange.writeResponse( StringCaster.cast( variable ) );
+			}
 			// I'm not sure CF actually aborts here if. If not, we need a flag in the
 			// context
 			// to stop writing to the output buffer
@@ -201,4 +223,102 @@ public class Content extends Component {
 
 		return DEFAULT_RETURN;
 	}
+
+	/**
+	 * Send a file, honouring the Range and If-Range headers of GET requests. Whole files are left to the exchange's own
+	 * {@link IBoxHTTPExchange#sendResponseFile(File)}. A single range is sent as a 206 with a Content-Range, several
+	 * ranges as a 206 multipart/byteranges body, and ranges which all fall outside of the file as a 416. Ranges are sent
+	 * through {@link IBoxHTTPExchange#sendResponseFile(FileChannel, long, long)} so exchanges can transfer them without
+	 * copying.
+	 *
+	 * @param exchange The exchange to send the file with
+	 * @param file     The file to send
+	 */
+	private void sendFile( IBoxHTTPExchange exchange, File file ) {
+		long	size			= file.length();
+		long	modified		= file.lastModified();
+		String	lastModified	= exchange.getResponseHeader( LAST_MODIFIED_HEADER );
+		String	etag			= exchange.getResponseHeader( ETAG_HEADER );
+		if ( lastModified == null ) {
+			lastModified = HTTPDateFormat.format( Instant.ofEpochMilli( modified ) );
+			exchange.setResponseHeader( LAST_MODIFIED_HEADER, lastModified );
+		}
+		if ( etag == null ) {
+			etag = "\"" + Long.toHexString( size ) + "-" + Long.toHexString( modified ) + "\"";
+			exchange.setResponseHeader( ETAG_HEADER, etag );
+		}
+		exchange.setResponseHeader( ByteRange.ACCEPT_RANGES_HEADER, ByteRange.BYTES_UNIT );
+
+		List<ByteRange> ranges = null;
+		if ( "GET".equalsIgnoreCase( exchange.getRequestMethod() )
+		    && ByteRange.ifRangeMatches( exchange.getRequestHeader( ByteRange.IF_RANGE_HEADER ), etag, lastModified ) ) {
+			ranges = ByteRange.parse( exchange.getRequestHeader( ByteRange.RANGE_HEADER ), size );
+		}
+
+		if ( ranges == null ) {
+			exchange.sendResponseFile( file );
+			return;
+		}
+		if ( ranges.isEmpty() ) {
+			exchange.setResponseStatus( 416 );
+			exchange.setResponseHeader( ByteRange.CONTENT_RANGE_HEADER, ByteRange.toUnsatisfiedContentRange( size ) );
+			exchange.setResponseHeader( CONTENT_LENGTH_HEADER, "0" );
+			return;
+		}
+		try ( FileChannel channel = FileChannel.open( file.toPath(), StandardOpenOption.READ ) ) {
+			if ( ranges.size() == 1 ) {
+				ByteRange range = ranges.get( 0 );
+				exchange.setResponseStatus( 206 );
+				exchange.setResponseHeader( ByteRange.CONTENT_RANGE_HEADER, range.toContentRange( size ) );
+				exchange.setResponseHeader( CONTENT_LENGTH_HEADER, String.valueOf( range.length() ) );
+				exchange.sendResponseFile( channel, range.start(), range.length() );
+			} else {
+				sendMultipartRanges( exchange, channel, size, ranges );
+			}
+		} catch ( IOException e ) {
+			throw new BoxIOException( "An error occurred while sending the file " + file.getName(), e );
+		}
+	}
+
+	/**
+	 * Send several ranges of a file as a multipart/byteranges body
+	 *
+	 * @param exchange The exchange to send the ranges with
+	 * @param channel  The file
+	 * @param size     The size of the file
+	 * @param ranges   The ranges to send
+	 *
+	 * @throws IOException If the file cannot be read or the response cannot be written
+	 */
+	private void sendMultipartRanges( IBoxHTTPExchange exchange, FileChannel channel, long size, List<ByteRange> ranges ) throws IOException {
+		String		boundary	= "BOXLANG_RANGES_" + Long.toHexString( ThreadLocalRandom.current().nextLong() );
+		String		contentType	= exchange.getResponseHeader( WebRequestExecutor.CONTENT_TYPE_HEADER );
+		byte[][]	partHeaders	= new byte[ ranges.size() ][];
+		byte[]		closing		= ( "\r\n--" + boundary + "--\r\n" ).getBytes( StandardCharsets.ISO_8859_1 );
+		long		length		= closing.length;
+
+		for ( int i = 0; i < partHeaders.length; i++ ) {
+			ByteRange		range	= ranges.get( i );
+			StringBuilder	header	= new StringBuilder( 96 ).append( "\r\n--" ).append( boundary ).append( "\r\n" );
+			if ( contentType != null ) {
+				header.append( WebRequestExecutor.CONTENT_TYPE_HEADER ).append( ": " ).append( contentType ).append( "\r\n" );
+			}
+			header.append( ByteRange.CONTENT_RANGE_HEADER ).append( ": " ).append( range.toContentRange( size ) ).append( "\r\n\r\n" );
+			partHeaders[ i ]	= header.toString().getBytes( StandardCharsets.ISO_8859_1 );
+			length				+= partHeaders[ i ].length + range.length();
+		}
+
+		exchange.setResponseStatus( 206 );
+		exchange.setResponseHeader( WebRequestExecutor.CONTENT_TYPE_HEADER, "multipart/byteranges; boundary=" + boundary );
+		exchange.setResponseHeader( CONTENT_LENGTH_HEADER, String.valueOf( length ) );
+
+		try ( OutputStream out = exchange.getResponseOutputStream() ) {
+			WritableByteChannel target = Channels.newChannel( out );
+			for ( int i = 0; i < partHeaders.length; i++ ) {
+				out.write( partHeaders[ i ] );
+				IBoxHTTPExchange.transferFile( channel, ranges.get( i ).start(), ranges.get( i ).length(), target );
+			}
+			out.write( closing );
+		}
+	}
 }
@@ -187,7 +187,7 @@ public class Cookie extends Component {
 		}
 
 		// Add to the actual HTTP reponse
-		exchange.addResponseCookie( cookieInstance );
+		requestContext.setResponseCookie( cookieInstance );
 
 		// Keep the cookie scope in sync
 		requestContext.getCookieScope().put( name, value );
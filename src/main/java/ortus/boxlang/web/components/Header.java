@@ -82,12 +82,15 @@ public class Header extends Component {
 		IBoxHTTPExchange		exchange		= requestContext.getHTTPExchange();
 
 		if ( statusCode != null ) {
+			if ( !requestContext.canChangeResponseHeaders( "the status code [" + statusCode + "]" ) ) {
+				return DEFAULT_RETURN;
+			}
 			if ( statusText != null ) {
 				exchange.setResponseStatus( statusCode, statusText );
 			} else {
 				exchange.setResponseStatus( statusCode );
 			}
-		} else {
+		} else if ( requestContext.canChangeResponseHeaders( "the header [" + name + "]" ) ) {
 			exchange.addResponseHeader( name, value );
 		}
 
@@ -58,7 +58,7 @@ public class HtmlBody extends Component {
 	 * This mirrors Lucee's cfhtmlbody behavior where the tag body content is treated as the text to buffer.
 	 *
 	 * The buffered content is injected at the beginning of the HTML {@code <body>} element at the end of
-	 * the request via an {@code onRequestEnd} interceptor, using Jsoup for HTML manipulation.
+	 * the request, once the application's {@code onRequestEnd} has run.
 	 *
 	 * @param context        The context in which the Component is being invoked
 	 * @param attributes     The attributes to the Component
@@ -17,17 +17,27 @@
  */
 package ortus.boxlang.web.context;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.net.URI;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Arrays;
 import java.util.Date;
-import java.util.Optional;
-import java.util.UUID;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 import ortus.boxlang.runtime.BoxRuntime;
 import ortus.boxlang.runtime.context.IBoxContext;
 import ortus.boxlang.runtime.context.RequestBoxContext;
 import ortus.boxlang.runtime.dynamic.casters.BooleanCaster;
+import ortus.boxlang.runtime.dynamic.casters.DoubleCaster;
+import ortus.boxlang.runtime.dynamic.casters.IntegerCaster;
 import ortus.boxlang.runtime.dynamic.casters.StringCaster;
 import ortus.boxlang.runtime.scopes.IScope;
 import ortus.boxlang.runtime.scopes.Key;
@@ -36,18 +46,27 @@ import ortus.boxlang.runtime.types.DateTime;
 import ortus.boxlang.runtime.types.IStruct;
 import ortus.boxlang.runtime.types.Struct;
 import ortus.boxlang.runtime.types.UDF;
+import ortus.boxlang.runtime.types.exceptions.BoxIOException;
 import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
 import ortus.boxlang.runtime.types.exceptions.ScopeNotFoundException;
 import ortus.boxlang.runtime.util.Mapping;
 import ortus.boxlang.web.exchange.BoxCookie;
 import ortus.boxlang.web.exchange.DetachedHTTPExchange;
 import ortus.boxlang.web.exchange.IBoxHTTPExchange;
+import ortus.boxlang.web.exchange.ResponseCookieJar;
+import ortus.boxlang.web.exchange.SessionCookiePolicy;
 import ortus.boxlang.web.scopes.CGIScope;
 import ortus.boxlang.web.scopes.CookieScope;
 import ortus.boxlang.web.scopes.FormScope;
 import ortus.boxlang.web.scopes.RequestScope;
 import ortus.boxlang.web.scopes.URLScope;
+import ortus.boxlang.web.util.AdaptiveConcurrencyLimiter;
+import ortus.boxlang.web.util.ISessionIDGenerator;
 import ortus.boxlang.web.util.KeyDictionary;
+import ortus.boxlang.web.util.NegativeLookupCache;
+import ortus.boxlang.web.util.SecureSessionIDGenerator;
+import ortus.boxlang.web.util.SessionCookieThrottle;
+import ortus.boxlang.web.util.WebRuntimeMetrics.Phase;
 
 /**
  * This context represents the context of a web/HTTP site in BoxLang
@@ -57,6 +76,59 @@ public class WebRequestBoxContext extends RequestBoxContext {
 
 	private static BoxRuntime	runtime					= BoxRuntime.getInstance();
 
+	/**
+	 * The size, in chars, of the chunk used to copy the output buffers into the response writer
+	 */
+	private static final int	FLUSH_CHUNK_SIZE		= 8192;
+
+	/**
+	 * The session cookie settings which make up a {@link SessionCookiePolicy}
+	 */
+	private static final Key[]	SESSION_COOKIE_POLICY_KEYS	= {
+	    KeyDictionary.httpOnly,
+	    KeyDictionary.secure,
+	    Key.domain,
+	    KeyDictionary.sameSite,
+	    KeyDictionary.reissueFraction,
+	    KeyDictionary.idGenerator,
+	    KeyDictionary.idBytes
+	};
+
+	/**
+	 * The most applications we will remember the session cookie policy of before starting over
+	 */
+	private static final int	MAX_SESSION_COOKIE_POLICIES	= 1_000;
+
+	/**
+	 * The session cookie policy last resolved for each application, by application name
+	 */
+	private static final ConcurrentHashMap<Object, ResolvedSessionCookiePolicy> sessionCookiePolicies = new ConcurrentHashMap<>();
+
+	/**
+	 * A session cookie policy and the settings, exactly as the application gave them, which it was resolved from
+	 *
+	 * @param settings The raw value of each of {@link #SESSION_COOKIE_POLICY_KEYS}, null where the setting was left out
+	 * @param policy   The policy
+	 */
+	private record ResolvedSessionCookiePolicy( Object[] settings, SessionCookiePolicy policy ) {
+
+		/**
+		 * Check if the policy is still current for an application's session cookie settings
+		 *
+		 * @param current The application's session cookie settings, or null if it has none
+		 *
+		 * @return true if no setting has changed since the policy was resolved
+		 */
+		boolean matches( IStruct current ) {
+			for ( int i = 0; i < SESSION_COOKIE_POLICY_KEYS.length; i++ ) {
+				if ( !Objects.equals( settings[ i ], current == null ? null : current.get( SESSION_COOKIE_POLICY_KEYS[ i ] ) ) ) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
 	/**
 	 * --------------------------------------------------------------------------
 	 * Private Properties
@@ -69,32 +141,47 @@ public class WebRequestBoxContext extends RequestBoxContext {
 	protected IScope			variablesScope			= new VariablesScope();
 
 	/**
-	 * The request scope
+	 * The request scope, built on first use
 	 */
-	protected IScope			requestScope;
+	protected volatile IScope	requestScope;
 
 	/**
-	 * The URL scope
+	 * The URL scope, built on first use
 	 */
-	protected IScope			URLScope;
+	protected volatile IScope	URLScope;
 
 	/**
-	 * The form scope
+	 * The form scope, built on first use
 	 */
-	protected IScope			formScope;
+	protected volatile IScope	formScope;
 
 	/**
-	 * The CGI scope
+	 * The CGI scope, built on first use
 	 */
-	protected IScope			CGIScope;
+	protected volatile IScope	CGIScope;
 
 	/**
-	 * The cookie scope
+	 * The cookie scope, built on first use
 	 */
-	protected IScope			cookieScope;
+	protected volatile IScope	cookieScope;
 
 	protected IBoxHTTPExchange	httpExchange;
 
+	/**
+	 * The request's place under the web concurrency limit, or null if limiting is disabled
+	 */
+	private volatile AdaptiveConcurrencyLimiter.Permit	concurrencyPermit;
+
+	/**
+	 * Keys which unscoped lookups found in none of the CGI, URL and form scopes
+	 */
+	private final NegativeLookupCache	unscopedMisses			= new NegativeLookupCache();
+
+	/**
+	 * The write counter shared by the CGI, URL and form scopes, which stamps the misses in {@link #unscopedMisses}
+	 */
+	private final AtomicLong			unscopedWrites			= new AtomicLong();
+
 	/**
 	 * The request body can only be read once, so we cache it here
 	 */
@@ -118,7 +205,16 @@ public class WebRequestBoxContext extends RequestBoxContext {
 	    KeyDictionary.httpOnly, true,
 	    KeyDictionary.disableUpdate, false,
 	    Key.timeout, new DateTime().modify( "yyyy", 30l ),
-	    KeyDictionary.sameSite, "Lax" );
+	    KeyDictionary.sameSite, "Lax",
+	    KeyDictionary.reissueFraction, SessionCookiePolicy.DEFAULT_REISSUE_FRACTION,
+	    KeyDictionary.idGenerator, ISessionIDGenerator.DEFAULT,
+	    KeyDictionary.idBytes, SecureSessionIDGenerator.DEFAULT_BYTES );
+
+	/**
+	 * The session cookie settings and policy for this request, resolved on first use
+	 */
+	private IStruct				sessionCookieSettings	= null;
+	private SessionCookiePolicy	sessionCookiePolicy		= null;
 
 	protected boolean			sessionCookieProvided	= false;
 	protected boolean			isSessionReset			= false;
@@ -129,6 +225,39 @@ public class WebRequestBoxContext extends RequestBoxContext {
 	 */
 	private IStruct				configCache				= null;
 
+	/**
+	 * The resolved <code>web.output.autoFlushBytes</code> setting for this request. Null until the application is known.
+	 */
+	private Integer				autoFlushThreshold		= null;
+
+	/**
+	 * Whether the response has been committed by flushing output to the client
+	 */
+	protected boolean			responseCommitted		= false;
+
+	/**
+	 * The cookies set by the application, held until the response is committed so a cookie written several times in a
+	 * request is only sent once with its last value
+	 */
+	private final ResponseCookieJar	responseCookies			= new ResponseCookieJar();
+
+	/**
+	 * Actions to run once the request has ended, keyed by name so each is only registered once per request.
+	 * Null until the first action is registered and again once they have run.
+	 */
+	private Map<Key, Consumer<WebRequestBoxContext>>	requestEndActions	= null;
+
+	/**
+	 * The time spent in each phase of the request, in nanoseconds, indexed by phase. Phases which have not run are -1.
+	 */
+	private final long[]			phaseTimings			= newPhaseTimings();
+
+	/**
+	 * The phase currently being timed, and when it started
+	 */
+	private Phase					currentPhase			= null;
+	private long					currentPhaseStart		= 0;
+
 	/**
 	 * --------------------------------------------------------------------------
 	 * Constructors
@@ -146,11 +275,6 @@ public class WebRequestBoxContext extends RequestBoxContext {
 		httpExchange.setWebContext( this );
 		this.httpExchange	= httpExchange;
 		this.webRoot		= webRoot;
-		URLScope			= new URLScope( this );
-		formScope			= new FormScope( this );
-		CGIScope			= new CGIScope( this );
-		cookieScope			= new CookieScope( this );
-		requestScope		= new RequestScope( this );
 	}
 
 	/**
@@ -176,13 +300,7 @@ public class WebRequestBoxContext extends RequestBoxContext {
 	 */
 	public Key getSessionID() {
 
-		IStruct appSettings = getConfig().getAsStruct( Key.applicationSettings );
-
-		appSettings.putIfAbsent( KeyDictionary.sessionCookie, new Struct() );
-		IStruct sessionCookieSettings = appSettings.getAsStruct( KeyDictionary.sessionCookie );
-		sessionCookieDefaults.entrySet().stream().forEach( entry -> {
-			sessionCookieSettings.putIfAbsent( entry.getKey(), entry.getValue() );
-		} );
+		SessionCookiePolicy policy = getSessionCookiePolicy();
 
 		// Only look if this is the first time for this request
 		if ( this.sessionID == null ) {
@@ -190,8 +308,7 @@ public class WebRequestBoxContext extends RequestBoxContext {
 				// double check...
 				if ( this.sessionID == null ) {
 					// Check for existing request cookie
-					BoxCookie sessionCookie = httpExchange
-					    .getRequestCookie( sessionCookieDefaults.getAsString( Key._NAME ) );
+					BoxCookie sessionCookie = httpExchange.getRequestCookie( policy.getName() );
 					if ( !this.isSessionReset && sessionCookie != null
 					    && ( sessionCookie.getMaxAge() == null || !Integer.valueOf( 0 ).equals( sessionCookie.getMaxAge() ) ) ) {
 						String idValue = sessionCookie.getValue();
@@ -199,11 +316,11 @@ public class WebRequestBoxContext extends RequestBoxContext {
 						if ( idValue != null && !idValue.isEmpty() && !idValue.toLowerCase().equals( "null" ) ) {
 							this.sessionID = Key.of( sessionCookie.getValue() );
 						} else {
-							this.sessionID = Key.of( UUID.randomUUID().toString() );
+							this.sessionID = Key.of( policy.newSessionID() );
 						}
 					} else {
 						// Otherwise generate a new one
-						this.sessionID = Key.of( UUID.randomUUID().toString() );
+						this.sessionID = Key.of( policy.newSessionID() );
 					}
 				}
 			}
@@ -223,43 +340,110 @@ public class WebRequestBoxContext extends RequestBoxContext {
 	 */
 	private BoxCookie generateSessionCookie( Key newId, Integer maxAge ) {
 
-		IStruct appSettings = getConfig().getAsStruct( Key.applicationSettings );
-
-		appSettings.putIfAbsent( KeyDictionary.sessionCookie, new Struct() );
-		IStruct sessionCookieSettings = appSettings.getAsStruct( KeyDictionary.sessionCookie );
-		sessionCookieDefaults.entrySet().stream().forEach( entry -> {
-			sessionCookieSettings.putIfAbsent( entry.getKey(), entry.getValue() );
-		} );
+		SessionCookiePolicy	policy	= getSessionCookiePolicy();
+		Date				expires	= null;
 
-		BoxCookie sessionCookie = new BoxCookie( sessionCookieDefaults.getAsString( Key._NAME ),
-		    newId.getName() )
-		    .setPath( "/" );
-
-		Optional.ofNullable( sessionCookieSettings.get( KeyDictionary.httpOnly ) ).map( BooleanCaster::cast ).map( sessionCookie::setHttpOnly );
-
-		Optional.ofNullable( sessionCookieSettings.get( KeyDictionary.secure ) ).map( BooleanCaster::cast ).map( sessionCookie::setSecure );
-
-		Optional.ofNullable( sessionCookieSettings.get( Key.domain ) ).map( StringCaster::cast ).map( sessionCookie::setDomain );
-
-		Optional.ofNullable( sessionCookieSettings.get( KeyDictionary.sameSite ) ).map( StringCaster::cast )
-		    .map( sessionCookie::setSameSiteMode );
-
-		Object expiration = sessionCookieSettings.get( Key.timeout );
 		// The browser will not honor maxAge if expiration is present
 		if ( maxAge == null ) {
+			Object expiration = sessionCookieSettings == null ? null : sessionCookieSettings.get( Key.timeout );
 			if ( expiration instanceof DateTime expireDateTime ) {
-				sessionCookie.setExpires( Date.from( expireDateTime.toInstant() ) );
+				expires = Date.from( expireDateTime.toInstant() );
 			} else if ( expiration instanceof Duration expireDuration ) {
-				sessionCookie.setExpires( Date.from( Instant.now().plus( expireDuration ) ) );
+				expires = Date.from( Instant.now().plus( expireDuration ) );
 			} else {
-				sessionCookie.setExpires(
-				    Date.from( sessionCookieDefaults.getAsDateTime( Key.timeout ).toInstant() ) );
+				expires = Date.from( sessionCookieDefaults.getAsDateTime( Key.timeout ).toInstant() );
 			}
-		} else {
-			sessionCookie.setMaxAge( maxAge );
 		}
 
-		return sessionCookie;
+		return policy.newCookie( newId.getName(), maxAge, expires );
+	}
+
+	/**
+	 * Get the session cookie policy for this request's application settings. The policy is kept per application and
+	 * only resolved again when one of its settings changes, which is checked by comparing the raw setting values, so a
+	 * warm application neither casts its settings nor fills in their defaults.
+	 *
+	 * @return The session cookie policy
+	 */
+	protected SessionCookiePolicy getSessionCookiePolicy() {
+		if ( this.sessionCookiePolicy == null ) {
+			IStruct						appSettings	= getApplicationListener() != null
+			    ? getApplicationListener().getSettings()
+			    : getConfig().getAsStruct( Key.applicationSettings );
+			IStruct						settings	= appSettings.get( KeyDictionary.sessionCookie ) instanceof IStruct cookieSettings ? cookieSettings : null;
+			Object						appName		= appSettings.getOrDefault( Key._NAME, "" );
+			ResolvedSessionCookiePolicy	resolved	= sessionCookiePolicies.get( appName );
+
+			if ( resolved == null || !resolved.matches( settings ) ) {
+				Object[] raw = new Object[ SESSION_COOKIE_POLICY_KEYS.length ];
+				for ( int i = 0; i < raw.length; i++ ) {
+					raw[ i ] = settings == null ? null : settings.get( SESSION_COOKIE_POLICY_KEYS[ i ] );
+				}
+				resolved = new ResolvedSessionCookiePolicy( raw, resolveSessionCookiePolicy( settings ) );
+				if ( sessionCookiePolicies.size() >= MAX_SESSION_COOKIE_POLICIES ) {
+					sessionCookiePolicies.clear();
+				}
+				sessionCookiePolicies.put( appName, resolved );
+			}
+
+			this.sessionCookieSettings	= settings;
+			this.sessionCookiePolicy	= resolved.policy();
+		}
+		return this.sessionCookiePolicy;
+	}
+
+	/**
+	 * Cast an application's session cookie settings into a policy, using the defaults for any it left out
+	 *
+	 * @param settings The application's session cookie settings, or null if it has none
+	 *
+	 * @return The session cookie policy
+	 */
+	private SessionCookiePolicy resolveSessionCookiePolicy( IStruct settings ) {
+		Object domain = getSessionCookieSetting( settings, Key.domain );
+		return new SessionCookiePolicy(
+		    this,
+		    sessionCookieDefaults.getAsString( Key._NAME ),
+		    BooleanCaster.cast( getSessionCookieSetting( settings, KeyDictionary.httpOnly ) ),
+		    BooleanCaster.cast( getSessionCookieSetting( settings, KeyDictionary.secure ) ),
+		    domain == null ? null : StringCaster.cast( domain ),
+		    StringCaster.cast( getSessionCookieSetting( settings, KeyDictionary.sameSite ) ),
+		    DoubleCaster.attempt( getSessionCookieSetting( settings, KeyDictionary.reissueFraction ) )
+		        .getOrDefault( SessionCookiePolicy.DEFAULT_REISSUE_FRACTION ),
+		    StringCaster.cast( getSessionCookieSetting( settings, KeyDictionary.idGenerator ) ),
+		    IntegerCaster.attempt( getSessionCookieSetting( settings, KeyDictionary.idBytes ) ).getOrDefault( SecureSessionIDGenerator.DEFAULT_BYTES )
+		);
+	}
+
+	/**
+	 * Get a session cookie setting, falling back on its default
+	 *
+	 * @param settings The application's session cookie settings, or null if it has none
+	 * @param key      The setting
+	 *
+	 * @return The setting, or null if it has no value and no default
+	 */
+	private Object getSessionCookieSetting( IStruct settings, Key key ) {
+		Object value = settings == null ? null : settings.get( key );
+		return value != null ? value : sessionCookieDefaults.get( key );
+	}
+
+	/**
+	 * Check if the session cookie has to be sent with this response. New and rotated sessions always get it, existing
+	 * ones only once the policy's reissue fraction of the cookie's lifetime has passed since it was last sent.
+	 *
+	 * @param sessionID The session ID
+	 * @param now       The current time in epoch milliseconds
+	 *
+	 * @return True if the cookie should be sent
+	 */
+	private boolean isSessionCookieDue( Key sessionID, long now ) {
+		SessionCookiePolicy	policy			= getSessionCookiePolicy();
+		BoxCookie			requestCookie	= httpExchange.getRequestCookie( policy.getName() );
+		if ( requestCookie == null || !sessionID.getName().equals( requestCookie.getValue() ) ) {
+			return true;
+		}
+		return SessionCookieThrottle.isDue( sessionID.getName(), policy, now );
 	}
 
 	/**
@@ -269,12 +453,12 @@ public class WebRequestBoxContext extends RequestBoxContext {
 		synchronized ( this ) {
 			this.sessionID = null;
 			if ( this.sessionID == null ) {
-				BoxCookie sessionCookie = httpExchange
-				    .getRequestCookie( sessionCookieDefaults.getAsString( Key._NAME ) );
+				BoxCookie sessionCookie = httpExchange.getRequestCookie( getSessionCookiePolicy().getName() );
 				if ( sessionCookie != null ) {
+					SessionCookieThrottle.forget( sessionCookie.getValue() );
 					// Add an expiration cookie to the response.
 					BoxCookie expiryCookie = generateSessionCookie( Key.of( sessionCookie.getValue() ), 0 );
-					httpExchange.addResponseCookie( expiryCookie );
+					setResponseCookie( expiryCookie );
 					// throw up our flag to force new session ID
 					this.isSessionReset = true;
 					// Force a new session ID and ensure that the cookie is sent
@@ -296,11 +480,11 @@ public class WebRequestBoxContext extends RequestBoxContext {
 		if ( hasParent() && !shallow ) {
 			getParent().getVisibleScopes( scopes, false, false );
 		}
-		scopes.getAsStruct( Key.contextual ).put( ortus.boxlang.web.scopes.URLScope.name, URLScope );
-		scopes.getAsStruct( Key.contextual ).put( FormScope.name, formScope );
-		scopes.getAsStruct( Key.contextual ).put( ortus.boxlang.web.scopes.CGIScope.name, CGIScope );
-		scopes.getAsStruct( Key.contextual ).put( CookieScope.name, cookieScope );
-		scopes.getAsStruct( Key.contextual ).put( RequestScope.name, requestScope );
+		scopes.getAsStruct( Key.contextual ).put( ortus.boxlang.web.scopes.URLScope.name, getURLScope() );
+		scopes.getAsStruct( Key.contextual ).put( FormScope.name, getFormScope() );
+		scopes.getAsStruct( Key.contextual ).put( ortus.boxlang.web.scopes.CGIScope.name, getCGIScope() );
+		scopes.getAsStruct( Key.contextual ).put( CookieScope.name, getCookieScope() );
+		scopes.getAsStruct( Key.contextual ).put( RequestScope.name, getRequestScope() );
 		if ( nearby ) {
 			scopes.getAsStruct( Key.contextual ).put( VariablesScope.name, variablesScope );
 		}
@@ -322,11 +506,11 @@ public class WebRequestBoxContext extends RequestBoxContext {
 	 */
 	@Override
 	public boolean isKeyVisibleScope( Key key, boolean nearby, boolean shallow ) {
-		if ( key.equals( URLScope.getName() ) ||
-		    key.equals( formScope.getName() ) ||
-		    key.equals( CGIScope.getName() ) ||
-		    key.equals( cookieScope.getName() ) ||
-		    key.equals( requestScope.getName() ) ) {
+		if ( key.equals( ortus.boxlang.web.scopes.URLScope.name ) ||
+		    key.equals( FormScope.name ) ||
+		    key.equals( ortus.boxlang.web.scopes.CGIScope.name ) ||
+		    key.equals( CookieScope.name ) ||
+		    key.equals( RequestScope.name ) ) {
 			return true;
 		}
 		if ( nearby && key.equals( VariablesScope.name ) ) {
@@ -385,49 +569,99 @@ public class WebRequestBoxContext extends RequestBoxContext {
 	@Override
 	public ScopeSearchResult scopeFind( Key key, IScope defaultScope, boolean forAssign ) {
 
-		if ( key.equals( requestScope.getName() ) ) {
-			return new ScopeSearchResult( requestScope, requestScope, key, true );
+		if ( key.equals( RequestScope.name ) ) {
+			IScope scope = getRequestScope();
+			return new ScopeSearchResult( scope, scope, key, true );
 		}
-		if ( key.equals( CGIScope.getName() ) ) {
-			return new ScopeSearchResult( CGIScope, CGIScope, key, true );
+		if ( key.equals( ortus.boxlang.web.scopes.CGIScope.name ) ) {
+			IScope scope = getCGIScope();
+			return new ScopeSearchResult( scope, scope, key, true );
 		}
-		if ( key.equals( URLScope.getName() ) ) {
-			return new ScopeSearchResult( URLScope, URLScope, key, true );
+		if ( key.equals( ortus.boxlang.web.scopes.URLScope.name ) ) {
+			IScope scope = getURLScope();
+			return new ScopeSearchResult( scope, scope, key, true );
 		}
-		if ( key.equals( formScope.getName() ) ) {
-			return new ScopeSearchResult( formScope, formScope, key, true );
+		if ( key.equals( FormScope.name ) ) {
+			IScope scope = getFormScope();
+			return new ScopeSearchResult( scope, scope, key, true );
 		}
-		if ( key.equals( cookieScope.getName() ) ) {
-			return new ScopeSearchResult( cookieScope, cookieScope, key, true );
+		if ( key.equals( CookieScope.name ) ) {
+			IScope scope = getCookieScope();
+			return new ScopeSearchResult( scope, scope, key, true );
 		}
 
-		// We don't look here if just setting a variable
-		if ( !forAssign ) {
-			Object result = CGIScope.getRaw( key );
+		// We don't look here if just setting a variable. The stamp is taken before the lookups, so a write made while
+		// they run leaves the key to be searched again.
+		long writeStamp = forAssign ? 0 : getUnscopedWriteStamp();
+		if ( !forAssign && !unscopedMisses.isMissing( key, writeStamp ) ) {
+			IScope	scope	= getCGIScope();
+			Object	result	= scope.getRaw( key );
 			// Null means not found
 			if ( isDefined( result, forAssign ) ) {
 				// Unwrap the value now in case it was really actually null for real
-				return new ScopeSearchResult( CGIScope, Struct.unWrapNull( result ), key );
+				return new ScopeSearchResult( scope, Struct.unWrapNull( result ), key );
 			}
 
-			result = URLScope.getRaw( key );
-			// Null means not found
-			if ( isDefined( result, forAssign ) ) {
-				// Unwrap the value now in case it was really actually null for real
-				return new ScopeSearchResult( URLScope, Struct.unWrapNull( result ), key );
+			// A URL or form scope which hasn't been built and has nothing to build from can't hold the key
+			if ( URLScope != null || hasURLParameters() ) {
+				scope	= getURLScope();
+				result	= scope.getRaw( key );
+				// Null means not found
+				if ( isDefined( result, forAssign ) ) {
+					// Unwrap the value now in case it was really actually null for real
+					return new ScopeSearchResult( scope, Struct.unWrapNull( result ), key );
+				}
 			}
 
-			result = formScope.getRaw( key );
-			// Null means not found
-			if ( isDefined( result, forAssign ) ) {
-				// Unwrap the value now in case it was really actually null for real
-				return new ScopeSearchResult( formScope, Struct.unWrapNull( result ), key );
+			if ( formScope != null || !httpExchange.getRequestFormMap().isEmpty() || httpExchange.getRequestMethod().equalsIgnoreCase( "POST" ) ) {
+				scope	= getFormScope();
+				result	= scope.getRaw( key );
+				// Null means not found
+				if ( isDefined( result, forAssign ) ) {
+					// Unwrap the value now in case it was really actually null for real
+					return new ScopeSearchResult( scope, Struct.unWrapNull( result ), key );
+				}
 			}
+
+			unscopedMisses.addMissing( key, writeStamp );
 		}
 
 		return super.scopeFind( key, defaultScope, forAssign );
 	}
 
+	/**
+	 * Get a stamp of the writes to the CGI, URL and form scopes, which changes whenever an unscoped lookup could find
+	 * a key it missed before
+	 *
+	 * @return The shared write count of the scopes
+	 */
+	private long getUnscopedWriteStamp() {
+		return unscopedWrites.get();
+	}
+
+	/**
+	 * Get the write counter the CGI, URL and form scopes share, so any write to one of them invalidates the keys
+	 * unscoped lookups found missing
+	 *
+	 * @return The shared write counter
+	 */
+	public AtomicLong getUnscopedWrites() {
+		return unscopedWrites;
+	}
+
+	/**
+	 * Check whether the request has anything to build the URL scope from
+	 *
+	 * @return true if the query string or URL map has parameters
+	 */
+	private boolean hasURLParameters() {
+		if ( httpExchange.useQueryStringParser() ) {
+			String queryString = httpExchange.getRequestQueryString();
+			return queryString != null && !queryString.isEmpty();
+		}
+		return !httpExchange.getRequestURLMap().isEmpty();
+	}
+
 	/**
 	 * Get a scope from the context. If not found, the parent context is asked.
 	 * Don't search for scopes which are local to an execution context
@@ -437,24 +671,24 @@ public class WebRequestBoxContext extends RequestBoxContext {
 	@Override
 	public IScope getScope( Key name ) throws ScopeNotFoundException {
 
-		if ( name.equals( requestScope.getName() ) ) {
-			return requestScope;
+		if ( name.equals( RequestScope.name ) ) {
+			return getRequestScope();
 		}
 
-		if ( name.equals( URLScope.getName() ) ) {
-			return URLScope;
+		if ( name.equals( ortus.boxlang.web.scopes.URLScope.name ) ) {
+			return getURLScope();
 		}
 
-		if ( name.equals( formScope.getName() ) ) {
-			return formScope;
+		if ( name.equals( FormScope.name ) ) {
+			return getFormScope();
 		}
 
-		if ( name.equals( CGIScope.getName() ) ) {
-			return CGIScope;
+		if ( name.equals( ortus.boxlang.web.scopes.CGIScope.name ) ) {
+			return getCGIScope();
 		}
 
-		if ( name.equals( cookieScope.getName() ) ) {
-			return cookieScope;
+		if ( name.equals( CookieScope.name ) ) {
+			return getCookieScope();
 		}
 
 		if ( parent != null ) {
@@ -518,39 +752,382 @@ public class WebRequestBoxContext extends RequestBoxContext {
 			return this;
 		}
 
-		// Send our session cookie, if not already done, in order to keep alive the session and forward the expiration
+		provideSessionCookie();
+
+		// This will commit the response so we don't want to do it unless we're forcing
+		// a flush, it's the end of the request, or the buffer has grown past the auto flush threshold.
+		// The web request executor will always issue a final forced flush.
+		// Otherwise, just let the buffer keep accumulating
+		if ( force || isAutoFlushDue() ) {
+			sendResponseCookies();
+			httpExchange.ensureResponseContentType();
+			writeBuffersTo( httpExchange.getResponseWriter() );
+			httpExchange.flushResponseBuffer();
+			responseCommitted = true;
+		}
+		return this;
+	}
+
+	/**
+	 * Commit the response for something which writes to the exchange's response body directly, such as a file sent by
+	 * the content component or an event stream. The session and response cookies are sent to the exchange first, and
+	 * later changes to the status, headers or cookies are reported as lost.
+	 *
+	 * @return This context
+	 */
+	public WebRequestBoxContext commitResponse() {
+		provideSessionCookie();
+		sendResponseCookies();
+		responseCommitted = true;
+		return this;
+	}
+
+	/**
+	 * Set our session cookie on the response, if not already done, in order to keep alive the session and forward the
+	 * expiration
+	 */
+	private void provideSessionCookie() {
 		if ( BooleanCaster.attempt( getApplicationListener().getSettings().getOrDefault( Key.sessionManagement, false ) ).getOrDefault( false )
 		    && BooleanCaster.attempt( getConfig().getOrDefault( Key.setClientCookies, true ) ).getOrDefault( false ) ) {
 			synchronized ( this ) {
 				if ( !sessionCookieProvided ) {
-					// Ensure session cookie is sent if not already
-					BoxCookie sessionCookie = generateSessionCookie( getSessionID(), null );
-					httpExchange.addResponseCookie( sessionCookie );
+					// Ensure session cookie is sent if not already, and the client's copy is due for a new expiration
+					Key		id	= getSessionID();
+					long	now	= System.currentTimeMillis();
+					if ( isSessionCookieDue( id, now ) ) {
+						BoxCookie sessionCookie = generateSessionCookie( id, null );
+						// Through the response cookies, so a session cookie the application set itself is replaced
+						setResponseCookie( sessionCookie );
+						SessionCookieThrottle.issued( id.getName(), getSessionCookiePolicy(), now, sessionCookie.getExpires().getTime() );
+					}
 					sessionCookieProvided = true;
 				}
 			}
 		}
+	}
 
-		// This will commit the response so we don't want to do it unless we're forcing
-		// a flush, or it's the end of the request
-		// in which case, the web request executor will always issue a final forced
-		// flush. Otherwise, just let the buffer keep accumulating
-		if ( force ) {
-			var		theBuffers	= super._getBuffers();
-			String	output		= "";
-			for ( StringBuffer buf : theBuffers ) {
-				synchronized ( buf ) {
-					output = output.concat( buf.toString() );
-					buf.setLength( 0 );
-				}
+	/**
+	 * Write to the output buffer, draining it to the client if streaming is enabled
+	 * and the buffer has passed the auto flush threshold.
+	 *
+	 * @param o     The object to write
+	 * @param force true, write even if output is disabled
+	 *
+	 * @return This context
+	 */
+	@Override
+	public IBoxContext writeToBuffer( Object o, boolean force ) {
+		super.writeToBuffer( o, force );
+		if ( isAutoFlushDue() ) {
+			flushBuffer( false );
+		}
+		return this;
+	}
+
+	/**
+	 * Write to the output buffer, draining it to the client if streaming is enabled
+	 * and the buffer has passed the auto flush threshold.
+	 *
+	 * @param o The object to write
+	 *
+	 * @return This context
+	 */
+	@Override
+	public IBoxContext writeToBuffer( Object o ) {
+		return writeToBuffer( o, false );
+	}
+
+	/**
+	 * Check if the output buffer should be drained to the client now.
+	 * Streaming is only done when it is enabled via the <code>web.output.autoFlushBytes</code> setting,
+	 * output is allowed, no content is being captured into a pushed buffer (savecontent, etc), and no
+	 * request end action (htmlHead/htmlBody/htmlFooter injection, etc) is waiting to rewrite the page.
+	 *
+	 * @return true if the buffer has passed the auto flush threshold
+	 */
+	protected boolean isAutoFlushDue() {
+		int threshold = getAutoFlushThreshold();
+		if ( threshold <= 0 || !canOutput() || hasRequestEndActions() ) {
+			return false;
+		}
+		int		bufferCount	= 0;
+		long	size		= 0;
+		for ( StringBuffer buf : super._getBuffers() ) {
+			if ( ++bufferCount > 1 ) {
+				return false;
 			}
-			httpExchange.ensureResponseContentType();
-			httpExchange.getResponseWriter().write( output );
-			httpExchange.flushResponseBuffer();
+			size += buf.length();
+		}
+		return size >= threshold;
+	}
+
+	/**
+	 * Get the number of chars the output buffer may hold before it is streamed to the client.
+	 * This is read from the <code>web.output.autoFlushBytes</code> setting once the application is known.
+	 * Zero, the default, disables streaming and the buffer is only sent at the end of the request.
+	 *
+	 * @return The auto flush threshold
+	 */
+	public int getAutoFlushThreshold() {
+		if ( autoFlushThreshold == null ) {
+			if ( getApplicationListener() == null ) {
+				return 0;
+			}
+			autoFlushThreshold = IntegerCaster.attempt( getWebSetting( 0, KeyDictionary.output, KeyDictionary.autoFlushBytes ) ).getOrDefault( 0 );
+		}
+		return autoFlushThreshold;
+	}
+
+	/**
+	 * Check if the response has been committed to the client by a flush
+	 *
+	 * @return true if the status, headers and some of the body have been sent
+	 */
+	public boolean isResponseCommitted() {
+		return responseCommitted;
+	}
+
+	/**
+	 * Set a cookie on the response, replacing any cookie with the same name, path and domain set earlier in this
+	 * request. The cookie is held until the response is committed, see {@link #sendResponseCookies()}.
+	 *
+	 * @param cookie The cookie
+	 */
+	public void setResponseCookie( BoxCookie cookie ) {
+		if ( canChangeResponseHeaders( "the cookie [" + cookie.getName() + "]" ) ) {
+			responseCookies.put( cookie );
+		}
+	}
+
+	/**
+	 * Get the cookies set on the response which have not been sent to the exchange yet
+	 *
+	 * @return The cookies, in the order they were first set
+	 */
+	public BoxCookie[] getResponseCookies() {
+		return responseCookies.toArray();
+	}
+
+	/**
+	 * Add the cookies set on the response to the exchange. This is done when the response is committed by a flush or
+	 * {@link #commitResponse()}.
+	 *
+	 * @return This context
+	 */
+	public WebRequestBoxContext sendResponseCookies() {
+		for ( BoxCookie cookie : responseCookies.drain() ) {
+			httpExchange.addResponseCookie( cookie );
 		}
 		return this;
 	}
 
+	/**
+	 * Set the request's place under the web concurrency limit
+	 *
+	 * @param permit The permit, or null if limiting is disabled
+	 */
+	public void setConcurrencyPermit( AdaptiveConcurrencyLimiter.Permit permit ) {
+		this.concurrencyPermit = permit;
+	}
+
+	/**
+	 * Give the request's place under the web concurrency limit back early, without a latency sample. For requests such
+	 * as event streams which stay open as long as the client does, so they don't hold the limit down while they wait.
+	 */
+	public void releaseConcurrencyPermit() {
+		AdaptiveConcurrencyLimiter.Permit permit = concurrencyPermit;
+		if ( permit != null ) {
+			permit.releaseWithoutSample();
+		}
+	}
+
+	/**
+	 * Check if the status, headers and cookies of the response can still be changed. Once output has been streamed to
+	 * the client they have already been sent, so a warning is logged for the change being lost.
+	 *
+	 * @param change A description of the change being made, for the warning. e.g. "the header [X-Foo]"
+	 *
+	 * @return true if the change can still be sent, false if the response is already committed
+	 */
+	public boolean canChangeResponseHeaders( String change ) {
+		if ( !responseCommitted ) {
+			return true;
+		}
+		BoxRuntime.getInstance().getLoggingService().RUNTIME_LOGGER.warn(
+		    "The response to [" + httpExchange.getRequestURI() + "] was already streamed to the client, so " + change
+		        + " could not be sent. Set it before the output passes web.output.autoFlushBytes, or flush it yourself." );
+		return false;
+	}
+
+	/**
+	 * Register an action to run once, right after the application's onRequestEnd. Actions run in the order they were
+	 * registered and are discarded with the request, so nothing accumulates in the application's interceptor pool.
+	 *
+	 * @param name   A unique name for the action. An action already registered under this name is kept.
+	 * @param action The action to run, which receives this context
+	 *
+	 * @return true if the action was registered, false if one was already registered under the name
+	 */
+	public synchronized boolean registerRequestEndAction( Key name, Consumer<WebRequestBoxContext> action ) {
+		if ( requestEndActions == null ) {
+			requestEndActions = new LinkedHashMap<>();
+		}
+		return requestEndActions.putIfAbsent( name, action ) == null;
+	}
+
+	/**
+	 * Check if any request end actions are waiting to run
+	 *
+	 * @return true if there are registered actions which have not completed
+	 */
+	public synchronized boolean hasRequestEndActions() {
+		return requestEndActions != null && !requestEndActions.isEmpty();
+	}
+
+	/**
+	 * Run and discard all the registered request end actions. This is called by the web request executor once the
+	 * application's onRequestEnd has completed. Calling it again is a no-op until new actions are registered.
+	 */
+	public void runRequestEndActions() {
+		List<Consumer<WebRequestBoxContext>> actions;
+		synchronized ( this ) {
+			if ( requestEndActions == null ) {
+				return;
+			}
+			actions = List.copyOf( requestEndActions.values() );
+		}
+		try {
+			for ( Consumer<WebRequestBoxContext> action : actions ) {
+				action.accept( this );
+			}
+		} finally {
+			synchronized ( this ) {
+				requestEndActions = null;
+			}
+		}
+	}
+
+	/**
+	 * Start timing a phase of the request, ending the phase currently being timed, if any
+	 *
+	 * @param phase The phase which is starting
+	 */
+	public void startPhase( Phase phase ) {
+		long now = System.nanoTime();
+		if ( currentPhase != null ) {
+			addPhaseTime( currentPhase, now - currentPhaseStart );
+		}
+		currentPhase		= phase;
+		currentPhaseStart	= now;
+	}
+
+	/**
+	 * Stop timing the current phase of the request. Does nothing if no phase is being timed.
+	 */
+	public void endPhase() {
+		if ( currentPhase != null ) {
+			addPhaseTime( currentPhase, System.nanoTime() - currentPhaseStart );
+			currentPhase = null;
+		}
+	}
+
+	/**
+	 * Add time spent in a phase of the request. Phases which run more than once accumulate.
+	 *
+	 * @param phase The phase
+	 * @param nanos The time spent, in nanoseconds
+	 */
+	public void addPhaseTime( Phase phase, long nanos ) {
+		int index = phase.ordinal();
+		phaseTimings[ index ] = phaseTimings[ index ] < 0 ? nanos : phaseTimings[ index ] + nanos;
+	}
+
+	/**
+	 * Get the time spent in each phase of the request so far
+	 *
+	 * @return The nanoseconds spent in each phase, indexed by {@link Phase#ordinal()}. Phases which have not run are -1.
+	 */
+	public long[] getPhaseTimings() {
+		return phaseTimings;
+	}
+
+	private static long[] newPhaseTimings() {
+		long[] timings = new long[ Phase.ALL.length ];
+		Arrays.fill( timings, -1 );
+		return timings;
+	}
+
+	/**
+	 * Get a web runtime setting. Settings live in a <code>web</code> struct which can be declared in the
+	 * application (<code>this.web</code>) or the runtime configuration, with the application winning.
+	 *
+	 * @param defaultValue The value to return if the setting is not found
+	 * @param path         The keys leading to the setting inside the <code>web</code> struct
+	 *
+	 * @return The setting value, or the default value
+	 */
+	public Object getWebSetting( Object defaultValue, Key... path ) {
+		Object value = null;
+		if ( getApplicationListener() != null ) {
+			value = findSetting( getApplicationListener().getSettings().get( KeyDictionary.web ), path );
+		}
+		if ( value == null ) {
+			value = findSetting( getConfig().get( KeyDictionary.web ), path );
+		}
+		return value == null ? defaultValue : value;
+	}
+
+	/**
+	 * Walk a path of keys into nested structs
+	 *
+	 * @param source The struct to start from
+	 * @param path   The keys to follow
+	 *
+	 * @return The value at the end of the path, or null if any part of it is missing
+	 */
+	private static Object findSetting( Object source, Key... path ) {
+		Object current = source;
+		for ( Key key : path ) {
+			if ( ! ( current instanceof IStruct struct ) ) {
+				return null;
+			}
+			current = struct.get( key );
+		}
+		return current;
+	}
+
+	/**
+	 * Drain every output buffer, in order, straight into the given writer.
+	 * Chars are copied out of each buffer through a small fixed-size chunk so no intermediate
+	 * String of the page is ever built, regardless of how large the output is.
+	 *
+	 * @param writer The writer to drain the buffers into
+	 */
+	protected void writeBuffersTo( Writer writer ) {
+		char[] chunk = null;
+		for ( StringBuffer buf : super._getBuffers() ) {
+			synchronized ( buf ) {
+				int length = buf.length();
+				if ( length == 0 ) {
+					continue;
+				}
+				if ( chunk == null || ( chunk.length < length && chunk.length < FLUSH_CHUNK_SIZE ) ) {
+					chunk = new char[ Math.min( length, FLUSH_CHUNK_SIZE ) ];
+				}
+				try {
+					for ( int offset = 0; offset < length; offset += chunk.length ) {
+						int end = Math.min( offset + chunk.length, length );
+						buf.getChars( offset, end, chunk, 0 );
+						writer.write( chunk, 0, end - offset );
+					}
+				} catch ( IOException e ) {
+					throw new BoxIOException( "Unable to write the response output", e );
+				}
+				buf.setLength( 0 );
+			}
+		}
+	}
+
 	/**
 	 * Get the HTTP exchange
 	 *
@@ -613,7 +1190,8 @@ public class WebRequestBoxContext extends RequestBoxContext {
 	 * to clear the cache when requested, and propagate the request to their parent context
 	 */
 	public void clearConfigCache() {
-		configCache = null;
+		configCache			= null;
+		sessionCookiePolicy	= null;
 		super.clearConfigCache();
 	}
 
@@ -627,10 +1205,109 @@ public class WebRequestBoxContext extends RequestBoxContext {
 	}
 
 	/**
-	 * Get cookie scope
+	 * Get the request scope, building it on first use
+	 *
+	 * @return The request scope
+	 */
+	public IScope getRequestScope() {
+		IScope scope = requestScope;
+		if ( scope == null ) {
+			synchronized ( this ) {
+				scope = requestScope;
+				if ( scope == null ) {
+					scope			= new RequestScope( this );
+					requestScope	= scope;
+				}
+			}
+		}
+		return scope;
+	}
+
+	/**
+	 * Tell the request scope that a request attribute was set or removed on the exchange, so its merged view of the
+	 * attributes is rebuilt. Exchanges call this from {@link IBoxHTTPExchange#setRequestAttribute(String, Object)} and
+	 * {@link IBoxHTTPExchange#removeRequestAttribute(String)}.
+	 */
+	public void requestAttributesChanged() {
+		if ( requestScope instanceof RequestScope scope ) {
+			scope.invalidateAttributeKeys();
+		}
+	}
+
+	/**
+	 * Get the URL scope, building it on first use
+	 *
+	 * @return The URL scope
+	 */
+	public IScope getURLScope() {
+		IScope scope = URLScope;
+		if ( scope == null ) {
+			synchronized ( this ) {
+				scope = URLScope;
+				if ( scope == null ) {
+					scope		= new URLScope( this );
+					URLScope	= scope;
+				}
+			}
+		}
+		return scope;
+	}
+
+	/**
+	 * Get the form scope, building it on first use
+	 *
+	 * @return The form scope
+	 */
+	public IScope getFormScope() {
+		IScope scope = formScope;
+		if ( scope == null ) {
+			synchronized ( this ) {
+				scope = formScope;
+				if ( scope == null ) {
+					scope		= new FormScope( this );
+					formScope	= scope;
+				}
+			}
+		}
+		return scope;
+	}
+
+	/**
+	 * Get the CGI scope, building it on first use
+	 *
+	 * @return The CGI scope
+	 */
+	public IScope getCGIScope() {
+		IScope scope = CGIScope;
+		if ( scope == null ) {
+			synchronized ( this ) {
+				scope = CGIScope;
+				if ( scope == null ) {
+					scope		= new CGIScope( this );
+					CGIScope	= scope;
+				}
+			}
+		}
+		return scope;
+	}
+
+	/**
+	 * Get the cookie scope, building it on first use
+	 *
+	 * @return The cookie scope
 	 */
 	public IScope getCookieScope() {
-		return cookieScope;
+		IScope scope = cookieScope;
+		if ( scope == null ) {
+			synchronized ( this ) {
+				scope = cookieScope;
+				if ( scope == null ) {
+					scope		= new CookieScope( this );
+					cookieScope	= scope;
+				}
+			}
+		}
+		return scope;
 	}
 
 	/**
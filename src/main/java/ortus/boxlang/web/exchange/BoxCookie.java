@@ -19,34 +19,37 @@ package ortus.boxlang.web.exchange;
 
 import java.net.URLDecoder;
 import java.net.URLEncoder;
-import java.text.SimpleDateFormat;
 import java.util.Date;
 
 import ortus.boxlang.runtime.BoxRuntime;
 import ortus.boxlang.runtime.logging.BoxLangLogger;
+import ortus.boxlang.web.util.HTTPDateFormat;
 
 public class BoxCookie {
 
-	private final String			name;
+	private final String		name;
 	// This will always contain the NON-encoded value, even if encodeValue is set to true.
 	// The encoded value is returned by getEncodedValue()
-	private String					value;
-	private String					path;
-	private String					domain;
-	private Integer					maxAge;
-	private Date					expires;
-	private boolean					discard;
-	private boolean					secure;
-	private boolean					httpOnly;
-	private int						version				= 1;
-	private String					comment;
-	private boolean					sameSite;
-	private String					sameSiteMode;
-	private boolean					encodeValue;
-
-	private final BoxLangLogger		logger				= BoxRuntime.getInstance().getLoggingService().EXCEPTION_LOGGER;
-
-	private final SimpleDateFormat	expiresDateFormat	= new SimpleDateFormat( "EEE, dd MMM yyyy HH:mm:ss z" );
+	private String				value;
+	private String				path;
+	private String				domain;
+	private Integer				maxAge;
+	private Date				expires;
+	private boolean				discard;
+	private boolean				secure;
+	private boolean				httpOnly;
+	private int					version	= 1;
+	private String				comment;
+	private boolean				sameSite;
+	private String				sameSiteMode;
+	private boolean				encodeValue;
+
+	/**
+	 * The rendered Set-Cookie header, kept until a setter changes the cookie
+	 */
+	private String				renderedHeader;
+
+	private final BoxLangLogger	logger	= BoxRuntime.getInstance().getLoggingService().EXCEPTION_LOGGER;
 
 	public BoxCookie( final String name, final String value ) {
 		this( name, value, true );
@@ -56,7 +59,6 @@ public class BoxCookie {
 		this.name			= name;
 		this.value			= value;
 		this.encodeValue	= encodeValue;
-		expiresDateFormat.setTimeZone( java.util.TimeZone.getTimeZone( "GMT" ) );
 	}
 
 	public BoxCookie( final String name ) {
@@ -92,6 +94,7 @@ public class BoxCookie {
 	 * @return The BoxCookie instance for chaining
 	 */
 	public BoxCookie setValue( final String value ) {
+		this.renderedHeader = null;
 		this.value = value;
 		return this;
 	}
@@ -101,6 +104,7 @@ public class BoxCookie {
 	}
 
 	public BoxCookie setPath( final String path ) {
+		this.renderedHeader = null;
 		this.path = path;
 		return this;
 	}
@@ -110,6 +114,7 @@ public class BoxCookie {
 	}
 
 	public BoxCookie setDomain( final String domain ) {
+		this.renderedHeader = null;
 		this.domain = domain;
 		return this;
 	}
@@ -119,6 +124,7 @@ public class BoxCookie {
 	}
 
 	public BoxCookie setMaxAge( final Integer maxAge ) {
+		this.renderedHeader = null;
 		this.maxAge = maxAge;
 		return this;
 	}
@@ -128,6 +134,7 @@ public class BoxCookie {
 	}
 
 	public BoxCookie setDiscard( final boolean discard ) {
+		this.renderedHeader = null;
 		this.discard = discard;
 		return this;
 	}
@@ -137,6 +144,7 @@ public class BoxCookie {
 	}
 
 	public BoxCookie setSecure( final boolean secure ) {
+		this.renderedHeader = null;
 		this.secure = secure;
 		return this;
 	}
@@ -146,6 +154,7 @@ public class BoxCookie {
 	}
 
 	public BoxCookie setVersion( final int version ) {
+		this.renderedHeader = null;
 		this.version = version;
 		return this;
 	}
@@ -155,6 +164,7 @@ public class BoxCookie {
 	}
 
 	public BoxCookie setHttpOnly( final boolean httpOnly ) {
+		this.renderedHeader = null;
 		this.httpOnly = httpOnly;
 		return this;
 	}
@@ -164,6 +174,7 @@ public class BoxCookie {
 	}
 
 	public BoxCookie setExpires( final Date expires ) {
+		this.renderedHeader = null;
 		this.expires = expires;
 		return this;
 	}
@@ -173,6 +184,7 @@ public class BoxCookie {
 	}
 
 	public BoxCookie setComment( final String comment ) {
+		this.renderedHeader = null;
 		this.comment = comment;
 		return this;
 	}
@@ -182,6 +194,7 @@ public class BoxCookie {
 	}
 
 	public BoxCookie setSameSite( final boolean sameSite ) {
+		this.renderedHeader = null;
 		this.sameSite = sameSite;
 		return this;
 	}
@@ -262,6 +275,18 @@ public class BoxCookie {
 	 * @return A new BoxCookie instance with the name and value set
 	 */
 	public static BoxCookie fromEncoded( String name, String value ) {
+		return new BoxCookie( name, decodeValue( name, value ) );
+	}
+
+	/**
+	 * Decode the value of an incoming cookie. Values which are not valid URL encoding are returned as they were sent.
+	 *
+	 * @param name  The cookie name
+	 * @param value The encoded cookie value
+	 *
+	 * @return The decoded value
+	 */
+	static String decodeValue( String name, String value ) {
 		try {
 			if ( value != null ) {
 				value = URLDecoder.decode( value, java.nio.charset.StandardCharsets.UTF_8 );
@@ -273,15 +298,33 @@ public class BoxCookie {
 			// Ignore, just return the cookie with the encoded value
 			// This cookie may have been set without any encoding, but there's no way to know that.
 		}
-		return new BoxCookie( name, value );
+		return value;
 	}
 
 	/**
-	 * Generate the Set-Cookie header value for this cookie.
+	 * Use a header which was rendered ahead of time, e.g. by {@link SessionCookiePolicy}, instead of building it from
+	 * the attributes. The caller is responsible for the header matching them.
+	 *
+	 * @param header The Set-Cookie header value
+	 *
+	 * @return The BoxCookie instance for chaining
+	 */
+	BoxCookie setRenderedHeader( final String header ) {
+		this.renderedHeader = header;
+		return this;
+	}
+
+	/**
+	 * Generate the Set-Cookie header value for this cookie. The header is only built once, until one of the setters
+	 * changes the cookie.
 	 *
 	 * @return A string representing the Set-Cookie header value.
 	 */
 	public String toSetCookieHeader() {
+		String rendered = renderedHeader;
+		if ( rendered != null ) {
+			return rendered;
+		}
 		StringBuilder header = new StringBuilder();
 
 		// Add the cookie name and value
@@ -304,7 +347,7 @@ public class BoxCookie {
 
 		// Add the Expires attribute if set
 		if ( getExpires() != null ) {
-			header.append( "Expires=" ).append( expiresDateFormat.format( getExpires() ) ).append( "; " );
+			header.append( "Expires=" ).append( HTTPDateFormat.format( getExpires() ) ).append( "; " );
 		}
 
 		// Add the Secure attribute if set
@@ -327,6 +370,8 @@ public class BoxCookie {
 			header.setLength( header.length() - 2 );
 		}
 
-		return header.toString();
+		rendered		= header.toString();
+		renderedHeader	= rendered;
+		return rendered;
 	}
 }
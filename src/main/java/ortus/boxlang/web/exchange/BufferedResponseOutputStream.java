@@ -0,0 +1,52 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.web.exchange;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * The default response output stream of an exchange. The body is collected in memory and handed to
+ * {@link IBoxHTTPExchange#sendResponseBinary(byte[])} in a single call when the stream is closed, since that call
+ * replaces any body sent before it. Exchanges which can write to the client as the body is produced override
+ * {@link IBoxHTTPExchange#getResponseOutputStream()} instead.
+ */
+final class BufferedResponseOutputStream extends ByteArrayOutputStream {
+
+	private final IBoxHTTPExchange	exchange;
+
+	private boolean					closed	= false;
+
+	/**
+	 * Constructor
+	 *
+	 * @param exchange The exchange to send the body with
+	 */
+	BufferedResponseOutputStream( IBoxHTTPExchange exchange ) {
+		super( 8192 );
+		this.exchange = exchange;
+	}
+
+	@Override
+	public void close() {
+		if ( !closed ) {
+			closed = true;
+			// Hand over the buffer itself when it is exactly full, rather than copying it
+			exchange.sendResponseBinary( count == buf.length ? buf : toByteArray() );
+		}
+	}
+}
@@ -18,8 +18,12 @@
 package ortus.boxlang.web.exchange;
 
 import java.io.File;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.security.Principal;
 import java.util.Collections;
 import java.util.Enumeration;
@@ -224,6 +228,27 @@ public class DetachedHTTPExchange implements IBoxHTTPExchange {
 		// No-op: Cannot send file on a detached exchange
 	}
 
+	@Override
+	public OutputStream getResponseOutputStream() {
+		// Discard: Cannot write to the response on a detached exchange
+		return OutputStream.nullOutputStream();
+	}
+
+	@Override
+	public void writeResponse( ByteBuffer buffer ) {
+		// No-op: Cannot send data on a detached exchange
+	}
+
+	@Override
+	public void sendResponseStream( InputStream stream, long length ) {
+		// No-op: Cannot send a stream on a detached exchange
+	}
+
+	@Override
+	public void sendResponseFile( FileChannel channel, long position, long count ) {
+		// No-op: Cannot send a file on a detached exchange
+	}
+
 	@Override
 	public void flushResponseBuffer() {
 		// No-op: Cannot flush buffer on a detached exchange
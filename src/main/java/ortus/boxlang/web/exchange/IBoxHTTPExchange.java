@@ -17,14 +17,27 @@
  */
 package ortus.boxlang.web.exchange;
 
+import java.io.EOFException;
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.Enumeration;
 import java.util.Locale;
 import java.util.Map;
 
 import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.exceptions.BoxIOException;
 import ortus.boxlang.web.WebRequestExecutor;
 import ortus.boxlang.web.context.WebRequestBoxContext;
 
@@ -119,6 +132,17 @@ public interface IBoxHTTPExchange {
 	 */
 	public BoxCookie getRequestCookie( String name );
 
+	/**
+	 * Whether the cookie scope should be built by parsing the raw <code>Cookie</code> header with the
+	 * {@link RequestCookieJar} instead of reading {@link #getRequestCookies()}, so cookie values are only decoded when
+	 * they are read. Exchanges whose container decodes every cookie up front can opt in to skip it.
+	 *
+	 * @return true to parse the Cookie header directly
+	 */
+	default boolean useCookieHeaderParser() {
+		return false;
+	}
+
 	/**
 	 * Returns a map of HTTP request headers where the keys are header names and the values are arrays of header values.
 	 */
@@ -236,6 +260,17 @@ public interface IBoxHTTPExchange {
 	 */
 	public Map<String, String[]> getRequestURLMap();
 
+	/**
+	 * Whether the URL scope should be built by parsing {@link #getRequestQueryString()} with the
+	 * {@link QueryStringParser} instead of reading {@link #getRequestURLMap()}. Exchanges whose container builds the
+	 * parameter map on demand can opt in to skip it.
+	 *
+	 * @return true to parse the query string directly
+	 */
+	default boolean useQueryStringParser() {
+		return false;
+	}
+
 	/**
 	 * Returns the name and version of the protocol the request uses in the form <i>protocol/majorVersion.minorVersion</i>,
 	 * for example, HTTP/1.1.
@@ -286,7 +321,7 @@ public interface IBoxHTTPExchange {
 
 	/**
 	 * Stores an attribute in this request. Attributes are reset between requests.
-	 *
+	 * Implementations should call {@link WebRequestBoxContext#requestAttributesChanged()} once the attribute is stored.
 	 */
 	public void setRequestAttribute( String name, Object o );
 
@@ -294,6 +329,7 @@ public interface IBoxHTTPExchange {
 	 *
 	 * Removes an attribute from this request. This method is not generally needed as attributes only persist as long as the
 	 * request is being handled.
+	 * Implementations should call {@link WebRequestBoxContext#requestAttributesChanged()} once the attribute is removed.
 	 */
 	public void removeRequestAttribute( String name );
 
@@ -430,6 +466,155 @@ public interface IBoxHTTPExchange {
 	 */
 	public void sendResponseFile( File file );
 
+	/**
+	 * Returns an <code>OutputStream</code> for writing binary data as the response body. Either this or
+	 * {@link #getResponseWriter()} may be used for a response, but not both.
+	 *
+	 * The default implementation collects the whole body and sends it with a single
+	 * {@link #sendResponseBinary(byte[])} call when the stream is closed, so existing exchanges keep working. Exchanges
+	 * should override this to write to the client as the body is produced.
+	 *
+	 * @return The response output stream, which the caller must close
+	 */
+	default OutputStream getResponseOutputStream() {
+		return new BufferedResponseOutputStream( this );
+	}
+
+	/**
+	 * Send the remaining bytes of a buffer as the response body. The buffer's position is not changed.
+	 *
+	 * The default implementation hands a heap buffer's array straight to {@link #sendResponseBinary(byte[])} when the
+	 * buffer covers all of it, and writes the remaining bytes through {@link #getResponseOutputStream()} otherwise.
+	 *
+	 * @param buffer The bytes to send
+	 */
+	default void writeResponse( ByteBuffer buffer ) {
+		if ( buffer.hasArray() && buffer.arrayOffset() == 0 && buffer.position() == 0 && buffer.limit() == buffer.array().length ) {
+			sendResponseBinary( buffer.array() );
+			return;
+		}
+		try ( OutputStream out = getResponseOutputStream() ) {
+			Channels.newChannel( out ).write( buffer.duplicate() );
+		} catch ( IOException e ) {
+			throw new BoxIOException( "Unable to write the response", e );
+		}
+	}
+
+	/**
+	 * Send text as the response body, encoded with {@link #getResponseCharset()}.
+	 *
+	 * The default implementation encodes the text a few KB at a time into {@link #getResponseOutputStream()}, so an
+	 * exchange which streams its output never holds the encoded body in memory as a whole.
+	 *
+	 * @param text The text to send
+	 */
+	default void writeResponse( CharSequence text ) {
+		try ( Writer writer = new OutputStreamWriter( getResponseOutputStream(), getResponseCharset() ) ) {
+			writer.append( text );
+		} catch ( IOException e ) {
+			throw new BoxIOException( "Unable to write the response", e );
+		}
+	}
+
+	/**
+	 * Send the contents of a stream as the response body. The caller closes the stream.
+	 *
+	 * The default implementation copies the stream into {@link #getResponseOutputStream()} a few KB at a time. Exchanges
+	 * should override this to copy the stream straight to the client, setting the Content-Length when the length is
+	 * known.
+	 *
+	 * @param stream The stream to send
+	 * @param length The number of bytes to send, or -1 to send everything up to the end of the stream
+	 */
+	default void sendResponseStream( InputStream stream, long length ) {
+		try ( OutputStream out = getResponseOutputStream() ) {
+			if ( length < 0 ) {
+				stream.transferTo( out );
+				return;
+			}
+			byte[]	buffer		= new byte[ 8192 ];
+			long	remaining	= length;
+			while ( remaining > 0 ) {
+				int read = stream.read( buffer, 0, ( int ) Math.min( buffer.length, remaining ) );
+				if ( read == -1 ) {
+					break;
+				}
+				out.write( buffer, 0, read );
+				remaining -= read;
+			}
+		} catch ( IOException e ) {
+			throw new BoxIOException( "Unable to send the response stream", e );
+		}
+	}
+
+	/**
+	 * Send part of a file as the response body. The caller closes the channel.
+	 *
+	 * The default implementation transfers the region into {@link #getResponseOutputStream()} with
+	 * {@link FileChannel#transferTo(long, long, WritableByteChannel)}, a chunk at a time. Exchanges should override this to transfer the
+	 * region straight to the client's socket, which lets the operating system send it without copying it through the
+	 * JVM.
+	 *
+	 * @param channel  The file to send
+	 * @param position The first byte to send
+	 * @param count    The number of bytes to send
+	 */
+	default void sendResponseFile( FileChannel channel, long position, long count ) {
+		try ( OutputStream out = getResponseOutputStream() ) {
+			transferFile( channel, position, count, Channels.newChannel( out ) );
+		} catch ( IOException e ) {
+			throw new BoxIOException( "Unable to send the response file", e );
+		}
+	}
+
+	/**
+	 * Transfer a region of a file to a channel, looping until all of it is written
+	 *
+	 * @param channel  The file to send
+	 * @param position The first byte to send
+	 * @param count    The number of bytes to send
+	 * @param target   The channel to write to
+	 *
+	 * @throws IOException If the file cannot be read, ends before the region does, or the target cannot be written
+	 */
+	static void transferFile( FileChannel channel, long position, long count, WritableByteChannel target ) throws IOException {
+		long sent = 0;
+		while ( sent < count ) {
+			long transferred = channel.transferTo( position + sent, count - sent, target );
+			if ( transferred <= 0 ) {
+				throw new EOFException( "The file ended " + ( count - sent ) + " bytes before the end of the range" );
+			}
+			sent += transferred;
+		}
+	}
+
+	/**
+	 * Get the character encoding for text sent with the byte-oriented response methods, from the charset of the
+	 * response content type.
+	 *
+	 * @return The charset of the response content type, or UTF-8 if it has none or it is not supported
+	 */
+	default Charset getResponseCharset() {
+		String contentType = getResponseHeader( WebRequestExecutor.CONTENT_TYPE_HEADER );
+		if ( contentType != null ) {
+			int charset = contentType.toLowerCase( Locale.ROOT ).indexOf( "charset=" );
+			if ( charset != -1 ) {
+				String	name	= contentType.substring( charset + 8 ).trim();
+				int		end		= name.indexOf( ';' );
+				if ( end != -1 ) {
+					name = name.substring( 0, end ).trim();
+				}
+				name = name.replace( "\"", "" );
+				try {
+					return Charset.forName( name );
+				} catch ( IllegalArgumentException e ) {
+					// Unknown or illegal charset name, fall through to the default
+				}
+			}
+		}
+		return StandardCharsets.UTF_8;
+	}
+
 	/**
 	 * Forces any content in the buffer to be written to the client. A call to this method automatically commits the
 	 * response, meaning the status code and headers will be written.
@@ -0,0 +1,159 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.web.exchange;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * A single pass parser for <code>application/x-www-form-urlencoded</code> query strings.
+ *
+ * Exchanges which opt in through {@link IBoxHTTPExchange#useQueryStringParser()} have their URL scope built straight
+ * from {@link IBoxHTTPExchange#getRequestQueryString()}, without the container building a
+ * <code>Map&lt;String, String[]&gt;</code> first. Only names and values which contain a <code>%</code> or a
+ * <code>+</code> are decoded, the rest are plain substrings of the query string.
+ *
+ * The number of parameters and the length of the query string which is parsed are capped, so a client cannot make a
+ * request fill the URL scope with enough colliding keys to degrade it. Parameters past either limit are ignored.
+ */
+public final class QueryStringParser {
+
+	/**
+	 * The most parameters parsed from a query string, the same as Tomcat's and Undertow's defaults
+	 */
+	public static final int					DEFAULT_MAX_PARAMETERS	= 1000;
+
+	/**
+	 * The longest query string parsed, in chars
+	 */
+	public static final int					DEFAULT_MAX_LENGTH		= 64 * 1024;
+
+	/**
+	 * A parser with the default limits
+	 */
+	public static final QueryStringParser	DEFAULT					= new QueryStringParser( DEFAULT_MAX_PARAMETERS, DEFAULT_MAX_LENGTH );
+
+	private final int						maxParameters;
+	private final int						maxLength;
+
+	/**
+	 * Constructor
+	 *
+	 * @param maxParameters The most parameters to parse
+	 * @param maxLength     The longest query string to parse, in chars. Parameters which run past it are ignored.
+	 */
+	public QueryStringParser( int maxParameters, int maxLength ) {
+		this.maxParameters	= maxParameters;
+		this.maxLength		= maxLength;
+	}
+
+	/**
+	 * Parse a query string, passing each parameter to the consumer in the order they appear. A parameter without an
+	 * <code>=</code> has an empty value and parameters with an empty name are skipped.
+	 *
+	 * @param queryString The query string, without the leading <code>?</code>. May be null.
+	 * @param consumer    Receives the decoded name and value of each parameter
+	 *
+	 * @return The number of parameters parsed
+	 */
+	public int parse( String queryString, BiConsumer<String, String> consumer ) {
+		if ( queryString == null || queryString.isEmpty() ) {
+			return 0;
+		}
+		int		length			= queryString.length();
+		int		count			= 0;
+		int		start			= 0;
+		int		equals			= -1;
+		boolean	nameEncoded		= false;
+		boolean	valueEncoded	= false;
+
+		for ( int i = 0; i <= length && count < maxParameters; i++ ) {
+			char c = i < length ? queryString.charAt( i ) : '&';
+			if ( c == '&' ) {
+				if ( i > maxLength ) {
+					break;
+				}
+				int nameEnd = equals < 0 ? i : equals;
+				if ( nameEnd > start ) {
+					String	name	= decode( queryString, start, nameEnd, nameEncoded );
+					String	value	= equals < 0 ? "" : decode( queryString, equals + 1, i, valueEncoded );
+					consumer.accept( name, value );
+					count++;
+				}
+				start			= i + 1;
+				equals			= -1;
+				nameEncoded		= false;
+				valueEncoded	= false;
+			} else if ( c == '=' && equals < 0 ) {
+				equals = i;
+			} else if ( c == '%' || c == '+' ) {
+				if ( equals < 0 ) {
+					nameEncoded = true;
+				} else {
+					valueEncoded = true;
+				}
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Parse a query string into a map of parameter names to their values, for exchanges which need to provide
+	 * {@link IBoxHTTPExchange#getRequestURLMap()} themselves
+	 *
+	 * @param queryString The query string, without the leading <code>?</code>. May be null.
+	 *
+	 * @return The parameters, in the order they first appear
+	 */
+	public Map<String, String[]> parseToMap( String queryString ) {
+		Map<String, List<String>> parameters = new LinkedHashMap<>();
+		parse( queryString, ( name, value ) -> parameters.computeIfAbsent( name, k -> new ArrayList<>( 1 ) ).add( value ) );
+
+		Map<String, String[]> result = new LinkedHashMap<>( parameters.size() * 2 );
+		parameters.forEach( ( name, values ) -> result.put( name, values.toArray( String[]::new ) ) );
+		return result;
+	}
+
+	/**
+	 * Take a segment of the query string, decoding it only if it has escapes
+	 *
+	 * @param queryString The query string
+	 * @param start       The start of the segment
+	 * @param end         The end of the segment, exclusive
+	 * @param encoded     Whether the segment contains a <code>%</code> or a <code>+</code>
+	 *
+	 * @return The decoded segment
+	 */
+	private static String decode( String queryString, int start, int end, boolean encoded ) {
+		String segment = queryString.substring( start, end );
+		if ( !encoded ) {
+			return segment;
+		}
+		try {
+			return URLDecoder.decode( segment, StandardCharsets.UTF_8 );
+		} catch ( IllegalArgumentException e ) {
+			// Malformed escapes are kept as they were sent, as the servlet containers do
+			return segment;
+		}
+	}
+}
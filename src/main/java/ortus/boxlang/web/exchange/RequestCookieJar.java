@@ -0,0 +1,186 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.web.exchange;
+
+import java.util.Arrays;
+
+/**
+ * The cookies of a request, parsed from the raw <code>Cookie</code> header in a single pass.
+ *
+ * Names and encoded values are kept as substrings of the header. A value is only URL decoded the first time it is
+ * read, so a request carrying dozens of analytics cookies only pays for the ones the application uses. Exchanges opt
+ * in through {@link IBoxHTTPExchange#useCookieHeaderParser()}.
+ */
+public class RequestCookieJar {
+
+	/**
+	 * A jar without cookies
+	 */
+	public static final RequestCookieJar	EMPTY	= new RequestCookieJar( new String[ 0 ], new String[ 0 ], 0 );
+
+	private final String[]					names;
+	private final String[]					encodedValues;
+	private final String[]					values;
+	private final int						size;
+
+	private RequestCookieJar( String[] names, String[] encodedValues, int size ) {
+		this.names			= names;
+		this.encodedValues	= encodedValues;
+		this.values			= new String[ size ];
+		this.size			= size;
+	}
+
+	/**
+	 * Parse a <code>Cookie</code> header, e.g. <code>a=1; b="two"; c=%C3%A9</code>. Pairs without a name or an
+	 * <code>=</code> are skipped and quotes around a value are removed.
+	 *
+	 * @param header The header value. May be null.
+	 *
+	 * @return The cookies
+	 */
+	public static RequestCookieJar parse( String header ) {
+		if ( header == null || header.isEmpty() ) {
+			return EMPTY;
+		}
+		int			length			= header.length();
+		String[]	names			= new String[ 8 ];
+		String[]	encodedValues	= new String[ 8 ];
+		int			size			= 0;
+		int			start			= 0;
+
+		while ( start < length ) {
+			int	end		= start;
+			int	equals	= -1;
+			while ( end < length && header.charAt( end ) != ';' ) {
+				if ( equals < 0 && header.charAt( end ) == '=' ) {
+					equals = end;
+				}
+				end++;
+			}
+			if ( equals >= 0 ) {
+				int	nameStart	= skipSpaces( header, start, equals );
+				int	nameEnd		= trimSpaces( header, nameStart, equals );
+				int	valueStart	= skipSpaces( header, equals + 1, end );
+				int	valueEnd	= trimSpaces( header, valueStart, end );
+				if ( valueEnd - valueStart >= 2 && header.charAt( valueStart ) == '"' && header.charAt( valueEnd - 1 ) == '"' ) {
+					valueStart++;
+					valueEnd--;
+				}
+				if ( nameEnd > nameStart ) {
+					if ( size == names.length ) {
+						names			= Arrays.copyOf( names, size * 2 );
+						encodedValues	= Arrays.copyOf( encodedValues, size * 2 );
+					}
+					names[ size ]			= header.substring( nameStart, nameEnd );
+					encodedValues[ size ]	= header.substring( valueStart, valueEnd );
+					size++;
+				}
+			}
+			start = end + 1;
+		}
+		return new RequestCookieJar( names, encodedValues, size );
+	}
+
+	/**
+	 * Get the number of cookies
+	 *
+	 * @return The number of cookies
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Get the name of a cookie
+	 *
+	 * @param index The position of the cookie in the header
+	 *
+	 * @return The cookie name
+	 */
+	public String getName( int index ) {
+		return names[ index ];
+	}
+
+	/**
+	 * Get the decoded value of a cookie, decoding it the first time it is read
+	 *
+	 * @param index The position of the cookie in the header
+	 *
+	 * @return The decoded value
+	 */
+	public String getValue( int index ) {
+		String value = values[ index ];
+		if ( value == null ) {
+			value			= decode( index );
+			values[ index ]	= value;
+		}
+		return value;
+	}
+
+	/**
+	 * Find a cookie by name, ignoring case. When a name is sent more than once the last one wins, the same as when the
+	 * cookies are copied into a struct in order.
+	 *
+	 * @param name The cookie name
+	 *
+	 * @return The position of the cookie, or -1 if there is none
+	 */
+	public int indexOf( String name ) {
+		for ( int i = size - 1; i >= 0; i-- ) {
+			if ( names[ i ].equalsIgnoreCase( name ) ) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Decode every cookie, for exchanges which need to provide {@link IBoxHTTPExchange#getRequestCookies()}
+	 *
+	 * @return The cookies, in the order they were sent
+	 */
+	public BoxCookie[] toCookies() {
+		BoxCookie[] cookies = new BoxCookie[ size ];
+		for ( int i = 0; i < size; i++ ) {
+			cookies[ i ] = new BoxCookie( names[ i ], getValue( i ) );
+		}
+		return cookies;
+	}
+
+	private String decode( int index ) {
+		String encoded = encodedValues[ index ];
+		if ( encoded.indexOf( '%' ) < 0 && encoded.indexOf( '+' ) < 0 ) {
+			return encoded;
+		}
+		return BoxCookie.decodeValue( names[ index ], encoded );
+	}
+
+	private static int skipSpaces( String header, int from, int to ) {
+		while ( from < to && header.charAt( from ) == ' ' ) {
+			from++;
+		}
+		return from;
+	}
+
+	private static int trimSpaces( String header, int from, int to ) {
+		while ( to > from && header.charAt( to - 1 ) == ' ' ) {
+			to--;
+		}
+		return to;
+	}
+}
@@ -0,0 +1,108 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.web.exchange;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The cookies set on a response, held by the request until the response is committed.
+ *
+ * Cookies are kept in the order they were first added. A cookie which is set again with the same name, path and domain
+ * ({@link BoxCookie#equals(Object)}) replaces the earlier one in place, so a cookie written several times in a request
+ * is sent once with its last value. A response rarely has more than a handful of cookies, so they are kept in a list.
+ */
+public class ResponseCookieJar {
+
+	private final List<BoxCookie> cookies = new ArrayList<>( 4 );
+
+	/**
+	 * Add a cookie, even if an equal one is already in the jar
+	 *
+	 * @param cookie The cookie
+	 */
+	public synchronized void add( BoxCookie cookie ) {
+		cookies.add( cookie );
+	}
+
+	/**
+	 * Set a cookie, replacing the last one added with the same name, path and domain
+	 *
+	 * @param cookie The cookie
+	 *
+	 * @return The cookie which was replaced, or null if there was none
+	 */
+	public synchronized BoxCookie put( BoxCookie cookie ) {
+		for ( int i = cookies.size() - 1; i >= 0; i-- ) {
+			if ( cookies.get( i ).equals( cookie ) ) {
+				return cookies.set( i, cookie );
+			}
+		}
+		cookies.add( cookie );
+		return null;
+	}
+
+	/**
+	 * Get the cookies in the jar
+	 *
+	 * @return The cookies, in the order they were first added
+	 */
+	public synchronized BoxCookie[] toArray() {
+		return cookies.toArray( new BoxCookie[ 0 ] );
+	}
+
+	/**
+	 * Remove every cookie from the jar
+	 *
+	 * @return The cookies which were removed, in the order they were first added
+	 */
+	public synchronized BoxCookie[] drain() {
+		BoxCookie[] drained = toArray();
+		cookies.clear();
+		return drained;
+	}
+
+	/**
+	 * Get the Set-Cookie header values for the cookies in the jar
+	 *
+	 * @return One header value per cookie
+	 */
+	public synchronized List<String> toSetCookieHeaders() {
+		List<String> headers = new ArrayList<>( cookies.size() );
+		for ( BoxCookie cookie : cookies ) {
+			headers.add( cookie.toSetCookieHeader() );
+		}
+		return headers;
+	}
+
+	/**
+	 * Get the number of cookies in the jar
+	 *
+	 * @return The count
+	 */
+	public synchronized int size() {
+		return cookies.size();
+	}
+
+	/**
+	 * Remove every cookie
+	 */
+	public synchronized void clear() {
+		cookies.clear();
+	}
+}
@@ -0,0 +1,218 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.web.exchange;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.web.util.HTTPDateFormat;
+import ortus.boxlang.web.util.ISessionIDGenerator;
+
+/**
+ * The fixed attributes of an application's session cookie, with the Set-Cookie header pre-rendered around the two
+ * parts which change from one cookie to the next: the session ID and the expiry.
+ *
+ * Policies are immutable and are kept for each application by the request context, so once an application is warm
+ * issuing its session cookie is a few string appends rather than casting every setting and rebuilding the header
+ * attribute by attribute.
+ */
+public final class SessionCookiePolicy {
+
+	/**
+	 * How much of the session cookie's lifetime has to pass before it is sent again, when the application does not say
+	 */
+	public static final double			DEFAULT_REISSUE_FRACTION	= 0.5;
+
+	/**
+	 * A cookie with every fixed attribute set, which issued cookies are copied from
+	 */
+	private final BoxCookie				template;
+
+	/**
+	 * Everything before the value, e.g. <code>jsessionid=</code>
+	 */
+	private final String				prefix;
+
+	/**
+	 * Everything between the value and the expiry, e.g. <code>; Path=/; Domain=example.com</code>
+	 */
+	private final String				attributes;
+
+	/**
+	 * Everything after the expiry, e.g. <code>; Secure; HttpOnly; SameSite=Lax</code>
+	 */
+	private final String				suffix;
+
+	/**
+	 * How much of the cookie's lifetime has to pass before it is sent again for an existing session, from 0 to 1
+	 */
+	private final double				reissueFraction;
+
+	/**
+	 * Creates the IDs of new sessions
+	 */
+	private final ISessionIDGenerator	idGenerator;
+
+	/**
+	 * Build the policy for a set of session cookie settings, loading any generator class from the runtime's class path
+	 *
+	 * @param name            The cookie name
+	 * @param httpOnly        The <code>httpOnly</code> setting, or null to leave it off
+	 * @param secure          The <code>secure</code> setting, or null to leave it off
+	 * @param domain          The <code>domain</code> setting, or null for none
+	 * @param sameSite        The <code>sameSite</code> setting, or null for none
+	 * @param reissueFraction The <code>reissueFraction</code> setting. Zero sends the cookie on every response.
+	 * @param idGenerator     The <code>idGenerator</code> setting, see {@link ISessionIDGenerator#of(String, int)}
+	 * @param idBytes         The <code>idBytes</code> setting
+	 */
+	public SessionCookiePolicy( String name, Boolean httpOnly, Boolean secure, String domain, String sameSite, double reissueFraction,
+	    String idGenerator, int idBytes ) {
+		this( BoxRuntime.getInstance().getRuntimeContext(), name, httpOnly, secure, domain, sameSite, reissueFraction, idGenerator, idBytes );
+	}
+
+	/**
+	 * Build the policy for a set of session cookie settings
+	 *
+	 * @param context         The context of the application, which any generator class is loaded through
+	 * @param name            The cookie name
+	 * @param httpOnly        The <code>httpOnly</code> setting, or null to leave it off
+	 * @param secure          The <code>secure</code> setting, or null to leave it off
+	 * @param domain          The <code>domain</code> setting, or null for none
+	 * @param sameSite        The <code>sameSite</code> setting, or null for none
+	 * @param reissueFraction The <code>reissueFraction</code> setting. Zero sends the cookie on every response.
+	 * @param idGenerator     The <code>idGenerator</code> setting, see {@link ISessionIDGenerator#of(IBoxContext, String, int)}
+	 * @param idBytes         The <code>idBytes</code> setting
+	 */
+	public SessionCookiePolicy( IBoxContext context, String name, Boolean httpOnly, Boolean secure, String domain, String sameSite,
+	    double reissueFraction, String idGenerator, int idBytes ) {
+		BoxCookie cookie = new BoxCookie( name ).setPath( "/" );
+		if ( httpOnly != null ) {
+			cookie.setHttpOnly( httpOnly );
+		}
+		if ( secure != null ) {
+			cookie.setSecure( secure );
+		}
+		if ( domain != null ) {
+			cookie.setDomain( domain );
+		}
+		cookie.setSameSiteMode( sameSite );
+		this.template	= cookie;
+		this.prefix		= cookie.getName() + "=";
+
+		StringBuilder header = new StringBuilder( "; Path=" ).append( cookie.getPath() );
+		if ( cookie.getDomain() != null ) {
+			header.append( "; Domain=" ).append( cookie.getDomain() );
+		}
+		this.attributes = header.toString();
+
+		header.setLength( 0 );
+		if ( cookie.isSecure() ) {
+			header.append( "; Secure" );
+		}
+		if ( cookie.isHttpOnly() ) {
+			header.append( "; HttpOnly" );
+		}
+		if ( cookie.isSameSite() && cookie.getSameSiteMode() != null ) {
+			header.append( "; SameSite=" ).append( cookie.getSameSiteMode() );
+		}
+		this.suffix				= header.toString();
+		this.reissueFraction	= Math.max( 0, Math.min( 1, reissueFraction ) );
+		this.idGenerator		= ISessionIDGenerator.of( context, idGenerator, idBytes );
+	}
+
+	/**
+	 * Get the session cookie name
+	 *
+	 * @return The cookie name
+	 */
+	public String getName() {
+		return template.getName();
+	}
+
+	/**
+	 * Get how much of the cookie's lifetime has to pass before it is sent again for an existing session
+	 *
+	 * @return The fraction, from 0 to 1
+	 */
+	public double getReissueFraction() {
+		return reissueFraction;
+	}
+
+	/**
+	 * Create the ID for a new session
+	 *
+	 * @return The session ID
+	 */
+	public String newSessionID() {
+		return idGenerator.generate();
+	}
+
+	/**
+	 * Issue a session cookie. The cookie carries its pre-rendered Set-Cookie header, which is dropped if any of its
+	 * attributes are changed afterwards.
+	 *
+	 * @param sessionID The session ID
+	 * @param maxAge    The max age in seconds, or null to use the expiry
+	 * @param expires   The expiry, used when there is no max age
+	 *
+	 * @return A new cookie
+	 */
+	public BoxCookie newCookie( String sessionID, Integer maxAge, Date expires ) {
+		BoxCookie cookie = new BoxCookie( template.getName(), sessionID )
+		    .setPath( template.getPath() )
+		    .setDomain( template.getDomain() )
+		    .setSecure( template.isSecure() )
+		    .setHttpOnly( template.isHttpOnly() )
+		    .setSameSite( template.isSameSite() );
+		if ( template.getSameSiteMode() != null ) {
+			cookie.setSameSiteMode( template.getSameSiteMode() );
+		}
+		if ( maxAge != null ) {
+			cookie.setMaxAge( maxAge );
+		} else {
+			cookie.setExpires( expires );
+		}
+		return cookie.setRenderedHeader( toSetCookieHeader( sessionID, maxAge, expires ) );
+	}
+
+	/**
+	 * Render the Set-Cookie header for a session cookie. The result is the same as {@link BoxCookie#toSetCookieHeader()}
+	 * for a cookie issued by {@link #newCookie(String, Integer, Date)}.
+	 *
+	 * @param sessionID The session ID
+	 * @param maxAge    The max age in seconds, or null to use the expiry
+	 * @param expires   The expiry, used when there is no max age
+	 *
+	 * @return The Set-Cookie header value
+	 */
+	public String toSetCookieHeader( String sessionID, Integer maxAge, Date expires ) {
+		StringBuilder header = new StringBuilder( prefix.length() + sessionID.length() + attributes.length() + suffix.length() + 48 )
+		    .append( prefix )
+		    .append( URLEncoder.encode( sessionID, StandardCharsets.UTF_8 ) )
+		    .append( attributes );
+		if ( maxAge != null ) {
+			header.append( "; Max-Age=" ).append( maxAge );
+		} else if ( expires != null ) {
+			header.append( "; Expires=" ).append( HTTPDateFormat.format( expires ) );
+		}
+		return header.append( suffix ).toString();
+	}
+}
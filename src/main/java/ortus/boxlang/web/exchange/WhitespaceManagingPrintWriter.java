@@ -49,15 +49,85 @@ public class WhitespaceManagingPrintWriter extends PrintWriter {
 
 	@Override
 	public void write( char[] buf, int off, int len ) {
-		for ( int i = off; i < off + len; i++ ) {
-			processChar( buf[ i ] );
-		}
+		processChars( buf, null, off, off + len );
 	}
 
 	@Override
 	public void write( String s, int off, int len ) {
-		for ( int i = off; i < off + len; i++ ) {
-			processChar( s.charAt( i ) );
+		processChars( null, s, off, off + len );
+	}
+
+	/**
+	 * Bulk version of processChar(). Exactly one of buf or str is provided.
+	 * Runs of content that can't change the state machine (non-whitespace text outside of a tag,
+	 * or anything but a tag inside of a preserved block) are scanned ahead and copied to the
+	 * underlying writer in a single call. Tags and whitespace still go through processChar() one
+	 * char at a time, so the output is identical to feeding every char through processChar().
+	 *
+	 * @param buf   The char array to process, or null
+	 * @param str   The string to process, or null
+	 * @param start The index of the first char to process
+	 * @param end   The index after the last char to process
+	 */
+	private void processChars( char[] buf, String str, int start, int end ) {
+		if ( !enable ) {
+			writeRaw( buf, str, start, end - start );
+			return;
+		}
+
+		int i = start;
+		while ( i < end ) {
+			char ch = charAt( buf, str, i );
+			if ( inTag || ch == '<' || ( !preserveWhitespace && Character.isWhitespace( ch ) ) ) {
+				processChar( ch );
+				i++;
+				continue;
+			}
+
+			// Scan ahead to the next boundary
+			int		runStart	= i;
+			boolean	hasContent	= false;
+			if ( preserveWhitespace ) {
+				while ( i < end && ( ch = charAt( buf, str, i ) ) != '<' ) {
+					hasContent = hasContent || !Character.isWhitespace( ch );
+					i++;
+				}
+				flushDeferredLineBreak();
+				flushPendingWhitespace( true );
+			} else {
+				while ( i < end && ( ch = charAt( buf, str, i ) ) != '<' && !Character.isWhitespace( ch ) ) {
+					i++;
+				}
+				hasContent = true;
+				flushDeferredLineBreak();
+				flushPendingWhitespace();
+			}
+
+			// Write the run and leave the state as writeDirect() would have for its last char
+			writeRaw( buf, str, runStart, i - runStart );
+			char last = charAt( buf, str, i - 1 );
+			if ( hasContent ) {
+				responseHasContent = true;
+			}
+			if ( last == '\r' || last == '\n' ) {
+				lineHasContent			= false;
+				lastOutputWasLineBreak	= true;
+			} else {
+				lineHasContent			= true;
+				lastOutputWasLineBreak	= false;
+			}
+		}
+	}
+
+	private static char charAt( char[] buf, String str, int index ) {
+		return buf != null ? buf[ index ] : str.charAt( index );
+	}
+
+	private void writeRaw( char[] buf, String str, int off, int len ) {
+		if ( buf != null ) {
+			super.write( buf, off, len );
+		} else {
+			super.write( str, off, len );
 		}
 	}
 
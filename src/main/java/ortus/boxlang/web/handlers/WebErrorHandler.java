@@ -61,8 +61,11 @@ public class WebErrorHandler {
 	public static void handleError( Throwable e, IBoxHTTPExchange exchange, WebRequestBoxContext context, FRTransService frTransService, DynamicObject trans ) {
 		try {
 			logger.error( e.getMessage(), e );
-			// Return 500 status code
-			exchange.setResponseStatus( 500 );
+			// Return 500 status code, unless the page has already been streamed to the client. The error page is
+			// then written inline, after the output which was sent.
+			if ( context == null || context.canChangeResponseHeaders( "the 500 status code for this error" ) ) {
+				exchange.setResponseStatus( 500 );
+			}
 
 			if ( frTransService != null ) {
 				if ( e instanceof Exception ee ) {
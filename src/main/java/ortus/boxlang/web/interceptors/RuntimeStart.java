@@ -6,6 +6,7 @@ import ortus.boxlang.runtime.events.InterceptionPoint;
 import ortus.boxlang.runtime.scopes.Key;
 import ortus.boxlang.runtime.types.IStruct;
 import ortus.boxlang.web.bifs.FileUpload;
+import ortus.boxlang.web.util.HostIdentity;
 
 public class RuntimeStart extends BaseInterceptor {
 
@@ -16,6 +17,8 @@ public class RuntimeStart extends BaseInterceptor {
 		if ( BoxRuntime.getInstance().getModuleService().getModuleNames().contains( COMPAT_MODULE_NAME ) ) {
 			FileUpload.allowPrefixedFileFields = true;
 		}
+		// Resolve the local host once, so CGI local_addr and local_host never wait on DNS during a request
+		HostIdentity.start();
 	}
 
 }
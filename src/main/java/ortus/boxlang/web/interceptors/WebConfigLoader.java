@@ -7,6 +7,8 @@ import ortus.boxlang.runtime.events.BaseInterceptor;
 import ortus.boxlang.runtime.events.InterceptionPoint;
 import ortus.boxlang.runtime.scopes.Key;
 import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.web.util.ConcurrencyLimits;
+import ortus.boxlang.web.util.VirtualThreads;
 
 public class WebConfigLoader extends BaseInterceptor {
 
@@ -90,6 +92,9 @@ public class WebConfigLoader extends BaseInterceptor {
 		if ( config.security.disallowedFileOperationExtensions.isEmpty() ) {
 			config.security.disallowedFileOperationExtensions.addAll( DEFAULT_DISALLOWED_EXTENSIONS );
 		}
+		// Settings we resolve once are read again from the new configuration
+		VirtualThreads.configurationLoaded();
+		ConcurrencyLimits.configurationLoaded();
 
 	}
 
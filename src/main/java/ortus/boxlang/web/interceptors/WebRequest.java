@@ -17,6 +17,10 @@
  */
 package ortus.boxlang.web.interceptors;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
 import ortus.boxlang.runtime.BoxRuntime;
 import ortus.boxlang.runtime.bifs.BIF;
 import ortus.boxlang.runtime.components.Component;
@@ -34,6 +38,7 @@ import ortus.boxlang.runtime.services.ComponentService;
 import ortus.boxlang.runtime.types.IStruct;
 import ortus.boxlang.runtime.types.Struct;
 import ortus.boxlang.runtime.types.exceptions.AbortException;
+import ortus.boxlang.runtime.types.exceptions.BoxIOException;
 import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
 import ortus.boxlang.web.WebRequestExecutor;
 import ortus.boxlang.web.context.WebRequestBoxContext;
@@ -62,7 +67,8 @@ public class WebRequest extends BaseInterceptor {
 	 *
 	 * @data.context The context in which the interception is being made
 	 *
-	 * @data.content The content to be written to the browser
+	 * @data.content The content to be written to the browser: a string, a byte array, a ByteBuffer or an InputStream,
+	 *               which is streamed and closed
 	 *
 	 * @data.mimetype The MIME type of the content, defaults to text/html
 	 *
@@ -110,13 +116,6 @@ public class WebRequest extends BaseInterceptor {
 			context.clearBuffer();
 		}
 
-		byte[] contentBytes;
-		if ( content instanceof byte[] barr ) {
-			contentBytes = barr;
-		} else {
-			contentBytes = StringCaster.cast( content ).getBytes();
-		}
-
 		exchange.setResponseHeader( WebRequestExecutor.CONTENT_TYPE_HEADER, mimeType );
 		// only add disposition header if one hasn't already been set.
 		if ( exchange.getResponseHeader( WebRequestExecutor.CONTENT_DISPOSITION_HEADER ) == null ) {
@@ -124,7 +123,21 @@ public class WebRequest extends BaseInterceptor {
 			    disposition + "; filename=" + fileName );
 		}
 
-		exchange.sendResponseBinary( contentBytes );
+		requestContext.commitResponse();
+		if ( content instanceof byte[] barr ) {
+			exchange.writeResponse( ByteBuffer.wrap( barr ) );
+		} else if ( content instanceof ByteBuffer buffer ) {
+			exchange.writeResponse( buffer );
+		} else if ( content instanceof InputStream stream ) {
+			try ( stream ) {
+				exchange.sendResponseStream( stream, -1 );
+			} catch ( IOException e ) {
+				throw new BoxIOException( "An error occurred while closing the content stream", e );
+			}
+		} else {
+			// The content type has been set above, so text is encoded with its charset
+			exchange.writeResponse( StringCaster.cast( content ) );
+		}
 
 		if ( abort ) {
 			throw new AbortException();
@@ -17,33 +17,34 @@
  */
 package ortus.boxlang.web.scopes;
 
-import java.net.InetAddress;
-import java.net.UnknownHostException;
 import java.nio.file.Path;
 import java.util.AbstractMap.SimpleEntry;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import ortus.boxlang.runtime.context.IBoxContext;
-import ortus.boxlang.runtime.scopes.BaseScope;
 import ortus.boxlang.runtime.scopes.Key;
 import ortus.boxlang.runtime.types.meta.BoxMeta;
 import ortus.boxlang.web.context.WebRequestBoxContext;
 import ortus.boxlang.web.exchange.IBoxHTTPExchange;
+import ortus.boxlang.web.util.HostIdentity;
 import ortus.boxlang.web.util.KeyDictionary;
 
 /**
  * CGI scope implementation in BoxLang
  */
-public class CGIScope extends BaseScope {
+public class CGIScope extends WebScope {
 
 	/**
 	 * THE KEYS THAT ARE KNOWN TO THE CGI SCOPE
 	 */
-	private static final Set<Key>	knownKeys	= new TreeSet<>( Arrays.asList(
+	private static final Set<Key>										knownKeys	= new TreeSet<>( Arrays.asList(
 	    Key.auth_password,
 	    Key.auth_type,
 	    Key.auth_user,
@@ -94,17 +95,28 @@ public class CGIScope extends BaseScope {
 	    Key.web_server_api
 	) );
 
+	/**
+	 * How each CGI variable backed by the request is resolved. Keys are case-insensitive, so a lookup is a single hash
+	 * probe however many variables there are.
+	 */
+	private static final Map<Key, Function<IBoxHTTPExchange, Object>>	resolvers	= buildResolvers();
+
 	/**
 	 * --------------------------------------------------------------------------
 	 * Public Properties
 	 * --------------------------------------------------------------------------
 	 */
-	public static final Key			name		= Key.of( "cgi" );
+	public static final Key												name		= Key.of( "cgi" );
 
 	/**
 	 * The Linked context
 	 */
-	protected WebRequestBoxContext	context;
+	protected WebRequestBoxContext										context;
+
+	/**
+	 * The request headers keyed by header name and CGI name, built on first use
+	 */
+	private volatile Map<Key, String>									headerIndex;
 
 	/**
 	 * --------------------------------------------------------------------------
@@ -113,7 +125,7 @@ public class CGIScope extends BaseScope {
 	 */
 
 	public CGIScope( WebRequestBoxContext context ) {
-		super( CGIScope.name );
+		super( CGIScope.name, context.getUnscopedWrites() );
 		this.context = context;
 	}
 
@@ -135,13 +147,12 @@ public class CGIScope extends BaseScope {
 	/**
 	 * Get the absolute path to the template
 	 *
-	 * @param context The current context
+	 * @param exchange The exchange of the request
 	 *
 	 * @return The absolute path to the template
 	 */
-	private String getTemplatePath( IBoxContext context ) {
-		WebRequestBoxContext	webContext	= context.getParentOfType( WebRequestBoxContext.class );
-		String					requestURI	= getExchange().getRequestURI();
+	private static String getTemplatePath( IBoxHTTPExchange exchange ) {
+		String requestURI = exchange.getRequestURI();
 
 		// Null checks
 		if ( requestURI == null ) {
@@ -149,7 +160,7 @@ public class CGIScope extends BaseScope {
 		}
 
 		// Build the path from the context.getWebRoot() + requestURI
-		return Path.of( webContext.getWebRoot() + requestURI ).toAbsolutePath().toString();
+		return Path.of( exchange.getWebContext().getWebRoot() + requestURI ).toAbsolutePath().toString();
 	}
 
 	/**
@@ -204,73 +215,9 @@ public class CGIScope extends BaseScope {
 			return value;
 		}
 
-		if ( key.equals( Key.content_type ) ) {
-			return putAndReturn( key, defaultNullToString( getExchange().getRequestHeader( "Content-Type" ) ) );
-		}
-		if ( key.equals( Key.content_length ) ) {
-			return putAndReturn( key, defaultNullToString( getExchange().getRequestContentLength() ) );
-		}
-		if ( key.equals( Key.cf_template_path ) || key.equals( KeyDictionary.bx_template_path ) || key.equals( Key.path_translated ) ) {
-			return putAndReturn( key, defaultNullToString( getTemplatePath( getExchange().getWebContext() ) ) );
-		}
-		if ( key.equals( Key.https ) ) {
-			return putAndReturn( key, defaultNullToString( getExchange().isRequestSecure() ) );
-		}
-		if ( key.equals( Key.http_host ) ) {
-			int port = getExchange().getRequestServerPort();
-			return putAndReturn( key,
-			    port == 80 || port == 443 ? getExchange().getRequestServerName()
-			        : getExchange().getRequestServerName() + ":" + defaultNullToString( port ) );
-		}
-		if ( key.equals( Key.local_addr ) ) {
-			try {
-				return putAndReturn( key, defaultNullToString( InetAddress.getLocalHost().getHostAddress() ) );
-			} catch ( UnknownHostException e ) {
-				return putAndReturn( key, "127.0.0.1" );
-			}
-		}
-		if ( key.equals( Key.local_host ) ) {
-			try {
-				return putAndReturn( key, defaultNullToString( InetAddress.getLocalHost().getHostName() ) );
-			} catch ( UnknownHostException e ) {
-				return putAndReturn( key, "localhost" );
-			}
-		}
-		if ( key.equals( Key.request_url ) ) {
-			return putAndReturn( key, defaultNullToString( getExchange().getRequestURL() ) );
-		}
-		if ( key.equals( Key.remote_addr ) ) {
-			return putAndReturn( key, defaultNullToString( getExchange().getRequestRemoteAddr() ) );
-		}
-		if ( key.equals( Key.remote_host ) ) {
-			return putAndReturn( key, defaultNullToString( getExchange().getRequestRemoteHost() ) );
-		}
-		if ( key.equals( Key.remote_user ) ) {
-			return putAndReturn( key, defaultNullToString( getExchange().getRequestRemoteUser() ) );
-		}
-		if ( key.equals( Key.path_info ) ) {
-			return putAndReturn( key, defaultNullToString( getExchange().getRequestPathInfo() ) );
-		}
-		if ( key.equals( Key.query_string ) ) {
-			return putAndReturn( key, defaultNullToString( getExchange().getRequestQueryString() ) );
-		}
-		if ( key.equals( Key.request_method ) ) {
-			return putAndReturn( key, defaultNullToString( getExchange().getRequestMethod() ) );
-		}
-		if ( key.equals( Key.script_name ) ) {
-			return putAndReturn( key, defaultNullToString( getExchange().getRequestURI() ) );
-		}
-		if ( key.equals( Key.server_name ) ) {
-			return putAndReturn( key, defaultNullToString( getExchange().getRequestServerName() ) );
-		}
-		if ( key.equals( Key.server_port ) ) {
-			return putAndReturn( key, defaultNullToString( getExchange().getRequestServerPort() ) );
-		}
-		if ( key.equals( Key.server_port_secure ) ) {
-			return putAndReturn( key, getExchange().isRequestSecure() ? defaultNullToString( getExchange().getRequestServerPort() ) : 0 );
-		}
-		if ( key.equals( Key.server_protocol ) ) {
-			return putAndReturn( key, defaultNullToString( getExchange().getRequestProtocol() ) );
+		Function<IBoxHTTPExchange, Object> resolver = resolvers.get( key );
+		if ( resolver != null ) {
+			return putAndReturn( key, resolver.apply( getExchange() ) );
 		}
 
 		// TODO: All other CGI keys
@@ -297,21 +244,42 @@ public class CGIScope extends BaseScope {
 		 * web_server_api
 		 */
 
-		// HTTP header fallbacks
-		String header = getExchange().getRequestHeader( key.getName() );
+		// HTTP header fallbacks, by header name or as http_header_name
+		String header = getHeaderIndex().get( key );
 		if ( header != null ) {
 			return putAndReturn( key, header );
 		}
-		if ( key.getName().toLowerCase().startsWith( "http_" ) && key.getName().length() > 5 ) {
-			header = getExchange().getRequestHeader( key.getName().substring( 5 ).replace( "_", "-" ) );
-			if ( header != null ) {
-				return putAndReturn( key, header );
-			}
-		}
 
 		return null;
 	}
 
+	/**
+	 * Get the request headers of this request, keyed case-insensitively by both the header name and its
+	 * <code>http_</code> CGI name, e.g. <code>X-Forwarded-For</code> and <code>http_x_forwarded_for</code>.
+	 * Built the first time a key misses the dispatch table.
+	 *
+	 * @return The header index
+	 */
+	private Map<Key, String> getHeaderIndex() {
+		Map<Key, String> index = headerIndex;
+		if ( index == null ) {
+			Map<String, String[]> headers = getExchange().getRequestHeaderMap();
+			index = new HashMap<>( headers == null ? 0 : headers.size() * 4 );
+			if ( headers != null ) {
+				for ( Map.Entry<String, String[]> header : headers.entrySet() ) {
+					String[] values = header.getValue();
+					if ( header.getKey() == null || values == null || values.length == 0 || values[ 0 ] == null ) {
+						continue;
+					}
+					index.putIfAbsent( Key.of( header.getKey() ), values[ 0 ] );
+					index.putIfAbsent( Key.of( "http_" + header.getKey().replace( '-', '_' ) ), values[ 0 ] );
+				}
+			}
+			headerIndex = index;
+		}
+		return index;
+	}
+
 	/**
 	 * Returns a {@link Set} view of the mappings contained in this map.
 	 */
@@ -384,6 +352,42 @@ public class CGIScope extends BaseScope {
 	 * --------------------------------------------------------------------------
 	 */
 
+	/**
+	 * Build the CGI variable dispatch table
+	 *
+	 * @return The resolvers, keyed by CGI variable name
+	 */
+	private static Map<Key, Function<IBoxHTTPExchange, Object>> buildResolvers() {
+		Map<Key, Function<IBoxHTTPExchange, Object>> table = new HashMap<>();
+		table.put( Key.content_type, exchange -> defaultNullToString( exchange.getRequestHeader( "Content-Type" ) ) );
+		table.put( Key.content_length, exchange -> defaultNullToString( exchange.getRequestContentLength() ) );
+		table.put( Key.cf_template_path, exchange -> defaultNullToString( getTemplatePath( exchange ) ) );
+		table.put( KeyDictionary.bx_template_path, exchange -> defaultNullToString( getTemplatePath( exchange ) ) );
+		table.put( Key.path_translated, exchange -> defaultNullToString( getTemplatePath( exchange ) ) );
+		table.put( Key.https, exchange -> defaultNullToString( exchange.isRequestSecure() ) );
+		table.put( Key.http_host, exchange -> {
+			int port = exchange.getRequestServerPort();
+			return port == 80 || port == 443 ? exchange.getRequestServerName()
+			    : exchange.getRequestServerName() + ":" + defaultNullToString( port );
+		} );
+		table.put( Key.local_addr, exchange -> HostIdentity.getAddress() );
+		table.put( Key.local_host, exchange -> HostIdentity.getHostName() );
+		table.put( Key.request_url, exchange -> defaultNullToString( exchange.getRequestURL() ) );
+		table.put( Key.remote_addr, exchange -> defaultNullToString( exchange.getRequestRemoteAddr() ) );
+		table.put( Key.remote_host, exchange -> defaultNullToString( exchange.getRequestRemoteHost() ) );
+		table.put( Key.remote_user, exchange -> defaultNullToString( exchange.getRequestRemoteUser() ) );
+		table.put( Key.path_info, exchange -> defaultNullToString( exchange.getRequestPathInfo() ) );
+		table.put( Key.query_string, exchange -> defaultNullToString( exchange.getRequestQueryString() ) );
+		table.put( Key.request_method, exchange -> defaultNullToString( exchange.getRequestMethod() ) );
+		table.put( Key.script_name, exchange -> defaultNullToString( exchange.getRequestURI() ) );
+		table.put( Key.server_name, exchange -> defaultNullToString( exchange.getRequestServerName() ) );
+		table.put( Key.server_port, exchange -> defaultNullToString( exchange.getRequestServerPort() ) );
+		table.put( Key.server_port_secure,
+		    exchange -> exchange.isRequestSecure() ? defaultNullToString( exchange.getRequestServerPort() ) : 0 );
+		table.put( Key.server_protocol, exchange -> defaultNullToString( exchange.getRequestProtocol() ) );
+		return Map.copyOf( table );
+	}
+
 	/**
 	 * Wraps a null value in a NullValue object
 	 *
@@ -391,7 +395,7 @@ public class CGIScope extends BaseScope {
 	 *
 	 * @return The wrapped value
 	 */
-	private Object defaultNullToString( Object value ) {
+	private static Object defaultNullToString( Object value ) {
 		return value == null ? "" : value.toString();
 	}
 
@@ -18,6 +18,10 @@
 package ortus.boxlang.web.scopes;
 
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
 
 import ortus.boxlang.runtime.context.IBoxContext;
 import ortus.boxlang.runtime.dynamic.casters.BooleanCaster;
@@ -26,28 +30,48 @@ import ortus.boxlang.runtime.dynamic.casters.DateTimeCaster;
 import ortus.boxlang.runtime.dynamic.casters.IntegerCaster;
 import ortus.boxlang.runtime.dynamic.casters.StringCaster;
 import ortus.boxlang.runtime.dynamic.casters.StructCaster;
-import ortus.boxlang.runtime.scopes.BaseScope;
 import ortus.boxlang.runtime.scopes.Key;
 import ortus.boxlang.runtime.types.IStruct;
 import ortus.boxlang.web.context.WebRequestBoxContext;
 import ortus.boxlang.web.exchange.BoxCookie;
 import ortus.boxlang.web.exchange.IBoxHTTPExchange;
+import ortus.boxlang.web.exchange.RequestCookieJar;
 
 /**
  * Cookie scope implementation in BoxLang
+ *
+ * The request cookies are only copied into the scope as they are read. Exchanges which opt in to the
+ * {@link RequestCookieJar} also only have the values which are read URL decoded.
  */
-public class CookieScope extends BaseScope {
+public class CookieScope extends LazyWebScope {
 
 	/**
 	 * --------------------------------------------------------------------------
 	 * Public Properties
 	 * --------------------------------------------------------------------------
 	 */
-	public static final Key			name		= Key.of( "cookie" );
-	private static final Key		maxAgeKey	= Key.of( "maxAge" );
-	private static final Key		sameSiteKey	= Key.of( "sameSite" );
+	public static final Key				name			= Key.of( "cookie" );
+	private static final Key			maxAgeKey		= Key.of( "maxAge" );
+	private static final Key			sameSiteKey		= Key.of( "sameSite" );
+	private static final String			COOKIE_HEADER	= "Cookie";
+
+	protected WebRequestBoxContext		context;
 
-	protected WebRequestBoxContext	context;
+	/**
+	 * The request cookies parsed from the Cookie header, when the exchange opts in
+	 */
+	private final RequestCookieJar		cookieJar;
+
+	/**
+	 * The request cookies from the exchange, when it doesn't
+	 */
+	private final BoxCookie[]			requestCookies;
+
+	/**
+	 * The position of the last request cookie sent with each name, keyed case-insensitively. Built on the first read
+	 * so a read, hit or miss, never scans the cookies.
+	 */
+	private volatile Map<Key, Integer>	cookieIndex;
 
 	/**
 	 * --------------------------------------------------------------------------
@@ -58,8 +82,13 @@ public class CookieScope extends BaseScope {
 	public CookieScope( WebRequestBoxContext context ) {
 		super( CookieScope.name );
 		this.context = context;
-		for ( var cookie : getExchange().getRequestCookies() ) {
-			this.put( Key.of( cookie.getName() ), cookie.getValue() );
+		IBoxHTTPExchange exchange = context.getHTTPExchange();
+		if ( exchange.useCookieHeaderParser() ) {
+			this.cookieJar		= RequestCookieJar.parse( exchange.getRequestHeader( COOKIE_HEADER ) );
+			this.requestCookies	= null;
+		} else {
+			this.cookieJar		= null;
+			this.requestCookies	= Objects.requireNonNullElse( exchange.getRequestCookies(), new BoxCookie[ 0 ] );
 		}
 	}
 
@@ -78,6 +107,43 @@ public class CookieScope extends BaseScope {
 	 * --------------------------------------------------------------------------
 	 */
 
+	@Override
+	protected Object loadValue( Key key ) {
+		Integer index = getCookieIndex().get( key );
+		if ( index == null ) {
+			return null;
+		}
+		return cookieJar != null ? cookieJar.getValue( index ) : requestCookies[ index ].getValue();
+	}
+
+	@Override
+	protected void loadAll( BiConsumer<Key, Object> consumer ) {
+		// Walk backwards so the last cookie sent with a name is the one kept
+		if ( cookieJar != null ) {
+			for ( int i = cookieJar.size() - 1; i >= 0; i-- ) {
+				consumer.accept( Key.of( cookieJar.getName( i ) ), cookieJar.getValue( i ) );
+			}
+		} else {
+			for ( int i = requestCookies.length - 1; i >= 0; i-- ) {
+				consumer.accept( Key.of( requestCookies[ i ].getName() ), requestCookies[ i ].getValue() );
+			}
+		}
+	}
+
+	private Map<Key, Integer> getCookieIndex() {
+		Map<Key, Integer> index = cookieIndex;
+		if ( index == null ) {
+			int count = cookieJar != null ? cookieJar.size() : requestCookies.length;
+			index = new HashMap<>( count * 2 );
+			// The last cookie sent with a name wins, the same as copying them into the scope in order
+			for ( int i = 0; i < count; i++ ) {
+				index.put( Key.of( cookieJar != null ? cookieJar.getName( i ) : requestCookies[ i ].getName() ), i );
+			}
+			cookieIndex = index;
+		}
+		return index;
+	}
+
 	/**
 	 * Assign a value to a key
 	 *
@@ -136,7 +202,7 @@ public class CookieScope extends BaseScope {
 
 		this.put( key, cookieValue );
 		// If the incoming value was just a struct, most of these will just be defaults
-		getExchange().addResponseCookie(
+		context.setResponseCookie(
 		    new BoxCookie( key.getName(), cookieValue )
 		        .setPath( path )
 		        .setDomain( domain )
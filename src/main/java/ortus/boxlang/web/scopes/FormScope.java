@@ -18,27 +18,48 @@
 package ortus.boxlang.web.scopes;
 
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
-import ortus.boxlang.runtime.scopes.BaseScope;
 import ortus.boxlang.runtime.scopes.Key;
 import ortus.boxlang.runtime.types.Array;
 import ortus.boxlang.web.context.WebRequestBoxContext;
 
 /**
  * Form scope implementation in BoxLang
+ *
+ * The scope is a view over the exchange's form map. A field is only joined into a list, or turned into an array for
+ * <code>foo[]</code> fields, the first time it is read, and <code>fieldNames</code> is only built if it is asked for.
  */
-public class FormScope extends BaseScope {
+public class FormScope extends LazyWebScope {
 
-	public static Key				fieldNames	= Key.of( "fieldNames" );
-	private WebRequestBoxContext	context;
+	public static Key					fieldNames	= Key.of( "fieldNames" );
+	private WebRequestBoxContext		context;
 
 	/**
 	 * --------------------------------------------------------------------------
 	 * Public Properties
 	 * --------------------------------------------------------------------------
 	 */
-	public static final Key			name		= Key.of( "form" );
+	public static final Key				name		= Key.of( "form" );
+
+	/**
+	 * The raw form fields of the request
+	 */
+	private final Map<String, String[]>	formMap;
+
+	/**
+	 * Whether <code>fieldNames</code> is provided, which is only for POST requests
+	 */
+	private final boolean				hasFieldNames;
+
+	/**
+	 * Every form field keyed case-insensitively by its scope key, e.g. <code>foo</code> for <code>foo[]</code>.
+	 * Only built when a key isn't found under its exact name.
+	 */
+	private volatile Map<Key, String>	fieldIndex;
 
 	/**
 	 * --------------------------------------------------------------------------
@@ -47,25 +68,12 @@ public class FormScope extends BaseScope {
 	 */
 
 	public FormScope( WebRequestBoxContext context ) {
-		super( FormScope.name );
-		this.context = context;
-		context.getHTTPExchange().getRequestFormMap().forEach( ( key, value ) -> {
-			// Convention for foo[]=brad foo[]=luis which creates array instead of comma delimited string.
-			if ( key.endsWith( "[]" ) ) {
-				// leave empty elements when making an array. (CF compat)
-				this.put( Key.of( key.substring( 0, key.length() - 2 ) ), new Array( value ) );
-			} else {
-				// Remove empty elements when making a list (CF compat)
-				this.put( Key.of( key ), Arrays.stream( value ).filter( s -> s != null && !s.isEmpty() ).collect( Collectors.joining( "," ) ) );
-			}
-		} );
-
+		super( FormScope.name, context.getUnscopedWrites() );
+		Map<String, String[]> requestFormMap = context.getHTTPExchange().getRequestFormMap();
+		this.context		= context;
+		this.formMap		= requestFormMap == null ? Map.of() : requestFormMap;
 		// Only for POST requests
-		if ( context.getHTTPExchange().getRequestMethod().equalsIgnoreCase( "POST" ) ) {
-			// add form.fieldNames from our internal keys
-			this.put( fieldNames, Arrays.stream( this.keySet().toArray() ).map( Object::toString ).collect( Collectors.joining( "," ) ) );
-		}
-
+		this.hasFieldNames	= context.getHTTPExchange().getRequestMethod().equalsIgnoreCase( "POST" );
 	}
 
 	/**
@@ -74,6 +82,79 @@ public class FormScope extends BaseScope {
 	 * --------------------------------------------------------------------------
 	 */
 
+	@Override
+	protected Object loadValue( Key key ) {
+		if ( hasFieldNames && key.equals( fieldNames ) ) {
+			return buildFieldNames();
+		}
+		String fieldName = findFieldName( key );
+		return fieldName == null ? null : toValue( fieldName, formMap.get( fieldName ) );
+	}
+
+	@Override
+	protected void loadAll( BiConsumer<Key, Object> consumer ) {
+		formMap.forEach( ( fieldName, value ) -> consumer.accept( toKey( fieldName ), toValue( fieldName, value ) ) );
+		if ( hasFieldNames ) {
+			consumer.accept( fieldNames, buildFieldNames() );
+		}
+	}
+
+	/**
+	 * Find the form field for a key, trying its exact name before the case-insensitive index
+	 *
+	 * @param key The scope key
+	 *
+	 * @return The name of the field in the form map, or null if there is none
+	 */
+	private String findFieldName( Key key ) {
+		if ( formMap.isEmpty() ) {
+			return null;
+		}
+		String keyName = key.getName();
+		if ( formMap.containsKey( keyName ) ) {
+			return keyName;
+		}
+		if ( formMap.containsKey( keyName + "[]" ) ) {
+			return keyName + "[]";
+		}
+		return getFieldIndex().get( key );
+	}
+
+	private Map<Key, String> getFieldIndex() {
+		Map<Key, String> index = fieldIndex;
+		if ( index == null ) {
+			index = new HashMap<>( formMap.size() * 2 );
+			for ( String fieldName : formMap.keySet() ) {
+				index.putIfAbsent( toKey( fieldName ), fieldName );
+			}
+			fieldIndex = index;
+		}
+		return index;
+	}
+
+	/**
+	 * Build <code>form.fieldNames</code>, the list of field keys in the order the exchange provided them
+	 *
+	 * @return The comma delimited field names
+	 */
+	private String buildFieldNames() {
+		return formMap.keySet().stream().map( fieldName -> toKey( fieldName ).getName() ).distinct().collect( Collectors.joining( "," ) );
+	}
+
+	private static Key toKey( String fieldName ) {
+		return Key.of( fieldName.endsWith( "[]" ) ? fieldName.substring( 0, fieldName.length() - 2 ) : fieldName );
+	}
+
+	private static Object toValue( String fieldName, String[] value ) {
+		// Convention for foo[]=brad foo[]=luis which creates array instead of comma delimited string.
+		if ( fieldName.endsWith( "[]" ) ) {
+			// leave empty elements when making an array. (CF compat)
+			return new Array( value );
+		}
+		// Remove empty elements when making a list (CF compat)
+		return Arrays.stream( value ).filter( s -> s != null && !s.isEmpty() ).collect( Collectors.joining( "," ) );
+	}
+
 	/**
 	 * This method is purely for compat with ACF, to match an undocumented method that people would use to get the client file name of uplaoded files
 	 * before
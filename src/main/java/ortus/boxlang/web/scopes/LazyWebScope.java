@@ -0,0 +1,290 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.web.scopes;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.scopes.Key;
+
+/**
+ * A scope which is a view over raw request data, such as the form fields or the request cookies. Each value is only
+ * converted and copied into the scope the first time its key is read.
+ *
+ * Operations which need every value, such as iterating the scope, its size, searching its values, copying it or
+ * removing a key, copy the remaining values in once and the scope behaves like a plain struct from then on. Values
+ * are copied in the order of the raw data whether or not some were read first, so reads never change the iteration
+ * order. Values set on the scope are never replaced by the raw data.
+ */
+public abstract class LazyWebScope extends WebScope {
+
+	/**
+	 * Whether every value has been copied into the scope
+	 */
+	private volatile boolean materialized = false;
+
+	/**
+	 * Constructor
+	 *
+	 * @param name The name of the scope
+	 */
+	protected LazyWebScope( Key name ) {
+		super( name );
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param name   The name of the scope
+	 * @param writes The write counter to bump, shared with the other scopes searched alongside this one
+	 */
+	protected LazyWebScope( Key name, AtomicLong writes ) {
+		super( name, writes );
+	}
+
+	/**
+	 * Convert the raw value for a key
+	 *
+	 * @param key The key being read
+	 *
+	 * @return The value, or null if the raw data has nothing for the key
+	 */
+	protected abstract Object loadValue( Key key );
+
+	/**
+	 * Convert every raw value
+	 *
+	 * @param consumer Receives each key and its value
+	 */
+	protected abstract void loadAll( BiConsumer<Key, Object> consumer );
+
+	@Override
+	public Object getRaw( Key key ) {
+		load( key );
+		return super.getRaw( key );
+	}
+
+	@Override
+	public Object get( String key ) {
+		load( Key.of( key ) );
+		return super.get( key );
+	}
+
+	@Override
+	public Object get( Object key ) {
+		load( key );
+		return super.get( key );
+	}
+
+	@Override
+	public Object dereference( IBoxContext context, Key key, Boolean safe ) {
+		load( key );
+		return super.dereference( context, key, safe );
+	}
+
+	@Override
+	public Object getOrDefault( Key key, Object defaultValue ) {
+		load( key );
+		return super.getOrDefault( key, defaultValue );
+	}
+
+	@Override
+	public Object getOrDefault( String key, Object defaultValue ) {
+		load( Key.of( key ) );
+		return super.getOrDefault( key, defaultValue );
+	}
+
+	@Override
+	public Object getOrDefault( Object key, Object defaultValue ) {
+		load( key );
+		return super.getOrDefault( key, defaultValue );
+	}
+
+	@Override
+	public boolean containsKey( Key key ) {
+		load( key );
+		return super.containsKey( key );
+	}
+
+	@Override
+	public boolean containsKey( Object key ) {
+		load( key );
+		return super.containsKey( key );
+	}
+
+	@Override
+	public Object remove( Key key ) {
+		materialize();
+		return super.remove( key );
+	}
+
+	@Override
+	public void clear() {
+		materialize();
+		super.clear();
+	}
+
+	@Override
+	public int size() {
+		materialize();
+		return super.size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		materialize();
+		return super.isEmpty();
+	}
+
+	@Override
+	public Set<Key> keySet() {
+		materialize();
+		return super.keySet();
+	}
+
+	@Override
+	public Collection<Object> values() {
+		materialize();
+		return super.values();
+	}
+
+	@Override
+	public Set<Entry<Key, Object>> entrySet() {
+		materialize();
+		return super.entrySet();
+	}
+
+	@Override
+	public void forEach( BiConsumer<? super Key, ? super Object> action ) {
+		materialize();
+		super.forEach( action );
+	}
+
+	@Override
+	public boolean containsValue( Object value ) {
+		materialize();
+		return super.containsValue( value );
+	}
+
+	@Override
+	public List<Key> getKeys() {
+		materialize();
+		return super.getKeys();
+	}
+
+	@Override
+	public List<String> getKeysAsStrings() {
+		materialize();
+		return super.getKeysAsStrings();
+	}
+
+	@Override
+	public Map<Key, Object> getWrapped() {
+		materialize();
+		return super.getWrapped();
+	}
+
+	@Override
+	public String asString() {
+		materialize();
+		return super.asString();
+	}
+
+	@Override
+	public String toString() {
+		materialize();
+		return super.toString();
+	}
+
+	@Override
+	public boolean equals( Object obj ) {
+		materialize();
+		return super.equals( obj );
+	}
+
+	@Override
+	public int hashCode() {
+		materialize();
+		return super.hashCode();
+	}
+
+	private void load( Object key ) {
+		if ( key instanceof Key scopeKey ) {
+			load( scopeKey );
+		} else if ( key instanceof String keyName ) {
+			load( Key.of( keyName ) );
+		}
+	}
+
+	/**
+	 * Copy the value for a key into the scope if it hasn't been already
+	 *
+	 * @param key The key being read
+	 */
+	private void load( Key key ) {
+		if ( materialized || wrapped.containsKey( key ) ) {
+			return;
+		}
+		synchronized ( this ) {
+			if ( materialized || wrapped.containsKey( key ) ) {
+				return;
+			}
+			Object value = loadValue( key );
+			if ( value != null ) {
+				wrapped.putIfAbsent( key, value );
+			}
+		}
+	}
+
+	/**
+	 * Copy every value which hasn't been read yet into the scope, in the order of the raw data
+	 */
+	private void materialize() {
+		if ( materialized ) {
+			return;
+		}
+		synchronized ( this ) {
+			if ( materialized ) {
+				return;
+			}
+			if ( wrapped.isEmpty() ) {
+				loadAll( wrapped::putIfAbsent );
+			} else {
+				// Put the values read or set so far back in the order of the raw data, followed by the keys only set
+				Map<Key, Object> earlier = new LinkedHashMap<>( wrapped );
+				wrapped.clear();
+				loadAll( ( key, value ) -> {
+					Object current = earlier.remove( key );
+					if ( current != null ) {
+						wrapped.put( key, current );
+					} else {
+						wrapped.putIfAbsent( key, value );
+					}
+				} );
+				wrapped.putAll( earlier );
+			}
+			materialized = true;
+		}
+	}
+}
@@ -17,12 +17,17 @@
  */
 package ortus.boxlang.web.scopes;
 
+import java.util.AbstractCollection;
 import java.util.AbstractMap.SimpleEntry;
+import java.util.AbstractSet;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 import ortus.boxlang.runtime.scopes.BaseScope;
 import ortus.boxlang.runtime.scopes.Key;
@@ -48,6 +53,20 @@ public class RequestScope extends BaseScope {
 	 */
 	protected WebRequestBoxContext	context;
 
+	/**
+	 * The request attribute names converted to keys, null until they are needed
+	 */
+	private volatile AttributeKeys	attributeKeys;
+
+	/**
+	 * The request attribute names and the distinct keys they convert to
+	 *
+	 * @param names The attribute names, for lookups by exact name
+	 * @param keys  The keys, in attribute order, with names differing only in case merged
+	 */
+	private record AttributeKeys( Set<String> names, Key[] keys ) {
+	}
+
 	/**
 	 * --------------------------------------------------------------------------
 	 * Constructors
@@ -77,7 +96,7 @@ public class RequestScope extends BaseScope {
 	 */
 	@Override
 	public int size() {
-		return wrapped.size() + getExchange().getRequestAttributeMap().size();
+		return wrapped.size() + getVisibleAttributeKeys().length;
 	}
 
 	/**
@@ -85,7 +104,7 @@ public class RequestScope extends BaseScope {
 	 */
 	@Override
 	public boolean isEmpty() {
-		return wrapped.isEmpty() && getExchange().getRequestAttributeMap().isEmpty();
+		return wrapped.isEmpty() && getAttributeKeys().keys().length == 0;
 	}
 
 	/**
@@ -96,7 +115,7 @@ public class RequestScope extends BaseScope {
 	 * @return {@code true} if this map contains a mapping for the specified
 	 */
 	public boolean containsKey( Key key ) {
-		return wrapped.containsKey( key ) || getExchange().getRequestAttributeMap().containsKey( key.getName() );
+		return wrapped.containsKey( key ) || getAttributeKeys().names().contains( key.getName() );
 	}
 
 	/**
@@ -142,43 +161,165 @@ public class RequestScope extends BaseScope {
 	}
 
 	/**
-	 * Returns a {@link Set} view of the keys contained in this map.
+	 * Returns a {@link Set} view of the keys contained in this map. The view is live and read only.
 	 */
 	@Override
 	public Set<Key> keySet() {
-		// Create a new HashSet and add all keys from the wrapped map
-		Set<Key> keys = new HashSet<>( wrapped.keySet() );
-		// Add all keys from the exchange's request attribute map
-		keys.addAll( getExchange().getRequestAttributeMap().keySet().stream().map( Key::of ).collect( Collectors.toSet() ) );
-		return keys;
+		return new AbstractSet<Key>() {
+
+			@Override
+			public Iterator<Key> iterator() {
+				return new MergedIterator<>( wrapped.keySet().iterator(), getVisibleAttributeKeys(), key -> key );
+			}
+
+			@Override
+			public int size() {
+				return RequestScope.this.size();
+			}
+
+			@Override
+			public boolean contains( Object key ) {
+				return key instanceof Key scopeKey && RequestScope.this.containsKey( scopeKey );
+			}
+		};
 	}
 
 	/**
-	 * Returns a {@link Collection} view of the values contained in this map.
+	 * Returns a {@link Collection} view of the values contained in this map. The view is live and read only.
 	 */
 	@Override
 	public Collection<Object> values() {
-		var vals = wrapped.values().stream()
-		    .map( entry -> unWrapNull( entry ) )
-		    .collect( Collectors.toList() );
-		vals.addAll( getExchange().getRequestAttributeMap().values() );
-		return vals;
+		return new AbstractCollection<Object>() {
+
+			@Override
+			public Iterator<Object> iterator() {
+				Map<String, Object> attributes = getExchange().getRequestAttributeMap();
+				return new MergedIterator<>(
+				    wrapped.values().stream().map( value -> unWrapNull( value ) ).iterator(),
+				    getVisibleAttributeKeys(),
+				    key -> attributes.get( key.getName() )
+				);
+			}
+
+			@Override
+			public int size() {
+				return RequestScope.this.size();
+			}
+		};
 	}
 
 	/**
-	 * Returns a {@link Set} view of the mappings contained in this map.
+	 * Returns a {@link Set} view of the mappings contained in this map. The view is live and read only.
 	 */
 	@Override
 	public Set<Entry<Key, Object>> entrySet() {
-		Set<Entry<Key, Object>> entries = wrapped.entrySet().stream()
-		    .map( entry -> new SimpleEntry<>( entry.getKey(), unWrapNull( entry.getValue() ) ) )
-		    .collect( Collectors.toCollection( LinkedHashSet::new ) );
+		return new AbstractSet<Entry<Key, Object>>() {
+
+			@Override
+			public Iterator<Entry<Key, Object>> iterator() {
+				Map<String, Object> attributes = getExchange().getRequestAttributeMap();
+				return new MergedIterator<>(
+				    wrapped.entrySet().stream().<Entry<Key, Object>>map( entry -> new SimpleEntry<>( entry.getKey(), unWrapNull( entry.getValue() ) ) )
+				        .iterator(),
+				    getVisibleAttributeKeys(),
+				    key -> new SimpleEntry<>( key, attributes.get( key.getName() ) )
+				);
+			}
+
+			@Override
+			public int size() {
+				return RequestScope.this.size();
+			}
+		};
+	}
+
+	/**
+	 * Forget the keys of the request attributes, so they are read again from the exchange. Called when an attribute is
+	 * set or removed on the exchange.
+	 */
+	public void invalidateAttributeKeys() {
+		attributeKeys = null;
+	}
 
-		getExchange().getRequestAttributeMap().entrySet().stream()
-		    .map( entry -> new SimpleEntry<>( Key.of( entry.getKey() ), entry.getValue() ) )
-		    .forEach( entries::add );
+	/**
+	 * Get the keys of the request attributes which are not hidden by a key of the scope itself, as the scope's own
+	 * value is the one which is read
+	 *
+	 * @return The attribute keys to show in the scope's views
+	 */
+	private Key[] getVisibleAttributeKeys() {
+		Key[]	keys	= getAttributeKeys().keys();
+		int		hidden	= 0;
+		for ( Key key : keys ) {
+			if ( wrapped.containsKey( key ) ) {
+				hidden++;
+			}
+		}
+		if ( hidden == 0 ) {
+			return keys;
+		}
+		Key[]	visible	= new Key[ keys.length - hidden ];
+		int		i		= 0;
+		for ( Key key : keys ) {
+			if ( !wrapped.containsKey( key ) ) {
+				visible[ i++ ] = key;
+			}
+		}
+		return visible;
+	}
 
-		return entries;
+	/**
+	 * Get the names and keys of the request attributes. They are read from the exchange once, and again only after
+	 * {@link #invalidateAttributeKeys()}, as exchanges rebuild their attribute map on every call.
+	 *
+	 * @return The attribute names and keys
+	 */
+	private AttributeKeys getAttributeKeys() {
+		AttributeKeys cached = attributeKeys;
+		if ( cached == null ) {
+			Map<String, Object>	attributes	= getExchange().getRequestAttributeMap();
+			Set<String>			names		= new HashSet<>( attributes.keySet() );
+			Set<Key>			keys		= new LinkedHashSet<>();
+			for ( String attributeName : attributes.keySet() ) {
+				keys.add( Key.of( attributeName ) );
+			}
+			cached			= new AttributeKeys( names, keys.toArray( new Key[ 0 ] ) );
+			attributeKeys	= cached;
+		}
+		return cached;
+	}
+
+	/**
+	 * Iterates the scope's own mappings followed by the request attributes
+	 */
+	private static class MergedIterator<T> implements Iterator<T> {
+
+		private final Iterator<T>		own;
+		private final Key[]				attributes;
+		private final Function<Key, T>	attributeMapper;
+		private int						next			= 0;
+
+		MergedIterator( Iterator<T> own, Key[] attributes, Function<Key, T> attributeMapper ) {
+			this.own				= own;
+			this.attributes			= attributes;
+			this.attributeMapper	= attributeMapper;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return own.hasNext() || next < attributes.length;
+		}
+
+		@Override
+		public T next() {
+			if ( own.hasNext() ) {
+				return own.next();
+			}
+			if ( next >= attributes.length ) {
+				throw new NoSuchElementException();
+			}
+			return attributeMapper.apply( attributes[ next++ ] );
+		}
 	}
 
 }
@@ -18,17 +18,20 @@
 package ortus.boxlang.web.scopes;
 
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.stream.Collectors;
 
-import ortus.boxlang.runtime.scopes.BaseScope;
 import ortus.boxlang.runtime.scopes.Key;
 import ortus.boxlang.runtime.types.Array;
 import ortus.boxlang.web.context.WebRequestBoxContext;
+import ortus.boxlang.web.exchange.IBoxHTTPExchange;
+import ortus.boxlang.web.exchange.QueryStringParser;
 
 /**
  * URL scope implementation in BoxLang
  */
-public class URLScope extends BaseScope {
+public class URLScope extends WebScope {
 
 	/**
 	 * --------------------------------------------------------------------------
@@ -44,17 +47,14 @@ public class URLScope extends BaseScope {
 	 */
 
 	public URLScope( WebRequestBoxContext context ) {
-		super( URLScope.name );
-		context.getHTTPExchange().getRequestURLMap().forEach( ( key, value ) -> {
-			// Convention for ?foo[]=brad&foo[]=luis which creates array instead of comma delimited string
-			if ( key.endsWith( "[]" ) ) {
-				this.put( Key.of( key.substring( 0, key.length() - 2 ) ), new Array( value ) );
-			} else {
-				// TODO: Lucee removes empty elements here, but ACF does not. If a client hits this, add a flag to compat to control this.
-				// We're currently matching Adobe's behavior, but not Lucee's
-				this.put( Key.of( key ), Arrays.stream( value ).collect( Collectors.joining( "," ) ) );
-			}
-		} );
+		super( URLScope.name, context.getUnscopedWrites() );
+		IBoxHTTPExchange exchange = context.getHTTPExchange();
+		if ( exchange.useQueryStringParser() ) {
+			Map<Key, String> lastNames = new HashMap<>();
+			QueryStringParser.DEFAULT.parse( exchange.getRequestQueryString(), ( name, value ) -> addParameter( lastNames, name, value ) );
+			return;
+		}
+		exchange.getRequestURLMap().forEach( this::addParameter );
 	}
 
 	/**
@@ -62,4 +62,46 @@ public class URLScope extends BaseScope {
 	 * Methods
 	 * --------------------------------------------------------------------------
 	 */
+
+	/**
+	 * Add a parameter value parsed from the query string, straight into the scope. A value is added to the parameter
+	 * when its exact name is the last one seen for the key, and replaces it when the name differs only in case or by a
+	 * trailing <code>[]</code>, the same as the later name wins when the scope is built from the URL map.
+	 *
+	 * @param lastNames The exact name last seen for each key
+	 * @param name      The parameter name
+	 * @param value     The parameter value
+	 */
+	private void addParameter( Map<Key, String> lastNames, String name, String value ) {
+		boolean	isArray	= name.endsWith( "[]" );
+		Key		key		= Key.of( isArray ? name.substring( 0, name.length() - 2 ) : name );
+		if ( name.equals( lastNames.put( key, name ) ) ) {
+			Object existing = wrapped.get( key );
+			if ( existing instanceof Array array ) {
+				array.add( value );
+			} else {
+				wrapped.put( key, existing + "," + value );
+			}
+		} else {
+			wrapped.put( key, isArray ? new Array( new String[] { value } ) : value );
+		}
+	}
+
+	/**
+	 * Add a parameter with every value sent for its exact name. Names which only differ in case, or by a trailing
+	 * <code>[]</code>, are separate parameters and the later one replaces the earlier.
+	 *
+	 * @param name   The parameter name
+	 * @param values The parameter values
+	 */
+	private void addParameter( String name, String[] values ) {
+		// Convention for ?foo[]=brad&foo[]=luis which creates array instead of comma delimited string
+		if ( name.endsWith( "[]" ) ) {
+			wrapped.put( Key.of( name.substring( 0, name.length() - 2 ) ), new Array( values ) );
+		} else {
+			// TODO: Lucee removes empty elements here, but ACF does not. If a client hits this, add a flag to compat to control this.
+			// We're currently matching Adobe's behavior, but not Lucee's
+			wrapped.put( Key.of( name ), Arrays.stream( values ).collect( Collectors.joining( "," ) ) );
+		}
+	}
 }
@@ -0,0 +1,101 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.web.scopes;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.scopes.BaseScope;
+import ortus.boxlang.runtime.scopes.Key;
+
+/**
+ * A scope searched by unscoped variable lookups, which keeps a write stamp so the request context can tell whether a
+ * key it found missing before could be present now.
+ *
+ * Writes which go through {@link #put(Key, Object)}, {@link #putIfAbsent(Key, Object)}, {@link #putAll(Map)},
+ * {@link #assign(IBoxContext, Key, Object)} or {@link #remove(Key)} bump the write counter. Request data the scope
+ * copies in as it is read goes straight to the wrapped map and is not counted, since it can't make a key present
+ * which a lookup already found missing.
+ */
+public abstract class WebScope extends BaseScope {
+
+	/**
+	 * The write counter, which scopes searched together share
+	 */
+	private final AtomicLong writes;
+
+	/**
+	 * Constructor
+	 *
+	 * @param name The name of the scope
+	 */
+	protected WebScope( Key name ) {
+		this( name, new AtomicLong() );
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param name   The name of the scope
+	 * @param writes The write counter to bump, shared with the other scopes searched alongside this one
+	 */
+	protected WebScope( Key name, AtomicLong writes ) {
+		super( name );
+		this.writes = writes;
+	}
+
+	/**
+	 * Get a stamp which changes whenever a key may have been added to the scope, or to any scope sharing its counter
+	 *
+	 * @return The write stamp
+	 */
+	public long getWriteStamp() {
+		return writes.get();
+	}
+
+	@Override
+	public Object put( Key key, Object value ) {
+		writes.incrementAndGet();
+		return super.put( key, value );
+	}
+
+	@Override
+	public Object putIfAbsent( Key key, Object value ) {
+		writes.incrementAndGet();
+		return super.putIfAbsent( key, value );
+	}
+
+	@Override
+	public void putAll( Map<? extends Key, ? extends Object> map ) {
+		writes.incrementAndGet();
+		super.putAll( map );
+	}
+
+	@Override
+	public Object assign( IBoxContext context, Key key, Object value ) {
+		writes.incrementAndGet();
+		return super.assign( context, key, value );
+	}
+
+	@Override
+	public Object remove( Key key ) {
+		writes.incrementAndGet();
+		return super.remove( key );
+	}
+}
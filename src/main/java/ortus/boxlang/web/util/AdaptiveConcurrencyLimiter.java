@@ -0,0 +1,309 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.web.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.Struct;
+
+/**
+ * A gradient based adaptive concurrency limiter.
+ *
+ * The limit on concurrent requests follows the measured request latency. Completed requests are collected into short
+ * windows, and each window's average latency is compared against a long term average of the window averages, which
+ * stands in for the latency of the server when it is not queueing. While the two agree the limit grows by roughly its
+ * square root, and as requests start queueing and the short term latency climbs past the tolerance the ratio drops and
+ * the limit shrinks with it. Averages are used rather than the fastest request ever seen, so an application mixing
+ * fast and slow endpoints is judged against its own mix instead of against its fastest health check.
+ *
+ * The long term average follows windows over the tolerance ten times more slowly than the others, so the limiter
+ * follows an application which has genuinely become slower without being talked out of its limit by a burst of
+ * queueing.
+ *
+ * Acquiring a permit is a single CAS, so rejecting a request over the limit costs next to nothing. Completing one adds
+ * to striped counters; only the request which closes a window takes the lock to update the limit.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+	/**
+	 * How much of each new limit estimate is blended into the current one at the end of a window
+	 */
+	private static final double		SMOOTHING				= 0.2;
+
+	/**
+	 * How much slower than the long term latency a window can be before the limit starts to shrink
+	 */
+	private static final double		RTT_TOLERANCE			= 1.5;
+
+	/**
+	 * The shortest a window can be, and the fewest samples it needs before it is closed
+	 */
+	private static final long		WINDOW_NANOS			= TimeUnit.MILLISECONDS.toNanos( 100 );
+	private static final int		MIN_WINDOW_SAMPLES		= 10;
+
+	/**
+	 * How much of each window's average latency is blended into the long term average, and how much when the window
+	 * was over the tolerance
+	 */
+	private static final double		LONG_RTT_WEIGHT			= 0.01;
+	private static final double		LONG_RTT_SLOW_WEIGHT	= 0.001;
+
+	private final int				minLimit;
+	private final int				maxLimit;
+	private final int				retryAfter;
+
+	private final LongSupplier		clock;
+
+	private final AtomicInteger		inflight				= new AtomicInteger();
+	private final LongAdder			rejected				= new LongAdder();
+
+	/**
+	 * The current limit, read without locking on every acquire
+	 */
+	private volatile int			limit;
+
+	/**
+	 * The samples of the current window
+	 */
+	private final LongAdder			windowRttSum			= new LongAdder();
+	private final LongAdder			windowRttCount			= new LongAdder();
+	private final LongAccumulator	windowMaxInflight		= new LongAccumulator( Math::max, 0 );
+	private final AtomicLong		windowStart;
+
+	/**
+	 * The gradient state, guarded by this
+	 */
+	private double					estimatedLimit;
+	private double					longRtt;
+
+	/**
+	 * Constructor
+	 *
+	 * @param initialLimit The limit to start with
+	 * @param minLimit     The lowest the limit can shrink to
+	 * @param maxLimit     The highest the limit can grow to
+	 * @param retryAfter   The seconds rejected clients are asked to wait before retrying
+	 */
+	public AdaptiveConcurrencyLimiter( int initialLimit, int minLimit, int maxLimit, int retryAfter ) {
+		this( initialLimit, minLimit, maxLimit, retryAfter, System::nanoTime );
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param initialLimit The limit to start with
+	 * @param minLimit     The lowest the limit can shrink to
+	 * @param maxLimit     The highest the limit can grow to
+	 * @param retryAfter   The seconds rejected clients are asked to wait before retrying
+	 * @param clock        The nanosecond clock used to time sample windows
+	 */
+	AdaptiveConcurrencyLimiter( int initialLimit, int minLimit, int maxLimit, int retryAfter, LongSupplier clock ) {
+		this.clock			= clock;
+		this.windowStart	= new AtomicLong( clock.getAsLong() );
+		this.minLimit		= Math.max( 1, minLimit );
+		this.maxLimit		= Math.max( this.minLimit, maxLimit );
+		this.retryAfter		= Math.max( 0, retryAfter );
+		this.estimatedLimit	= Math.clamp( initialLimit, this.minLimit, this.maxLimit );
+		this.limit			= ( int ) estimatedLimit;
+	}
+
+	/**
+	 * Try to start a request
+	 *
+	 * @return true if the request can go ahead, in which case it must be released when done. False if the limit has
+	 *         been reached and the request should be rejected.
+	 */
+	public boolean tryAcquire() {
+		int current;
+		do {
+			current = inflight.get();
+			if ( current >= limit ) {
+				rejected.increment();
+				return false;
+			}
+		} while ( !inflight.compareAndSet( current, current + 1 ) );
+		return true;
+	}
+
+	/**
+	 * Try to start a request, getting a permit which releases it exactly once
+	 *
+	 * @return The permit, or null if the limit has been reached and the request should be rejected
+	 */
+	public Permit tryAcquirePermit() {
+		return tryAcquire() ? new Permit( this, System.nanoTime() ) : null;
+	}
+
+	/**
+	 * Complete a request and feed its latency into the limit
+	 *
+	 * @param rttNanos How long the request took, in nanoseconds
+	 */
+	public void release( long rttNanos ) {
+		int inflightAtRelease = inflight.getAndDecrement();
+		if ( rttNanos <= 0 ) {
+			return;
+		}
+		windowRttSum.add( rttNanos );
+		windowRttCount.increment();
+		windowMaxInflight.accumulate( inflightAtRelease );
+
+		long	start	= windowStart.get();
+		long	now		= clock.getAsLong();
+		if ( now - start >= WINDOW_NANOS && windowRttCount.sum() >= MIN_WINDOW_SAMPLES && windowStart.compareAndSet( start, now ) ) {
+			closeWindow();
+		}
+	}
+
+	/**
+	 * Complete a request whose latency says nothing about the server's load, such as a long lived stream
+	 */
+	public void release() {
+		inflight.decrementAndGet();
+	}
+
+	/**
+	 * Get the current limit
+	 *
+	 * @return The limit
+	 */
+	public int getLimit() {
+		return limit;
+	}
+
+	/**
+	 * Get the number of requests currently running
+	 *
+	 * @return The number of requests holding a permit
+	 */
+	public int getInflight() {
+		return inflight.get();
+	}
+
+	/**
+	 * Get the number of rejected requests
+	 *
+	 * @return The rejected count
+	 */
+	public long getRejected() {
+		return rejected.sum();
+	}
+
+	/**
+	 * Get the seconds rejected clients are asked to wait before retrying
+	 *
+	 * @return The Retry-After value
+	 */
+	public int getRetryAfter() {
+		return retryAfter;
+	}
+
+	/**
+	 * Get the limiter's state
+	 *
+	 * @return A struct with the limit, in flight and rejected counts and the long term latency in milliseconds
+	 */
+	public IStruct getSnapshot() {
+		double rtt;
+		synchronized ( this ) {
+			rtt = longRtt;
+		}
+		return Struct.of(
+		    KeyDictionary.limit, getLimit(),
+		    KeyDictionary.inflight, getInflight(),
+		    KeyDictionary.rejected, getRejected(),
+		    KeyDictionary.rtt, rtt / TimeUnit.MILLISECONDS.toNanos( 1 )
+		);
+	}
+
+	/**
+	 * Fold the samples of the window which just ended into the limit. Only the request which won the race to close the
+	 * window gets here. Samples which land while the counters are being reset may be counted in the next window.
+	 */
+	private synchronized void closeWindow() {
+		long	count		= windowRttCount.sumThenReset();
+		long	sum			= windowRttSum.sumThenReset();
+		long	maxInflight	= windowMaxInflight.getThenReset();
+		if ( count == 0 ) {
+			return;
+		}
+
+		double shortRtt = sum / ( double ) count;
+		if ( longRtt == 0 ) {
+			longRtt = shortRtt;
+		} else {
+			longRtt += ( shortRtt - longRtt ) * ( shortRtt > longRtt * RTT_TOLERANCE ? LONG_RTT_SLOW_WEIGHT : LONG_RTT_WEIGHT );
+		}
+		// Once the load has gone the long term latency is pulled down quickly, so the limit can recover
+		if ( longRtt > shortRtt * 2 ) {
+			longRtt *= 0.95;
+		}
+
+		// A server which isn't using half its limit tells us nothing about what it can handle
+		if ( maxInflight < estimatedLimit / 2 ) {
+			return;
+		}
+
+		double	gradient	= Math.clamp( RTT_TOLERANCE * longRtt / shortRtt, 0.5, 1.0 );
+		double	newLimit	= estimatedLimit * gradient + Math.sqrt( estimatedLimit );
+		estimatedLimit	= Math.clamp( estimatedLimit * ( 1 - SMOOTHING ) + newLimit * SMOOTHING, minLimit, maxLimit );
+		limit			= ( int ) estimatedLimit;
+	}
+
+	/**
+	 * A request's place under the limit. Whichever release comes first wins, so a request which turns out to be long
+	 * lived can give its place back early and the final release becomes a no-op.
+	 */
+	public static final class Permit {
+
+		private final AdaptiveConcurrencyLimiter	limiter;
+		private final long							start;
+		private final AtomicBoolean					released	= new AtomicBoolean( false );
+
+		private Permit( AdaptiveConcurrencyLimiter limiter, long start ) {
+			this.limiter	= limiter;
+			this.start		= start;
+		}
+
+		/**
+		 * Complete the request and feed how long it took into the limit
+		 */
+		public void release() {
+			if ( released.compareAndSet( false, true ) ) {
+				limiter.release( System.nanoTime() - start );
+			}
+		}
+
+		/**
+		 * Give the request's place back without a latency sample, for requests such as event streams which stay open as
+		 * long as the client does
+		 */
+		public void releaseWithoutSample() {
+			if ( released.compareAndSet( false, true ) ) {
+				limiter.release();
+			}
+		}
+	}
+}
@@ -0,0 +1,211 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.web.util;
+
+import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.Struct;
+
+/**
+ * Caches which directory of a web root holds the application descriptor (Application.bx/.cfc/.bxm/.cfm) for a request
+ * directory.
+ *
+ * Finding the descriptor means checking every directory from the requested one up to the web root, which costs several
+ * file system stats per level on every request. This cache remembers the answer, including the answer that no
+ * descriptor exists, so the executor can point the runtime straight at the directory which holds it.
+ *
+ * The runtime decides which files are descriptors, so any file named <code>Application.*</code>, in any case, marks a
+ * directory as holding one. Stopping early at a directory whose file the runtime does not accept is harmless, as the
+ * runtime carries on searching upwards from there, but skipping a directory holding a descriptor would not be.
+ *
+ * Entries expire after a TTL so new or removed descriptors are picked up without a restart. Only directories which
+ * physically exist under the web root are cached, so unknown paths cannot grow the cache.
+ */
+public class ApplicationDescriptorCache {
+
+	/**
+	 * The file name prefix shared by every kind of application descriptor, matched ignoring case
+	 */
+	private static final String						DESCRIPTOR_PREFIX	= "Application.";
+
+	/**
+	 * The most directories we will remember before starting over
+	 */
+	private static final int						MAX_ENTRIES			= 10_000;
+
+	/**
+	 * The physical web root
+	 */
+	private final Path								webRoot;
+
+	/**
+	 * How long an entry is trusted for, in nanoseconds. Zero disables the cache.
+	 */
+	private final long								ttlNanos;
+
+	/**
+	 * Request directory to resolved entry
+	 */
+	private final ConcurrentHashMap<String, Entry>	entries				= new ConcurrentHashMap<>();
+
+	private final LongAdder							hits				= new LongAdder();
+	private final LongAdder							misses				= new LongAdder();
+
+	/**
+	 * A resolved request directory
+	 *
+	 * @param descriptorDirectory The web root relative directory holding the descriptor, ending in a slash, or
+	 *                            <code>/</code> when there is no descriptor
+	 * @param expires             The {@link System#nanoTime()} after which the entry is stale
+	 */
+	private record Entry( String descriptorDirectory, long expires ) {
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param webRoot    The physical web root
+	 * @param ttlSeconds How long a resolved directory is trusted for. Zero or less disables the cache.
+	 */
+	public ApplicationDescriptorCache( String webRoot, long ttlSeconds ) {
+		this.webRoot	= Path.of( webRoot ).toAbsolutePath().normalize();
+		this.ttlNanos	= ttlSeconds > 0 ? TimeUnit.SECONDS.toNanos( ttlSeconds ) : 0;
+	}
+
+	/**
+	 * Get the template path to load the application descriptor with. The file name of the request is moved into the
+	 * directory which holds its application descriptor, so the runtime's own upward search stops at the first
+	 * directory it checks. Requests which cannot be resolved are returned untouched.
+	 *
+	 * @param requestString The web root relative request path, e.g. <code>/admin/users/list.bxm</code>
+	 *
+	 * @return The template path to load the application descriptor for
+	 */
+	public String resolve( String requestString ) {
+		int slash = requestString.lastIndexOf( '/' );
+		if ( ttlNanos == 0 || slash < 0 || !requestString.startsWith( "/" ) ) {
+			return requestString;
+		}
+		String	directory	= requestString.substring( 0, slash + 1 );
+		long	now			= System.nanoTime();
+		Entry	entry		= entries.get( directory );
+
+		if ( entry != null && now - entry.expires() < 0 ) {
+			hits.increment();
+		} else {
+			misses.increment();
+			String descriptorDirectory = findDescriptorDirectory( directory );
+			if ( descriptorDirectory == null ) {
+				entries.remove( directory );
+				return requestString;
+			}
+			if ( entries.size() >= MAX_ENTRIES ) {
+				entries.clear();
+			}
+			entry = new Entry( descriptorDirectory, now + ttlNanos );
+			entries.put( directory, entry );
+		}
+
+		return entry.descriptorDirectory() + requestString.substring( slash + 1 );
+	}
+
+	/**
+	 * Forget every resolved directory
+	 */
+	public void clear() {
+		entries.clear();
+	}
+
+	/**
+	 * Get the cache hit and miss counters
+	 *
+	 * @return A struct with the hits, misses, current entry count and TTL in seconds
+	 */
+	public IStruct getStats() {
+		return Struct.of(
+		    KeyDictionary.hits, hits.sum(),
+		    KeyDictionary.misses, misses.sum(),
+		    KeyDictionary.entries, entries.size(),
+		    KeyDictionary.ttl, TimeUnit.NANOSECONDS.toSeconds( ttlNanos )
+		);
+	}
+
+	/**
+	 * Walk up from the request directory to the web root looking for an application descriptor
+	 *
+	 * @param directory The web root relative request directory, ending in a slash
+	 *
+	 * @return The web root relative directory holding the descriptor, <code>/</code> if there is none, or null if the
+	 *         request directory does not exist under the web root
+	 */
+	private String findDescriptorDirectory( String directory ) {
+		Path current;
+		try {
+			current = webRoot.resolve( directory.substring( 1 ) ).normalize();
+		} catch ( InvalidPathException e ) {
+			return null;
+		}
+		if ( !current.startsWith( webRoot ) || !Files.isDirectory( current ) ) {
+			return null;
+		}
+		while ( current != null && current.startsWith( webRoot ) ) {
+			if ( hasDescriptor( current ) ) {
+				return toRequestDirectory( current );
+			}
+			current = current.getParent();
+		}
+		return "/";
+	}
+
+	/**
+	 * Check if a directory holds a file which may be an application descriptor
+	 *
+	 * @param directory The physical directory
+	 *
+	 * @return true if the directory has an <code>Application.*</code> file, or could not be read
+	 */
+	private static boolean hasDescriptor( Path directory ) {
+		try ( DirectoryStream<Path> files = Files.newDirectoryStream( directory, ApplicationDescriptorCache::isDescriptorName ) ) {
+			return files.iterator().hasNext();
+		} catch ( IOException | DirectoryIteratorException e ) {
+			// Let the runtime search from here rather than risk skipping a descriptor
+			return true;
+		}
+	}
+
+	private static boolean isDescriptorName( Path file ) {
+		String name = file.getFileName().toString();
+		return name.length() > DESCRIPTOR_PREFIX.length() && name.regionMatches( true, 0, DESCRIPTOR_PREFIX, 0, DESCRIPTOR_PREFIX.length() );
+	}
+
+	private String toRequestDirectory( Path directory ) {
+		if ( directory.equals( webRoot ) ) {
+			return "/";
+		}
+		return "/" + webRoot.relativize( directory ).toString().replace( '\\', '/' ) + "/";
+	}
+}
@@ -0,0 +1,212 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.web.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * An inclusive range of bytes of a representation, as asked for by an HTTP <code>Range</code> request header.
+ *
+ * Only the <code>bytes</code> unit is supported. Parsing follows RFC 9110: a header which cannot be parsed is ignored
+ * and the whole representation is sent, while a header whose ranges all fall outside of it is answered with a 416.
+ * Overlapping and adjacent ranges are merged, and requests for many ranges are ignored, so a client cannot make us
+ * send the same bytes over and over.
+ *
+ * @param start The first byte of the range
+ * @param end   The last byte of the range, inclusive
+ */
+public record ByteRange( long start, long end ) {
+
+	public static final String	RANGE_HEADER			= "Range";
+
+	public static final String	IF_RANGE_HEADER			= "If-Range";
+
+	public static final String	CONTENT_RANGE_HEADER	= "Content-Range";
+
+	public static final String	ACCEPT_RANGES_HEADER	= "Accept-Ranges";
+
+	/**
+	 * The only range unit we support
+	 */
+	public static final String	BYTES_UNIT				= "bytes";
+
+	/**
+	 * The most ranges we will honour in one request
+	 */
+	private static final int	MAX_RANGES				= 32;
+
+	/**
+	 * Get the number of bytes in the range
+	 *
+	 * @return The range length
+	 */
+	public long length() {
+		return end - start + 1;
+	}
+
+	/**
+	 * Render the range as a <code>Content-Range</code> header value
+	 *
+	 * @param size The size of the whole representation
+	 *
+	 * @return The header value, e.g. <code>bytes 0-499/1234</code>
+	 */
+	public String toContentRange( long size ) {
+		return BYTES_UNIT + " " + start + "-" + end + "/" + size;
+	}
+
+	/**
+	 * Render the <code>Content-Range</code> header value which goes with a 416 response
+	 *
+	 * @param size The size of the whole representation
+	 *
+	 * @return The header value, e.g. <code>bytes *&#47;1234</code>
+	 */
+	public static String toUnsatisfiedContentRange( long size ) {
+		return BYTES_UNIT + " */" + size;
+	}
+
+	/**
+	 * Parse a <code>Range</code> request header
+	 *
+	 * @param header The header value, which may be null
+	 * @param size   The size of the representation the ranges apply to
+	 *
+	 * @return The ranges to send, sorted and merged. Null if the header is missing, cannot be parsed or should be ignored,
+	 *         in which case the whole representation is sent. Empty if none of the ranges can be satisfied.
+	 */
+	public static List<ByteRange> parse( String header, long size ) {
+		if ( header == null ) {
+			return null;
+		}
+		int equals = header.indexOf( '=' );
+		if ( equals == -1 || !header.substring( 0, equals ).trim().equalsIgnoreCase( BYTES_UNIT ) ) {
+			return null;
+		}
+
+		String[] specs = header.substring( equals + 1 ).split( ",", -1 );
+		if ( specs.length > MAX_RANGES ) {
+			return null;
+		}
+		List<ByteRange> ranges = new ArrayList<>( specs.length );
+		for ( String spec : specs ) {
+			spec = spec.trim();
+			if ( spec.isEmpty() ) {
+				// Empty list elements are allowed
+				continue;
+			}
+			int dash = spec.indexOf( '-' );
+			if ( dash == -1 ) {
+				return null;
+			}
+			long	first	= parsePosition( spec.substring( 0, dash ) );
+			long	last	= parsePosition( spec.substring( dash + 1 ) );
+
+			if ( dash == 0 ) {
+				// A suffix range, e.g. -500 for the last 500 bytes
+				if ( last < 0 ) {
+					return null;
+				}
+				if ( last > 0 && size > 0 ) {
+					ranges.add( new ByteRange( Math.max( 0, size - last ), size - 1 ) );
+				}
+				continue;
+			}
+			if ( first < 0 || ( dash < spec.length() - 1 && ( last < 0 || last < first ) ) ) {
+				return null;
+			}
+			if ( first < size ) {
+				ranges.add( new ByteRange( first, dash == spec.length() - 1 ? size - 1 : Math.min( last, size - 1 ) ) );
+			}
+		}
+		return coalesce( ranges );
+	}
+
+	/**
+	 * Check whether an <code>If-Range</code> precondition lets the ranges of a request be sent. Ranges are only sent when
+	 * the client's copy is still current, which is checked with a strong entity tag or the exact last modified date.
+	 *
+	 * @param ifRange      The If-Range header value, which may be null
+	 * @param etag         The entity tag of the response, which may be null
+	 * @param lastModified The Last-Modified date of the response, which may be null
+	 *
+	 * @return True if there is no precondition or it matches, false if the whole representation must be sent
+	 */
+	public static boolean ifRangeMatches( String ifRange, String etag, String lastModified ) {
+		if ( ifRange == null || ifRange.isBlank() ) {
+			return true;
+		}
+		ifRange = ifRange.trim();
+		if ( ifRange.startsWith( "\"" ) ) {
+			return etag != null && !etag.startsWith( "W/" ) && ifRange.equals( etag );
+		}
+		if ( ifRange.startsWith( "W/" ) ) {
+			return false;
+		}
+		return ifRange.equals( lastModified );
+	}
+
+	/**
+	 * Parse one end of a range spec
+	 *
+	 * @param value The digits
+	 *
+	 * @return The position, or -1 if it is empty or not a number
+	 */
+	private static long parsePosition( String value ) {
+		value = value.trim();
+		if ( value.isEmpty() || value.length() > 18 ) {
+			return -1;
+		}
+		for ( int i = 0; i < value.length(); i++ ) {
+			if ( value.charAt( i ) < '0' || value.charAt( i ) > '9' ) {
+				return -1;
+			}
+		}
+		return Long.parseLong( value );
+	}
+
+	/**
+	 * Sort ranges and merge the ones which overlap or touch
+	 *
+	 * @param ranges The ranges
+	 *
+	 * @return The merged ranges
+	 */
+	private static List<ByteRange> coalesce( List<ByteRange> ranges ) {
+		if ( ranges.size() < 2 ) {
+			return ranges;
+		}
+		ranges.sort( Comparator.comparingLong( ByteRange::start ) );
+		List<ByteRange>	merged	= new ArrayList<>( ranges.size() );
+		ByteRange		current	= ranges.get( 0 );
+		for ( int i = 1; i < ranges.size(); i++ ) {
+			ByteRange next = ranges.get( i );
+			if ( next.start() <= current.end() + 1 ) {
+				current = new ByteRange( current.start(), Math.max( current.end(), next.end() ) );
+			} else {
+				merged.add( current );
+				current = next;
+			}
+		}
+		merged.add( current );
+		return merged;
+	}
+}
@@ -0,0 +1,186 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.web.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.dynamic.casters.BooleanCaster;
+import ortus.boxlang.runtime.dynamic.casters.IntegerCaster;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.Struct;
+
+/**
+ * The adaptive concurrency limiters which guard the web runtime, configured with the <code>web.concurrencyLimit</code>
+ * runtime setting:
+ *
+ * <pre>
+ * "web": {
+ *     "concurrencyLimit": {
+ *         "enabled": true,
+ *         "initialLimit": 20,
+ *         "minLimit": 4,
+ *         "maxLimit": 1000,
+ *         "retryAfter": 1,
+ *         "prefixes": {
+ *             "/api/": { "maxLimit": 200 },
+ *             "/admin/": { "initialLimit": 5, "maxLimit": 20 }
+ *         }
+ *     }
+ * }
+ * </pre>
+ *
+ * Each URL prefix gets its own limiter, with any setting it leaves out taken from the top level, and requests are
+ * matched to the longest prefix. Requests which match no prefix share the top level limiter. Limits are picked before
+ * the request context exists, so an application is limited through the prefix of the directory it lives in.
+ */
+public final class ConcurrencyLimits {
+
+	public static final int							DEFAULT_INITIAL_LIMIT	= 20;
+	public static final int							DEFAULT_MIN_LIMIT		= 4;
+	public static final int							DEFAULT_MAX_LIMIT		= 1000;
+	public static final int							DEFAULT_RETRY_AFTER		= 1;
+
+	/**
+	 * The root prefix, used for requests which match no other prefix
+	 */
+	private static final String						ROOT_PREFIX				= "/";
+
+	/**
+	 * The prefixes and their limiters, longest prefix first, or null if limiting is disabled
+	 */
+	private static volatile List<PrefixLimiter>		limiters;
+
+	/**
+	 * Whether the configuration has been read
+	 */
+	private static volatile boolean					configured;
+
+	/**
+	 * A limiter and the URL prefix it guards
+	 *
+	 * @param prefix  The URL prefix
+	 * @param limiter The limiter
+	 */
+	private record PrefixLimiter( String prefix, AdaptiveConcurrencyLimiter limiter ) {
+	}
+
+	private ConcurrencyLimits() {
+	}
+
+	/**
+	 * Get the limiter for a request
+	 *
+	 * @param requestURI The request URI
+	 *
+	 * @return The limiter for the longest matching prefix, or null if limiting is disabled
+	 */
+	public static AdaptiveConcurrencyLimiter forRequest( String requestURI ) {
+		if ( !configured ) {
+			configure( null );
+		}
+		List<PrefixLimiter> current = limiters;
+		if ( current == null ) {
+			return null;
+		}
+		for ( PrefixLimiter entry : current ) {
+			if ( requestURI != null && requestURI.startsWith( entry.prefix() ) ) {
+				return entry.limiter();
+			}
+		}
+		// The root limiter is last and matches everything
+		return current.get( current.size() - 1 ).limiter();
+	}
+
+	/**
+	 * Set up the limiters, replacing any which exist
+	 *
+	 * @param settings The <code>web.concurrencyLimit</code> settings, or null to read them from the runtime configuration
+	 */
+	public static synchronized void configure( IStruct settings ) {
+		if ( settings == null ) {
+			Object webSettings = BoxRuntime.getInstance().getRuntimeContext().getConfig().get( KeyDictionary.web );
+			settings = webSettings instanceof IStruct web && web.get( KeyDictionary.concurrencyLimit ) instanceof IStruct limit ? limit : new Struct();
+		}
+
+		if ( !BooleanCaster.attempt( settings.get( KeyDictionary.enabled ) ).getOrDefault( false ) ) {
+			limiters	= null;
+			configured	= true;
+			return;
+		}
+
+		List<PrefixLimiter> result = new ArrayList<>();
+		if ( settings.get( KeyDictionary.prefixes ) instanceof IStruct prefixes ) {
+			for ( Key prefix : prefixes.keySet() ) {
+				IStruct overrides = prefixes.get( prefix ) instanceof IStruct struct ? struct : new Struct();
+				if ( !prefix.getName().equals( ROOT_PREFIX ) ) {
+					result.add( new PrefixLimiter( prefix.getName(), newLimiter( overrides, settings ) ) );
+				}
+			}
+		}
+		result.sort( Comparator.comparingInt( ( PrefixLimiter entry ) -> entry.prefix().length() ).reversed() );
+		result.add( new PrefixLimiter( ROOT_PREFIX, newLimiter( new Struct(), settings ) ) );
+
+		limiters	= List.copyOf( result );
+		configured	= true;
+	}
+
+	/**
+	 * Forget the <code>web.concurrencyLimit</code> runtime setting, so the limiters are set up again from a newly loaded
+	 * configuration by the next request
+	 */
+	public static void configurationLoaded() {
+		configured = false;
+	}
+
+	/**
+	 * Get the state of every limiter
+	 *
+	 * @return A struct keyed by URL prefix, empty if limiting is disabled
+	 */
+	public static IStruct getSnapshot() {
+		IStruct				snapshot	= new Struct( IStruct.TYPES.LINKED );
+		List<PrefixLimiter>	current		= limiters;
+		if ( current != null ) {
+			for ( PrefixLimiter entry : current ) {
+				snapshot.put( Key.of( entry.prefix() ), entry.limiter().getSnapshot() );
+			}
+		}
+		return snapshot;
+	}
+
+	private static AdaptiveConcurrencyLimiter newLimiter( IStruct overrides, IStruct defaults ) {
+		return new AdaptiveConcurrencyLimiter(
+		    setting( overrides, defaults, KeyDictionary.initialLimit, DEFAULT_INITIAL_LIMIT ),
+		    setting( overrides, defaults, KeyDictionary.minLimit, DEFAULT_MIN_LIMIT ),
+		    setting( overrides, defaults, KeyDictionary.maxLimit, DEFAULT_MAX_LIMIT ),
+		    setting( overrides, defaults, KeyDictionary.retryAfter, DEFAULT_RETRY_AFTER )
+		);
+	}
+
+	private static int setting( IStruct overrides, IStruct defaults, Key key, int defaultValue ) {
+		Object value = overrides.get( key );
+		if ( value == null ) {
+			value = defaults.get( key );
+		}
+		return IntegerCaster.attempt( value ).getOrDefault( defaultValue );
+	}
+}
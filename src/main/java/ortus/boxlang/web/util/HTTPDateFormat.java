@@ -0,0 +1,148 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.web.util;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Formats dates for HTTP headers and cookies as IMF-fixdate, e.g. <code>Sun, 06 Nov 1994 08:49:37 GMT</code>.
+ *
+ * HTTP dates only have second precision and the same few dates come up again and again, such as the current time or a
+ * fixed cookie expiry, so formatted dates are cached. The current second is held on its own and read without locking;
+ * other recently formatted seconds are kept in a small LRU cache. Everything here is thread safe.
+ */
+public final class HTTPDateFormat {
+
+	/**
+	 * The IMF-fixdate format. The day and month names are always English.
+	 */
+	public static final DateTimeFormatter	IMF_FIXDATE	= DateTimeFormatter.ofPattern( "EEE, dd MMM yyyy HH:mm:ss 'GMT'", Locale.US )
+	    .withZone( ZoneOffset.UTC );
+
+	/**
+	 * The most recently formatted seconds we will remember, besides the current one
+	 */
+	private static final int				MAX_RECENT	= 64;
+
+	/**
+	 * The last formatted current time
+	 */
+	private static volatile Formatted		current		= new Formatted( Long.MIN_VALUE, null );
+
+	/**
+	 * Epoch second to formatted date, in access order
+	 */
+	private static final Map<Long, String>	recent		= new RecentDates();
+
+	/**
+	 * A formatted second
+	 *
+	 * @param epochSecond The second
+	 * @param text        The formatted date
+	 */
+	private record Formatted( long epochSecond, String text ) {
+	}
+
+	/**
+	 * An LRU map of recently formatted seconds
+	 */
+	private static final class RecentDates extends LinkedHashMap<Long, String> {
+
+		private static final long serialVersionUID = 1L;
+
+		RecentDates() {
+			super( MAX_RECENT, 0.75f, true );
+		}
+
+		@Override
+		protected boolean removeEldestEntry( Map.Entry<Long, String> eldest ) {
+			return size() > MAX_RECENT;
+		}
+	}
+
+	private HTTPDateFormat() {
+	}
+
+	/**
+	 * Format the current time
+	 *
+	 * @return The current time as an IMF-fixdate
+	 */
+	public static String now() {
+		long		epochSecond	= Math.floorDiv( System.currentTimeMillis(), 1000 );
+		Formatted	formatted	= current;
+		if ( formatted.epochSecond() != epochSecond ) {
+			formatted	= new Formatted( epochSecond, IMF_FIXDATE.format( Instant.ofEpochSecond( epochSecond ) ) );
+			current		= formatted;
+		}
+		return formatted.text();
+	}
+
+	/**
+	 * Format a date
+	 *
+	 * @param date The date
+	 *
+	 * @return The date as an IMF-fixdate
+	 */
+	public static String format( Date date ) {
+		return formatEpochSecond( Math.floorDiv( date.getTime(), 1000 ) );
+	}
+
+	/**
+	 * Format an instant
+	 *
+	 * @param instant The instant
+	 *
+	 * @return The instant as an IMF-fixdate
+	 */
+	public static String format( Instant instant ) {
+		return formatEpochSecond( instant.getEpochSecond() );
+	}
+
+	/**
+	 * Format a second since the epoch
+	 *
+	 * @param epochSecond The second
+	 *
+	 * @return The second as an IMF-fixdate
+	 */
+	public static String formatEpochSecond( long epochSecond ) {
+		Formatted formatted = current;
+		if ( formatted.epochSecond() == epochSecond ) {
+			return formatted.text();
+		}
+		String text;
+		synchronized ( recent ) {
+			text = recent.get( epochSecond );
+		}
+		if ( text == null ) {
+			text = IMF_FIXDATE.format( Instant.ofEpochSecond( epochSecond ) );
+			synchronized ( recent ) {
+				recent.put( epochSecond, text );
+			}
+		}
+		return text;
+	}
+}
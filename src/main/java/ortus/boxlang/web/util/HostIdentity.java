@@ -0,0 +1,177 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.web.util;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.dynamic.casters.IntegerCaster;
+import ortus.boxlang.runtime.types.IStruct;
+
+/**
+ * The address and host name of the local machine, for the <code>local_addr</code> and <code>local_host</code> CGI
+ * variables.
+ *
+ * Looking these up goes through the resolver, which takes milliseconds on some container and DNS setups and seconds
+ * when DNS is broken. They are resolved on a virtual thread when the module starts and refreshed the same way every
+ * <code>web.hostIdentityRefresh</code> seconds, so neither startup nor requests ever wait on DNS. Until the first
+ * lookup completes the loopback address is served.
+ */
+public final class HostIdentity {
+
+	/**
+	 * How often the identity is refreshed, in seconds, when the <code>web.hostIdentityRefresh</code> setting is not
+	 * present in the runtime configuration
+	 */
+	public static final int				DEFAULT_REFRESH_SECONDS	= 300;
+
+	/**
+	 * Served until the local host is resolved, and when it cannot be
+	 */
+	private static final Identity		FALLBACK				= new Identity( "127.0.0.1", "localhost" );
+
+	/**
+	 * The current identity, null until it is first resolved
+	 */
+	private static volatile Identity	identity;
+
+	/**
+	 * The background refresh, if one is scheduled
+	 */
+	private static ScheduledFuture<?>	refreshTask;
+
+	/**
+	 * Whether a lookup is running, so slow DNS never stacks up lookups
+	 */
+	private static final AtomicBoolean	resolving				= new AtomicBoolean( false );
+
+	/**
+	 * A resolved identity
+	 *
+	 * @param address  The local address
+	 * @param hostName The local host name
+	 */
+	private record Identity( String address, String hostName ) {
+	}
+
+	private HostIdentity() {
+	}
+
+	/**
+	 * Start resolving the identity in the background and schedule its refresh, using the
+	 * <code>web.hostIdentityRefresh</code> runtime setting. A refresh interval of 0 resolves the identity once and never
+	 * refreshes it.
+	 */
+	public static synchronized void start() {
+		Object	webSettings	= BoxRuntime.getInstance().getRuntimeContext().getConfig().get( KeyDictionary.web );
+		Object	refresh		= webSettings instanceof IStruct settings ? settings.get( KeyDictionary.hostIdentityRefresh ) : null;
+		start( IntegerCaster.attempt( refresh ).getOrDefault( DEFAULT_REFRESH_SECONDS ) );
+	}
+
+	/**
+	 * Start resolving the identity in the background and schedule its refresh
+	 *
+	 * @param refreshSeconds How often to refresh the identity, 0 to never refresh it
+	 */
+	public static synchronized void start( int refreshSeconds ) {
+		stop();
+		refreshInBackground();
+		if ( refreshSeconds > 0 ) {
+			// The scheduler only starts the lookup, so a slow resolver never holds one of its threads
+			refreshTask = BoxRuntime.getInstance()
+			    .getAsyncService()
+			    .getExecutor( "scheduled-tasks" )
+			    .scheduledExecutor()
+			    .scheduleWithFixedDelay( HostIdentity::refreshInBackground, refreshSeconds, refreshSeconds, TimeUnit.SECONDS );
+		}
+	}
+
+	/**
+	 * Cancel the background refresh. The last resolved identity keeps being served.
+	 */
+	public static synchronized void stop() {
+		if ( refreshTask != null ) {
+			refreshTask.cancel( false );
+			refreshTask = null;
+		}
+	}
+
+	/**
+	 * Resolve the identity on a virtual thread, unless a lookup is already running
+	 */
+	public static void refreshInBackground() {
+		if ( resolving.compareAndSet( false, true ) ) {
+			Thread.ofVirtual().name( "bx-web-host-identity" ).start( () -> {
+				try {
+					refresh();
+				} finally {
+					resolving.set( false );
+				}
+			} );
+		}
+	}
+
+	/**
+	 * Resolve the identity now, on the calling thread. A failed lookup keeps the last resolved identity, if there is
+	 * one.
+	 */
+	public static void refresh() {
+		try {
+			InetAddress localHost = InetAddress.getLocalHost();
+			identity = new Identity( localHost.getHostAddress(), localHost.getHostName() );
+		} catch ( UnknownHostException e ) {
+			if ( identity == null ) {
+				identity = FALLBACK;
+			}
+		}
+	}
+
+	/**
+	 * Get the local address
+	 *
+	 * @return The local address, e.g. <code>10.0.0.5</code>
+	 */
+	public static String getAddress() {
+		return get().address();
+	}
+
+	/**
+	 * Get the local host name
+	 *
+	 * @return The local host name
+	 */
+	public static String getHostName() {
+		return get().hostName();
+	}
+
+	/**
+	 * Get the identity, serving the loopback address while it is first resolved in the background
+	 */
+	private static Identity get() {
+		Identity current = identity;
+		if ( current == null ) {
+			refreshInBackground();
+			return FALLBACK;
+		}
+		return current;
+	}
+}
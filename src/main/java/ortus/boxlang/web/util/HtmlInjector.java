@@ -0,0 +1,346 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.web.util;
+
+/**
+ * Splices content into the head and body of a rendered HTML page without building a DOM.
+ *
+ * A single forward scan over the page locates the {@code <html>}, {@code <head>}, {@code </head>}, {@code <body>} and
+ * {@code </body>} tags. Comments, quoted attribute values and the contents of raw text elements such as
+ * {@code <script>} and {@code <style>} are skipped so markup inside them is never mistaken for a real tag. The page
+ * is otherwise left byte for byte as the user wrote it.
+ *
+ * Every injection method reports the content which did not find a usable insertion point, which the caller is expected
+ * to place with a full HTML parser.
+ */
+public final class HtmlInjector {
+
+	/**
+	 * Elements whose content is raw text and must not be scanned for tags
+	 */
+	private static final String[] RAW_TEXT_ELEMENTS = { "script", "style", "textarea", "title" };
+
+	private HtmlInjector() {
+	}
+
+	/**
+	 * The positions of the tags we can inject around. Every position is {@code -1} when the tag was not found.
+	 *
+	 * @param htmlOpenEnd   The index right after the first {@code <html>} start tag
+	 * @param headOpenEnd   The index right after the first {@code <head>} start tag
+	 * @param headClose     The index of the first {@code </head>} end tag
+	 * @param bodyOpenStart The index of the first {@code <body>} start tag
+	 * @param bodyOpenEnd   The index right after the first {@code <body>} start tag
+	 * @param bodyClose     The index of the last {@code </body>} end tag
+	 */
+	public record InsertionPoints( int htmlOpenEnd, int headOpenEnd, int headClose, int bodyOpenStart, int bodyOpenEnd, int bodyClose ) {
+	}
+
+	/**
+	 * Which parts of an injection found their place in the page
+	 *
+	 * @param head      true if the head content was injected, or there was none
+	 * @param bodyStart true if the body start content was injected, or there was none
+	 * @param bodyEnd   true if the body end content was injected, or there was none
+	 */
+	public record Injection( boolean head, boolean bodyStart, boolean bodyEnd ) {
+
+		/**
+		 * Check if every part was injected
+		 *
+		 * @return true if nothing is left for the caller to place
+		 */
+		public boolean complete() {
+			return head && bodyStart && bodyEnd;
+		}
+	}
+
+	/**
+	 * Splices content into the head, the start of the body and the end of the body of a page, scanning it only once.
+	 * Each part goes where the matching method below would put it, and parts which are null or empty are skipped.
+	 *
+	 * @param buffer    The rendered page
+	 * @param head      The content to append to the head section
+	 * @param bodyStart The content to prepend to the body section
+	 * @param bodyEnd   The content to append to the body section
+	 *
+	 * @return Which parts were injected. Parts which were not have no usable insertion point in the page.
+	 */
+	public static Injection inject( StringBuffer buffer, CharSequence head, CharSequence bodyStart, CharSequence bodyEnd ) {
+		synchronized ( buffer ) {
+			InsertionPoints	points		= scan( buffer );
+			int				headAt		= isEmpty( head ) ? -1 : headInsertionPoint( points );
+			int				bodyStartAt	= isEmpty( bodyStart ) ? -1 : points.bodyOpenEnd();
+			int				bodyEndAt	= isEmpty( bodyEnd ) || points.bodyClose() < points.bodyOpenEnd() ? -1 : points.bodyClose();
+
+			// Splice from the end of the page backwards so the positions found by the scan stay valid
+			if ( bodyEndAt >= 0 ) {
+				buffer.insert( bodyEndAt, bodyEnd );
+			}
+			if ( bodyStartAt >= 0 ) {
+				buffer.insert( bodyStartAt, bodyStart );
+			}
+			if ( headAt >= 0 ) {
+				if ( points.headClose() < 0 && points.headOpenEnd() < 0 ) {
+					buffer.insert( headAt, new StringBuilder( head.length() + 13 ).append( "<head>" ).append( head ).append( "</head>" ) );
+				} else {
+					buffer.insert( headAt, head );
+				}
+			}
+			return new Injection( isEmpty( head ) || headAt >= 0, isEmpty( bodyStart ) || bodyStartAt >= 0, isEmpty( bodyEnd ) || bodyEndAt >= 0 );
+		}
+	}
+
+	/**
+	 * Appends content to the end of the head section. If the page has no head section but does have an
+	 * {@code <html>} or {@code <body>} tag, a head section is created to hold the content.
+	 *
+	 * @param buffer  The rendered page
+	 * @param content The content to add
+	 *
+	 * @return true if the content was injected, false if the page has no usable insertion point
+	 */
+	public static boolean appendToHead( StringBuffer buffer, CharSequence content ) {
+		return inject( buffer, content, null, null ).head();
+	}
+
+	/**
+	 * Prepends content to the start of the body section, right after the {@code <body>} start tag.
+	 *
+	 * @param buffer  The rendered page
+	 * @param content The content to add
+	 *
+	 * @return true if the content was injected, false if the page has no body start tag
+	 */
+	public static boolean prependToBody( StringBuffer buffer, CharSequence content ) {
+		return inject( buffer, null, content, null ).bodyStart();
+	}
+
+	/**
+	 * Appends content to the end of the body section, right before the {@code </body>} end tag.
+	 *
+	 * @param buffer  The rendered page
+	 * @param content The content to add
+	 *
+	 * @return true if the content was injected, false if the page has no body end tag
+	 */
+	public static boolean appendToBody( StringBuffer buffer, CharSequence content ) {
+		return inject( buffer, null, null, content ).bodyEnd();
+	}
+
+	/**
+	 * Scans the page once and returns the positions of the tags we can inject around.
+	 *
+	 * @param html The rendered page
+	 *
+	 * @return The insertion points found in the page
+	 */
+	public static InsertionPoints scan( CharSequence html ) {
+		int	length			= html.length();
+		int	htmlOpenEnd		= -1;
+		int	headOpenEnd		= -1;
+		int	headClose		= -1;
+		int	bodyOpenStart	= -1;
+		int	bodyOpenEnd		= -1;
+		int	bodyClose		= -1;
+		int	pos				= indexOf( html, "<", 0 );
+
+		while ( pos >= 0 && pos < length - 1 ) {
+			char next = html.charAt( pos + 1 );
+
+			// Comments, doctypes and processing instructions
+			if ( next == '!' || next == '?' ) {
+				int end = startsWith( html, pos, "<!--" ) ? indexOf( html, "-->", pos + 4 ) : indexOf( html, ">", pos + 2 );
+				if ( end < 0 ) {
+					break;
+				}
+				pos = indexOf( html, "<", end + 1 );
+				continue;
+			}
+
+			boolean	closing		= next == '/';
+			int		nameStart	= closing ? pos + 2 : pos + 1;
+			int		nameEnd		= nameStart;
+			while ( nameEnd < length && isNameChar( html.charAt( nameEnd ) ) ) {
+				nameEnd++;
+			}
+			// A bare '<' in text content
+			if ( nameEnd == nameStart || !isLetter( html.charAt( nameStart ) ) ) {
+				pos = indexOf( html, "<", pos + 1 );
+				continue;
+			}
+
+			int tagEnd = findTagEnd( html, nameEnd );
+			if ( tagEnd < 0 ) {
+				break;
+			}
+
+			if ( closing ) {
+				if ( headClose < 0 && nameEquals( html, nameStart, nameEnd, "head" ) ) {
+					headClose = pos;
+				} else if ( nameEquals( html, nameStart, nameEnd, "body" ) ) {
+					bodyClose = pos;
+				}
+			} else if ( htmlOpenEnd < 0 && nameEquals( html, nameStart, nameEnd, "html" ) ) {
+				htmlOpenEnd = tagEnd + 1;
+			} else if ( headOpenEnd < 0 && nameEquals( html, nameStart, nameEnd, "head" ) ) {
+				headOpenEnd = tagEnd + 1;
+			} else if ( bodyOpenStart < 0 && nameEquals( html, nameStart, nameEnd, "body" ) ) {
+				bodyOpenStart	= pos;
+				bodyOpenEnd		= tagEnd + 1;
+			} else {
+				String rawText = rawTextElement( html, nameStart, nameEnd );
+				if ( rawText != null && html.charAt( tagEnd - 1 ) != '/' ) {
+					tagEnd = findRawTextEnd( html, tagEnd + 1, rawText );
+					if ( tagEnd < 0 ) {
+						break;
+					}
+				}
+			}
+			pos = indexOf( html, "<", tagEnd + 1 );
+		}
+
+		return new InsertionPoints( htmlOpenEnd, headOpenEnd, headClose, bodyOpenStart, bodyOpenEnd, bodyClose );
+	}
+
+	/**
+	 * Finds where head content goes: before the head end tag, where an open head meets the body, or in a new head
+	 * section right after the {@code <html>} start tag or before the {@code <body>} start tag.
+	 *
+	 * @return The index to insert at, or -1 if the page has no usable place for head content
+	 */
+	private static int headInsertionPoint( InsertionPoints points ) {
+		if ( points.headClose() >= 0 ) {
+			return points.bodyOpenStart() >= 0 && points.headClose() > points.bodyOpenStart() ? -1 : points.headClose();
+		}
+		// The head end tag is optional, so an open head ends where the body starts
+		if ( points.headOpenEnd() >= 0 ) {
+			return points.bodyOpenStart() > points.headOpenEnd() ? points.bodyOpenStart() : -1;
+		}
+		int insertAt = points.htmlOpenEnd() >= 0 ? points.htmlOpenEnd() : points.bodyOpenStart();
+		if ( insertAt < 0 || ( points.bodyOpenStart() >= 0 && insertAt > points.bodyOpenStart() ) ) {
+			return -1;
+		}
+		return insertAt;
+	}
+
+	private static boolean isEmpty( CharSequence content ) {
+		return content == null || content.length() == 0;
+	}
+
+	/**
+	 * Finds the closing '>' of a tag, skipping over quoted attribute values.
+	 *
+	 * @return The index of the '>' or -1 if the tag is never closed
+	 */
+	private static int findTagEnd( CharSequence html, int from ) {
+		int length = html.length();
+		for ( int i = from; i < length; i++ ) {
+			char c = html.charAt( i );
+			if ( c == '>' ) {
+				return i;
+			}
+			if ( c == '"' || c == '\'' ) {
+				i = indexOf( html, c == '"' ? "\"" : "'", i + 1 );
+				if ( i < 0 ) {
+					return -1;
+				}
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Finds the end of the end tag which closes a raw text element.
+	 *
+	 * @return The index of the '>' of the end tag or -1 if the element is never closed
+	 */
+	private static int findRawTextEnd( CharSequence html, int from, String name ) {
+		int pos = indexOf( html, "</", from );
+		while ( pos >= 0 ) {
+			int nameEnd = pos + 2 + name.length();
+			if ( nameEnd <= html.length() && nameEquals( html, pos + 2, nameEnd, name )
+			    && ( nameEnd == html.length() || !isNameChar( html.charAt( nameEnd ) ) ) ) {
+				return findTagEnd( html, nameEnd );
+			}
+			pos = indexOf( html, "</", pos + 2 );
+		}
+		return -1;
+	}
+
+	private static String rawTextElement( CharSequence html, int nameStart, int nameEnd ) {
+		for ( String name : RAW_TEXT_ELEMENTS ) {
+			if ( nameEquals( html, nameStart, nameEnd, name ) ) {
+				return name;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Case-insensitive comparison of a tag name against a lower case name
+	 */
+	private static boolean nameEquals( CharSequence html, int start, int end, String name ) {
+		if ( end - start != name.length() ) {
+			return false;
+		}
+		for ( int i = 0; i < name.length(); i++ ) {
+			char c = html.charAt( start + i );
+			if ( c >= 'A' && c <= 'Z' ) {
+				c += 'a' - 'A';
+			}
+			if ( c != name.charAt( i ) ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean startsWith( CharSequence html, int pos, String prefix ) {
+		if ( pos + prefix.length() > html.length() ) {
+			return false;
+		}
+		for ( int i = 0; i < prefix.length(); i++ ) {
+			if ( html.charAt( pos + i ) != prefix.charAt( i ) ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isLetter( char c ) {
+		return ( c >= 'a' && c <= 'z' ) || ( c >= 'A' && c <= 'Z' );
+	}
+
+	private static boolean isNameChar( char c ) {
+		return isLetter( c ) || ( c >= '0' && c <= '9' ) || c == '-' || c == ':' || c == '_';
+	}
+
+	/**
+	 * Searches with the backing buffer's own indexOf so a StringBuffer is only locked once per search
+	 */
+	private static int indexOf( CharSequence html, String str, int from ) {
+		if ( html instanceof StringBuffer buffer ) {
+			return buffer.indexOf( str, from );
+		}
+		if ( html instanceof StringBuilder builder ) {
+			return builder.indexOf( str, from );
+		}
+		return html.toString().indexOf( str, from );
+	}
+}
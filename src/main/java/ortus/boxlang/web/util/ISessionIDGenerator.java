@@ -0,0 +1,94 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.web.util;
+
+import java.util.UUID;
+
+import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.types.exceptions.BoxLangException;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
+
+/**
+ * Creates the IDs of new sessions.
+ *
+ * Applications choose a generator with the <code>sessionCookie.idGenerator</code> setting: <code>uuid</code> (the
+ * default), <code>secure</code>, or the class name of an implementation of this interface with a public no-arg
+ * constructor. Implementations must be thread safe and should not funnel every caller through a single lock, as new
+ * sessions tend to arrive in bursts.
+ */
+@FunctionalInterface
+public interface ISessionIDGenerator {
+
+	/**
+	 * The generator used when the application does not choose one
+	 */
+	String				DEFAULT		= "uuid";
+
+	/**
+	 * Random UUIDs, which share the JVM's single SecureRandom instance
+	 */
+	ISessionIDGenerator	RANDOM_UUID	= () -> UUID.randomUUID().toString();
+
+	/**
+	 * Create a new session ID
+	 *
+	 * @return The session ID
+	 */
+	public String generate();
+
+	/**
+	 * Build the generator for a setting, loading generator classes from the runtime's class path
+	 *
+	 * @param name  <code>uuid</code>, <code>secure</code> or the class name of an {@link ISessionIDGenerator}
+	 * @param bytes The random bytes in each ID, used by the <code>secure</code> generator
+	 *
+	 * @return The generator
+	 */
+	public static ISessionIDGenerator of( String name, int bytes ) {
+		return of( BoxRuntime.getInstance().getRuntimeContext(), name, bytes );
+	}
+
+	/**
+	 * Build the generator for an application's settings. Generator classes are loaded through the runtime's class
+	 * locator, so they can come from the application's Java settings as well as the runtime and its modules.
+	 *
+	 * @param context The context of the application the generator is for
+	 * @param name    <code>uuid</code>, <code>secure</code> or the class name of an {@link ISessionIDGenerator}
+	 * @param bytes   The random bytes in each ID, used by the <code>secure</code> generator
+	 *
+	 * @return The generator
+	 */
+	public static ISessionIDGenerator of( IBoxContext context, String name, int bytes ) {
+		if ( name == null || name.isBlank() || name.equalsIgnoreCase( "uuid" ) ) {
+			return RANDOM_UUID;
+		}
+		if ( name.equalsIgnoreCase( "secure" ) ) {
+			return new SecureSessionIDGenerator( bytes );
+		}
+		try {
+			return ( ISessionIDGenerator ) BoxRuntime.getInstance()
+			    .getClassLocator()
+			    .load( context, name, "java" )
+			    .invokeConstructor( context )
+			    .getTargetInstance();
+		} catch ( BoxLangException | ClassCastException e ) {
+			throw new BoxRuntimeException( "Invalid session ID generator [" + name + "]. Use uuid, secure or the class name of an ISessionIDGenerator.", e );
+		}
+	}
+}
@@ -28,20 +28,29 @@ public class KeyDictionary {
 
 	public static final Key	async					= Key.of( "async" );
 	public static final Key	allowedExtensions		= Key.of( "allowedExtensions" );
+	public static final Key	applications			= Key.of( "applications" );
 	public static final Key	attemptedServerFile		= Key.of( "attemptedServerFile" );
+	public static final Key	autoFlushBytes			= Key.of( "autoFlushBytes" );
 	public static final Key	blockedExtensions		= Key.of( "blockedExtensions" );
 	public static final Key	bx_template_path		= Key.of( "bx_template_path" );
 	public static final Key	clientDirectory			= Key.of( "clientDirectory" );
 	public static final Key	clientFile				= Key.of( "clientFile" );
 	public static final Key	clientFileExt			= Key.of( "clientFileExt" );
 	public static final Key	clientFileName			= Key.of( "clientFileName" );
+	public static final Key	concurrency				= Key.of( "concurrency" );
+	public static final Key	concurrencyLimit		= Key.of( "concurrencyLimit" );
 	public static final Key	contentSubType			= Key.of( "contentSubType" );
 	public static final Key	contentType				= Key.of( "contentType" );
+	public static final Key	count					= Key.of( "count" );
 	public static final Key	cors					= Key.of( "cors" );
 	public static final Key	dateLastAccessed		= Key.of( "dateLastAccessed" );
+	public static final Key	descriptorCache			= Key.of( "descriptorCache" );
+	public static final Key	descriptorCacheTTL		= Key.of( "descriptorCacheTTL" );
 	public static final Key	disableUpdate			= Key.of( "disableUpdate" );
 	public static final Key	disposition				= Key.of( "disposition" );
+	public static final Key	enabled					= Key.of( "enabled" );
 	public static final Key	encodevalue				= Key.of( "encodevalue" );
+	public static final Key	entries					= Key.of( "entries" );
 	public static final Key	fileExisted				= Key.of( "fileExisted" );
 	public static final Key	fileName				= Key.of( "fileName" );
 	public static final Key	fileSize				= Key.of( "fileSize" );
@@ -51,23 +60,48 @@ public class KeyDictionary {
 	public static final Key	fileWasOverwritten		= Key.of( "fileWasOverwritten" );
 	public static final Key	fileWasRenamed			= Key.of( "fileWasRenamed" );
 	public static final Key	fileWasSaved			= Key.of( "fileWasSaved" );
+	public static final Key	hitRate					= Key.of( "hitRate" );
+	public static final Key	hits					= Key.of( "hits" );
+	public static final Key	hostIdentityRefresh		= Key.of( "hostIdentityRefresh" );
+	public static final Key	idBytes					= Key.of( "idBytes" );
+	public static final Key	idGenerator				= Key.of( "idGenerator" );
+	public static final Key	inflight				= Key.of( "inflight" );
+	public static final Key	initialLimit			= Key.of( "initialLimit" );
 	public static final Key	keepAliveInterval		= Key.of( "keepAliveInterval" );
 	public static final Key	htmlBody				= Key.of( "htmlBody" );
 	public static final Key	htmlBodyIdMap			= Key.of( "htmlBodyIdMap" );
 	public static final Key	htmlFooter				= Key.of( "htmlFooter" );
 	public static final Key	htmlHead				= Key.of( "htmlHead" );
+	public static final Key	htmlInjection			= Key.of( "htmlInjection" );
 	public static final Key	httpOnly				= Key.of( "httponly" );
+	public static final Key	limit					= Key.of( "limit" );
+	public static final Key	max						= Key.of( "max" );
+	public static final Key	maxLimit				= Key.of( "maxLimit" );
+	public static final Key	mean					= Key.of( "mean" );
+	public static final Key	metrics					= Key.of( "metrics" );
 	public static final Key	mimeType				= Key.of( "mimeType" );
+	public static final Key	minLimit				= Key.of( "minLimit" );
+	public static final Key	misses					= Key.of( "misses" );
 	public static final Key	oldFileSize				= Key.of( "oldFileSize" );
 	public static final Key	onRequestEnd			= Key.of( "onRequestEnd" );
+	public static final Key	output					= Key.of( "output" );
+	public static final Key	phases					= Key.of( "phases" );
+	public static final Key	prefixes				= Key.of( "prefixes" );
+	public static final Key	rejected				= Key.of( "rejected" );
+	public static final Key	reissueFraction			= Key.of( "reissueFraction" );
+	public static final Key	reset					= Key.of( "reset" );
 	public static final Key	retry					= Key.of( "retry" );
+	public static final Key	retryAfter				= Key.of( "retryAfter" );
+	public static final Key	rtt						= Key.of( "rtt" );
 	public static final Key	sameSite				= Key.of( "sameSite" );
+	public static final Key	scopeLookupCache		= Key.of( "scopeLookupCache" );
 	public static final Key	sameSiteMode			= Key.of( "sameSiteMode" );
 	public static final Key	secure					= Key.of( "secure" );
 	public static final Key	serverDirectory			= Key.of( "serverDirectory" );
 	public static final Key	serverFile				= Key.of( "serverFile" );
 	public static final Key	serverFileExt			= Key.of( "serverFileExt" );
 	public static final Key	serverFileName			= Key.of( "serverFileName" );
+	public static final Key	serverTiming			= Key.of( "serverTiming" );
 	public static final Key	sessionCookie			= Key.of( "sessionCookie" );
 	public static final Key	silent					= Key.of( "silent" );
 	public static final Key	success					= Key.of( "success" );
@@ -75,8 +109,11 @@ public class KeyDictionary {
 	public static final Key	timeCreated				= Key.of( "timeCreated" );
 	public static final Key	timeout					= Key.of( "timeout" );
 	public static final Key	timeLastModified		= Key.of( "timeLastModified" );
+	public static final Key	ttl						= Key.of( "ttl" );
 	public static final Key	upload					= Key.of( "upload" );
 	public static final Key	uploadAll				= Key.of( "uploadAll" );
+	public static final Key	virtualThreads			= Key.of( "virtualThreads" );
+	public static final Key	web						= Key.of( "web" );
 	public static final Key	onWebExecutorRequest	= Key.of( "onWebExecutorRequest" );
 	public static final Key	updatedRequest			= Key.of( "updatedRequest" );
 	public static final Key	requestPath				= Key.of( "requestPath" );
@@ -0,0 +1,241 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.web.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.Struct;
+
+/**
+ * A lock-free latency histogram with logarithmic buckets.
+ *
+ * Durations are recorded in microseconds into buckets which double in width every eight buckets, so each bucket is
+ * within 12.5% of the values it holds, from 1 microsecond up to roughly 19 hours. Counts can be striped across several
+ * arrays chosen by thread id so concurrent requests rarely contend on the same cache line, at the cost of a couple of
+ * kilobytes per stripe. Recording a value is a couple of atomic adds and never allocates; reading the percentiles
+ * merges the stripes.
+ */
+public class LatencyHistogram {
+
+	/**
+	 * The number of bits of precision kept inside each power of two
+	 */
+	private static final int		SUB_BUCKET_BITS		= 3;
+	private static final int		SUB_BUCKET_COUNT	= 1 << SUB_BUCKET_BITS;
+
+	/**
+	 * The largest power of two we track, in microseconds. Larger values land in the last bucket.
+	 */
+	private static final int		MAX_MAGNITUDE		= 36;
+
+	private static final int		BUCKET_COUNT		= ( MAX_MAGNITUDE - SUB_BUCKET_BITS + 2 ) * SUB_BUCKET_COUNT;
+
+	/**
+	 * Per stripe slots which follow the buckets
+	 */
+	private static final int		COUNT_SLOT			= BUCKET_COUNT;
+	private static final int		SUM_SLOT			= BUCKET_COUNT + 1;
+	private static final int		MAX_SLOT			= BUCKET_COUNT + 2;
+	private static final int		STRIPE_LENGTH		= BUCKET_COUNT + 3;
+
+	/**
+	 * The number of stripes used by default, one per processor up to 16
+	 */
+	static final int				STRIPE_COUNT		= Integer.highestOneBit( Math.max( 1, Math.min( 16, Runtime.getRuntime().availableProcessors() ) ) );
+
+	private static final double[]	PERCENTILES			= { 50, 90, 99, 99.9 };
+	private static final Key[]		PERCENTILE_KEYS		= { Key.of( "p50" ), Key.of( "p90" ), Key.of( "p99" ), Key.of( "p999" ) };
+
+	private final AtomicLongArray[]	stripes;
+	private final int				stripeMask;
+
+	/**
+	 * Constructor, with one stripe per processor up to 16
+	 */
+	public LatencyHistogram() {
+		this( STRIPE_COUNT );
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param stripeCount The number of stripes to spread the counts over, rounded down to a power of two
+	 */
+	public LatencyHistogram( int stripeCount ) {
+		this.stripes	= new AtomicLongArray[ Integer.highestOneBit( Math.max( 1, stripeCount ) ) ];
+		this.stripeMask	= stripes.length - 1;
+		for ( int i = 0; i < stripes.length; i++ ) {
+			stripes[ i ] = new AtomicLongArray( STRIPE_LENGTH );
+		}
+	}
+
+	/**
+	 * Record a duration
+	 *
+	 * @param nanos The duration in nanoseconds
+	 */
+	public void record( long nanos ) {
+		long			micros	= Math.max( 0, nanos / 1000 );
+		AtomicLongArray	stripe	= stripes[ ( int ) ( Thread.currentThread().threadId() & stripeMask ) ];
+		stripe.incrementAndGet( bucketIndex( micros ) );
+		stripe.incrementAndGet( COUNT_SLOT );
+		stripe.addAndGet( SUM_SLOT, micros );
+		long max = stripe.get( MAX_SLOT );
+		while ( micros > max && !stripe.compareAndSet( MAX_SLOT, max, micros ) ) {
+			max = stripe.get( MAX_SLOT );
+		}
+	}
+
+	/**
+	 * Get the number of recorded durations
+	 *
+	 * @return The count
+	 */
+	public long getCount() {
+		long count = 0;
+		for ( AtomicLongArray stripe : stripes ) {
+			count += stripe.get( COUNT_SLOT );
+		}
+		return count;
+	}
+
+	/**
+	 * Get the duration below which the given percentage of recorded durations fall
+	 *
+	 * @param percentile The percentile, from 0 to 100
+	 *
+	 * @return The percentile in microseconds, as the upper bound of its bucket, or 0 if nothing has been recorded
+	 */
+	public long getPercentile( double percentile ) {
+		long[]	counts	= mergeBuckets();
+		long	total	= 0;
+		for ( long count : counts ) {
+			total += count;
+		}
+		return percentile( counts, total, percentile );
+	}
+
+	/**
+	 * Get a summary of the recorded durations. Times are in milliseconds.
+	 *
+	 * @return A struct with the count, mean, max and the 50th, 90th, 99th and 99.9th percentiles
+	 */
+	public IStruct getSnapshot() {
+		long[]	counts	= mergeBuckets();
+		long	total	= 0;
+		long	sum		= 0;
+		long	max		= 0;
+		for ( long count : counts ) {
+			total += count;
+		}
+		for ( AtomicLongArray stripe : stripes ) {
+			sum	+= stripe.get( SUM_SLOT );
+			max	= Math.max( max, stripe.get( MAX_SLOT ) );
+		}
+
+		IStruct snapshot = Struct.of(
+		    KeyDictionary.count, total,
+		    KeyDictionary.mean, total == 0 ? 0d : toMillis( sum ) / total,
+		    KeyDictionary.max, toMillis( max )
+		);
+		for ( int i = 0; i < PERCENTILES.length; i++ ) {
+			snapshot.put( PERCENTILE_KEYS[ i ], toMillis( Math.min( max, percentile( counts, total, PERCENTILES[ i ] ) ) ) );
+		}
+		return snapshot;
+	}
+
+	/**
+	 * Clear all recorded durations. Durations recorded while resetting may be lost.
+	 */
+	public void reset() {
+		for ( AtomicLongArray stripe : stripes ) {
+			for ( int i = 0; i < STRIPE_LENGTH; i++ ) {
+				stripe.set( i, 0 );
+			}
+		}
+	}
+
+	/**
+	 * Find the bucket for a value. Values below the sub bucket count get a bucket each, after that every power of two
+	 * is split into {@link #SUB_BUCKET_COUNT} buckets.
+	 *
+	 * @param micros The value
+	 *
+	 * @return The bucket index
+	 */
+	static int bucketIndex( long micros ) {
+		if ( micros < SUB_BUCKET_COUNT ) {
+			return ( int ) micros;
+		}
+		int magnitude = 63 - Long.numberOfLeadingZeros( micros );
+		if ( magnitude > MAX_MAGNITUDE ) {
+			return BUCKET_COUNT - 1;
+		}
+		int subBucket = ( int ) ( micros >>> ( magnitude - SUB_BUCKET_BITS ) ) & ( SUB_BUCKET_COUNT - 1 );
+		return ( magnitude - SUB_BUCKET_BITS + 1 ) * SUB_BUCKET_COUNT + subBucket;
+	}
+
+	/**
+	 * Get the largest value which falls into a bucket
+	 *
+	 * @param index The bucket index
+	 *
+	 * @return The bucket's upper bound in microseconds
+	 */
+	static long bucketUpperBound( int index ) {
+		if ( index < SUB_BUCKET_COUNT ) {
+			return index;
+		}
+		int	magnitude	= index / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+		int	subBucket	= index % SUB_BUCKET_COUNT;
+		int	shift		= magnitude - SUB_BUCKET_BITS;
+		return ( ( long ) ( SUB_BUCKET_COUNT + subBucket + 1 ) << shift ) - 1;
+	}
+
+	private long[] mergeBuckets() {
+		long[] counts = new long[ BUCKET_COUNT ];
+		for ( AtomicLongArray stripe : stripes ) {
+			for ( int i = 0; i < BUCKET_COUNT; i++ ) {
+				counts[ i ] += stripe.get( i );
+			}
+		}
+		return counts;
+	}
+
+	private static long percentile( long[] counts, long total, double percentile ) {
+		if ( total == 0 ) {
+			return 0;
+		}
+		long	target	= Math.max( 1, ( long ) Math.ceil( total * percentile / 100d ) );
+		long	seen	= 0;
+		for ( int i = 0; i < counts.length; i++ ) {
+			seen += counts[ i ];
+			if ( seen >= target ) {
+				return bucketUpperBound( i );
+			}
+		}
+		return bucketUpperBound( counts.length - 1 );
+	}
+
+	private static double toMillis( long micros ) {
+		return micros / ( double ) TimeUnit.MILLISECONDS.toMicros( 1 );
+	}
+}
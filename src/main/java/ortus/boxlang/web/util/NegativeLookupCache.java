@@ -0,0 +1,116 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.web.util;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.Struct;
+
+/**
+ * Remembers, for one request, the keys which an unscoped lookup found in none of the CGI, URL and form scopes.
+ *
+ * Code such as <code>isDefined( "foo" )</code> or <code>foo ?: "default"</code> on an undeclared name searches all
+ * three scopes, including the CGI scope's resolvers, every time it runs. Each remembered miss is tied to a stamp of
+ * the scopes' writes, and the whole cache is dropped as soon as the stamp changes, so a key written to any of them is
+ * found again. The hit and miss counters are kept for the whole runtime.
+ */
+public class NegativeLookupCache {
+
+	/**
+	 * The most keys remembered for a single request
+	 */
+	private static final int			MAX_ENTRIES	= 1024;
+
+	private static final LongAdder		hits		= new LongAdder();
+	private static final LongAdder		misses		= new LongAdder();
+
+	/**
+	 * The keys known to be missing while the scopes were at {@link #stamp}
+	 */
+	private final Set<Key>				keys		= new HashSet<>();
+
+	/**
+	 * The write stamp of the scopes when the keys were found missing
+	 */
+	private long						stamp		= 0;
+
+	/**
+	 * Check whether a key is known to be missing
+	 *
+	 * @param key          The key to look for
+	 * @param currentStamp The current write stamp of the searched scopes
+	 *
+	 * @return True if the key was found missing and none of the scopes has been written since
+	 */
+	public synchronized boolean isMissing( Key key, long currentStamp ) {
+		if ( currentStamp != stamp ) {
+			keys.clear();
+			stamp = currentStamp;
+		}
+		if ( keys.contains( key ) ) {
+			hits.increment();
+			return true;
+		}
+		misses.increment();
+		return false;
+	}
+
+	/**
+	 * Remember that a key is missing
+	 *
+	 * @param key          The key which was not found
+	 * @param currentStamp The write stamp of the searched scopes when the key was not found
+	 */
+	public synchronized void addMissing( Key key, long currentStamp ) {
+		if ( currentStamp != stamp ) {
+			keys.clear();
+			stamp = currentStamp;
+		}
+		if ( keys.size() < MAX_ENTRIES ) {
+			keys.add( key );
+		}
+	}
+
+	/**
+	 * Get the hit and miss counters of every request in the runtime
+	 *
+	 * @return A struct with the hits, misses and the hit rate, from 0 to 1
+	 */
+	public static IStruct getStats() {
+		long	hitCount	= hits.sum();
+		long	missCount	= misses.sum();
+		long	lookups		= hitCount + missCount;
+		return Struct.of(
+		    KeyDictionary.hits, hitCount,
+		    KeyDictionary.misses, missCount,
+		    KeyDictionary.hitRate, lookups == 0 ? 0d : hitCount / ( double ) lookups
+		);
+	}
+
+	/**
+	 * Clear the hit and miss counters
+	 */
+	public static void resetStats() {
+		hits.reset();
+		misses.reset();
+	}
+}
@@ -22,6 +22,7 @@ import java.util.Objects;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
 
 import ortus.boxlang.runtime.BoxRuntime;
 import ortus.boxlang.runtime.async.executors.BoxExecutor;
@@ -108,7 +109,14 @@ public class SSEEmitter implements AutoCloseable {
 
 	private final String				connectionId;
 	private final PrintWriter			writer;
-	private final AtomicBoolean			closed	= new AtomicBoolean( false );
+	private final AtomicBoolean			closed		= new AtomicBoolean( false );
+	/**
+	 * Serializes writes from the callback and the keep-alive task. This is a lock rather than a monitor so a virtual
+	 * thread waiting for the other writer unmounts instead of pinning its carrier thread. The response writer is a
+	 * PrintWriter subclass, which still synchronizes internally, so a write blocked on a slow client does pin the
+	 * carrier. Each event is built up front and written with a single write and flush to keep that window short.
+	 */
+	private final ReentrantLock			writeLock	= new ReentrantLock();
 	private final AtomicBoolean			firstMessage;
 	private final Integer				retry;
 	private ScheduledFuture<?>			keepAliveTask;
@@ -183,79 +191,89 @@ public class SSEEmitter implements AutoCloseable {
 			return;
 		}
 
+		// Build the whole event before taking the lock, so it can be written in one go
+		StringBuilder message = new StringBuilder();
 		try {
-			synchronized ( writer ) {
-				// Send retry on first message only
-				if ( firstMessage.getAndSet( false ) && retry > 0 ) {
-					appLogger.debug( "[SSE:" + connectionId + "] sending retry header: " + retry + "ms" );
-					writer.write( "retry: " + retry + "\n" );
-				}
-
-				// Send event name if provided
-				if ( event != null && !event.isEmpty() ) {
-					// SSE spec: event field cannot contain newlines, strip them out
-					String sanitizedEvent = sseField( event );
-					appLogger.debug( "[SSE:" + connectionId + "] sending event: " + sanitizedEvent );
-					writer.write( "event: " + sanitizedEvent + "\n" );
-				}
+			// Send event name if provided
+			if ( event != null && !event.isEmpty() ) {
+				// SSE spec: event field cannot contain newlines, strip them out
+				String sanitizedEvent = sseField( event );
+				appLogger.debug( "[SSE:" + connectionId + "] sending event: " + sanitizedEvent );
+				message.append( "event: " ).append( sanitizedEvent ).append( '\n' );
+			}
 
-				// Send ID if provided
-				if ( id != null ) {
-					// SSE spec: id field cannot contain newlines, strip them out
-					String sanitizedId = sseField( StringCaster.cast( id ) );
-					appLogger.debug( "[SSE:" + connectionId + "] sending id: " + sanitizedId );
-					writer.write( "id: " + sanitizedId + "\n" );
-				}
+			// Send ID if provided
+			if ( id != null ) {
+				// SSE spec: id field cannot contain newlines, strip them out
+				String sanitizedId = sseField( StringCaster.cast( id ) );
+				appLogger.debug( "[SSE:" + connectionId + "] sending id: " + sanitizedId );
+				message.append( "id: " ).append( sanitizedId ).append( '\n' );
+			}
 
-				// Serialize and send data
-				String dataString;
-				if ( data instanceof String castedData ) {
-					dataString = castedData;
-				} else if ( IsSimpleValue.isSimpleValue( data ) ) {
-					dataString = StringCaster.cast( data );
-				} else {
-					// Complex types -> JSON
-					appLogger.debug( "[SSE:" + connectionId + "] serializing complex data to JSON" );
-					dataString = JSONUtil.getJSONBuilder().asString( data );
-				}
+			// Serialize and send data
+			String dataString;
+			if ( data instanceof String castedData ) {
+				dataString = castedData;
+			} else if ( IsSimpleValue.isSimpleValue( data ) ) {
+				dataString = StringCaster.cast( data );
+			} else {
+				// Complex types -> JSON
+				appLogger.debug( "[SSE:" + connectionId + "] serializing complex data to JSON" );
+				dataString = JSONUtil.getJSONBuilder().asString( data );
+			}
 
-				if ( appLogger.isDebugEnabled() ) {
-					appLogger
-					    .debug(
-					        "[SSE:" + connectionId + "] sending data: " + ( dataString.length() > 100 ? dataString.substring( 0, 100 ) + "..." : dataString ) );
-				}
+			if ( appLogger.isDebugEnabled() ) {
+				appLogger
+				    .debug(
+				        "[SSE:" + connectionId + "] sending data: " + ( dataString.length() > 100 ? dataString.substring( 0, 100 ) + "..." : dataString ) );
+			}
 
-				// Handle multi-line data (each line must be prefixed with "data: ")
-				// Split on any line ending: \r\n (CRLF), \n (LF), or \r (CR)
-				String[] lines = dataString.split( "\\r?\\n|\\r" );
-				for ( String line : lines ) {
-					// Guardrail: split very large chunks (> 32KB) to prevent buffer issues
-					if ( line.length() > MAX_CHUNK_SIZE ) {
-						appLogger.debug( "[SSE:" + connectionId + "] splitting large line (" + line.length() + " bytes) into chunks" );
-						int offset = 0;
-						while ( offset < line.length() ) {
-							int		chunkEnd	= Math.min( offset + MAX_CHUNK_SIZE, line.length() );
-							String	chunk		= line.substring( offset, chunkEnd );
-							writer.write( "data: " + chunk + "\n" );
-							offset = chunkEnd;
-						}
-					} else {
-						writer.write( "data: " + line + "\n" );
+			// Handle multi-line data (each line must be prefixed with "data: ")
+			// Split on any line ending: \r\n (CRLF), \n (LF), or \r (CR)
+			String[] lines = dataString.split( "\\r?\\n|\\r" );
+			for ( String line : lines ) {
+				// Guardrail: split very large chunks (> 32KB) to prevent buffer issues
+				if ( line.length() > MAX_CHUNK_SIZE ) {
+					appLogger.debug( "[SSE:" + connectionId + "] splitting large line (" + line.length() + " bytes) into chunks" );
+					int offset = 0;
+					while ( offset < line.length() ) {
+						int		chunkEnd	= Math.min( offset + MAX_CHUNK_SIZE, line.length() );
+						String	chunk		= line.substring( offset, chunkEnd );
+						message.append( "data: " ).append( chunk ).append( '\n' );
+						offset = chunkEnd;
 					}
+				} else {
+					message.append( "data: " ).append( line ).append( '\n' );
 				}
+			}
 
-				// End of message
-				writer.write( "\n" );
-				writer.flush();
-				if ( writer.checkError() ) {
-					appLogger.debug( "[SSE:" + connectionId + "] client disconnected (writer error)" );
-					close();
-				}
+			// End of message
+			message.append( '\n' );
+		} catch ( Exception e ) {
+			appLogger.error( "[SSE:" + connectionId + "] Failed to serialize event: " + e.getMessage(), e );
+			close();
+			return;
+		}
+
+		writeLock.lock();
+		try {
+			// Send retry on first message only
+			if ( firstMessage.getAndSet( false ) && retry > 0 ) {
+				appLogger.debug( "[SSE:" + connectionId + "] sending retry header: " + retry + "ms" );
+				message.insert( 0, "retry: " + retry + "\n" );
+			}
+			writer.write( message.toString() );
+			writer.flush();
+			if ( writer.checkError() ) {
+				appLogger.debug( "[SSE:" + connectionId + "] client disconnected (writer error)" );
+				close();
 			}
 		} catch ( Exception e ) {
 			appLogger.debug( "[SSE:" + connectionId + "] client disconnected during send: " + e.getMessage() );
 			// Client disconnected
 			close();
+		} finally {
+			writeLock.unlock();
 		}
 	}
 
@@ -294,20 +312,21 @@ public class SSEEmitter implements AutoCloseable {
 			return;
 		}
 
+		writeLock.lock();
 		try {
-			synchronized ( writer ) {
-				appLogger.debug( "[SSE:" + connectionId + "] sending comment: " + text );
-				writer.write( ":" + text + "\n\n" );
-				writer.flush();
-				if ( writer.checkError() ) {
-					appLogger.debug( "[SSE:" + connectionId + "] client disconnected (writer error)" );
-					close();
-				}
+			appLogger.debug( "[SSE:" + connectionId + "] sending comment: " + text );
+			writer.write( ":" + text + "\n\n" );
+			writer.flush();
+			if ( writer.checkError() ) {
+				appLogger.debug( "[SSE:" + connectionId + "] client disconnected (writer error)" );
+				close();
 			}
 		} catch ( Exception e ) {
 			appLogger.error( "[SSE:" + connectionId + "] Failed to send comment: " + e.getMessage(), e );
 			// Client disconnected
 			close();
+		} finally {
+			writeLock.unlock();
 		}
 	}
 
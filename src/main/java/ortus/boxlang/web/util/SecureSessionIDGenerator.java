@@ -0,0 +1,110 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.web.util;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
+
+/**
+ * Session IDs made of random bytes from a set of DRBG instances, encoded as URL safe base64 without padding.
+ *
+ * Each SecureRandom serializes its callers, and {@link java.util.UUID#randomUUID()} sends every thread in the JVM to
+ * the same one. Here callers are striped across several generators by thread id, so a burst of new sessions spreads
+ * over as many locks as there are stripes. Striping rather than one generator per thread keeps the number of seeded
+ * instances fixed when requests run on virtual threads.
+ *
+ * Session IDs are compared case insensitively, which leaves a little over 5 bits of each base64 character, so the
+ * default 16 bytes still carry more than 110 bits once case is ignored.
+ */
+public final class SecureSessionIDGenerator implements ISessionIDGenerator {
+
+	/**
+	 * The fewest random bytes an ID may have
+	 */
+	public static final int				MIN_BYTES		= 16;
+
+	/**
+	 * The most random bytes an ID may have
+	 */
+	public static final int				MAX_BYTES		= 64;
+
+	/**
+	 * The random bytes in each ID when the application does not say
+	 */
+	public static final int				DEFAULT_BYTES	= 16;
+
+	private static final int			STRIPE_COUNT	= Integer.highestOneBit( Math.max( 1, Math.min( 64, Runtime.getRuntime().availableProcessors() * 2 ) ) );
+
+	private static final Base64.Encoder	ENCODER			= Base64.getUrlEncoder().withoutPadding();
+
+	private final SecureRandom[]		stripes			= new SecureRandom[ STRIPE_COUNT ];
+
+	/**
+	 * The random bytes in each ID
+	 */
+	private final int					bytes;
+
+	/**
+	 * Constructor
+	 */
+	public SecureSessionIDGenerator() {
+		this( DEFAULT_BYTES );
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param bytes The random bytes in each ID, from {@link #MIN_BYTES} to {@link #MAX_BYTES}
+	 */
+	public SecureSessionIDGenerator( int bytes ) {
+		if ( bytes < MIN_BYTES || bytes > MAX_BYTES ) {
+			throw new BoxRuntimeException( "Session ID bytes must be between " + MIN_BYTES + " and " + MAX_BYTES + ", got [" + bytes + "]" );
+		}
+		this.bytes = bytes;
+		for ( int i = 0; i < STRIPE_COUNT; i++ ) {
+			stripes[ i ] = newRandom();
+		}
+	}
+
+	@Override
+	public String generate() {
+		byte[] id = new byte[ bytes ];
+		stripes[ ( int ) ( Thread.currentThread().threadId() & ( STRIPE_COUNT - 1 ) ) ].nextBytes( id );
+		return ENCODER.encodeToString( id );
+	}
+
+	/**
+	 * Get the random bytes in each ID
+	 *
+	 * @return The byte count
+	 */
+	public int getBytes() {
+		return bytes;
+	}
+
+	private static SecureRandom newRandom() {
+		try {
+			return SecureRandom.getInstance( "DRBG" );
+		} catch ( NoSuchAlgorithmException e ) {
+			return new SecureRandom();
+		}
+	}
+}
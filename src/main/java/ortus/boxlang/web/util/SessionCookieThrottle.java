@@ -0,0 +1,111 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.web.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import ortus.boxlang.web.exchange.SessionCookiePolicy;
+
+/**
+ * Remembers when the session cookie was last sent for each session, so it is only sent again once enough of its
+ * lifetime has passed to be worth sliding the expiration forward.
+ *
+ * Sending the cookie on every response adds header bytes, renders the expiry date and makes the response uncacheable
+ * by shared caches. A session we know nothing about, e.g. after a restart, on another node, or once the table has been
+ * cleared, simply gets its cookie sent again, so losing an entry is always safe.
+ */
+public final class SessionCookieThrottle {
+
+	/**
+	 * The most sessions we will remember before starting over
+	 */
+	private static final int								MAX_ENTRIES	= 50_000;
+
+	/**
+	 * Session ID to the last cookie sent for it
+	 */
+	private static final ConcurrentHashMap<String, Issued>	issued		= new ConcurrentHashMap<>();
+
+	/**
+	 * The last session cookie sent for a session
+	 *
+	 * @param policy    The policy the cookie was issued with
+	 * @param issuedAt  When it was sent, in epoch milliseconds
+	 * @param expiresAt When it expires, in epoch milliseconds
+	 */
+	private record Issued( SessionCookiePolicy policy, long issuedAt, long expiresAt ) {
+	}
+
+	private SessionCookieThrottle() {
+	}
+
+	/**
+	 * Check if the session cookie for an existing session should be sent again
+	 *
+	 * @param sessionID The session ID
+	 * @param policy    The application's session cookie policy
+	 * @param now       The current time in epoch milliseconds
+	 *
+	 * @return True if the cookie was never sent, was sent with different settings, or more than the policy's reissue
+	 *         fraction of its lifetime has passed since it was
+	 */
+	public static boolean isDue( String sessionID, SessionCookiePolicy policy, long now ) {
+		if ( policy.getReissueFraction() <= 0 ) {
+			return true;
+		}
+		Issued last = issued.get( sessionID );
+		if ( last == null || last.policy() != policy || last.expiresAt() <= last.issuedAt() ) {
+			return true;
+		}
+		return now - last.issuedAt() >= policy.getReissueFraction() * ( last.expiresAt() - last.issuedAt() );
+	}
+
+	/**
+	 * Record that the session cookie was sent
+	 *
+	 * @param sessionID The session ID
+	 * @param policy    The policy the cookie was issued with
+	 * @param now       The current time in epoch milliseconds
+	 * @param expiresAt When the cookie expires, in epoch milliseconds
+	 */
+	public static void issued( String sessionID, SessionCookiePolicy policy, long now, long expiresAt ) {
+		if ( policy.getReissueFraction() <= 0 ) {
+			return;
+		}
+		if ( issued.size() >= MAX_ENTRIES ) {
+			issued.clear();
+		}
+		issued.put( sessionID, new Issued( policy, now, expiresAt ) );
+	}
+
+	/**
+	 * Forget a session, e.g. when it is invalidated or rotated
+	 *
+	 * @param sessionID The session ID
+	 */
+	public static void forget( String sessionID ) {
+		issued.remove( sessionID );
+	}
+
+	/**
+	 * Forget every session
+	 */
+	public static void clear() {
+		issued.clear();
+	}
+}
@@ -0,0 +1,99 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.web.util;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.dynamic.casters.BooleanCaster;
+import ortus.boxlang.runtime.types.IStruct;
+
+/**
+ * Opt-in virtual thread execution for SSE streams.
+ *
+ * The mode is enabled with the <code>web.virtualThreads</code> runtime setting, or programmatically by runtimes which
+ * manage their own request threads. When enabled, SSE streams run their callbacks on virtual threads instead of the
+ * shared <code>io-tasks</code> pool, so a long-lived stream no longer ties up a platform thread of its own. Requests
+ * themselves always run on the thread the container dispatched them on.
+ */
+public final class VirtualThreads {
+
+	/**
+	 * Creates a new virtual thread for every task. There is nothing to pool or shut down.
+	 */
+	private static final ExecutorService	executor	= Executors.newThreadPerTaskExecutor( Thread.ofVirtual().name( "bx-web-virtual-", 0 ).factory() );
+
+	/**
+	 * The mode set programmatically, which takes precedence over the runtime setting. Null to use the setting.
+	 */
+	private static volatile Boolean			override;
+
+	/**
+	 * The <code>web.virtualThreads</code> runtime setting, resolved on first use after each configuration load
+	 */
+	private static volatile Boolean			configured;
+
+	private VirtualThreads() {
+	}
+
+	/**
+	 * Check if SSE streams should run on virtual threads
+	 *
+	 * @return true if the mode is enabled
+	 */
+	public static boolean isEnabled() {
+		Boolean result = override;
+		if ( result != null ) {
+			return result;
+		}
+		result = configured;
+		if ( result == null ) {
+			Object webSettings = BoxRuntime.getInstance().getRuntimeContext().getConfig().get( KeyDictionary.web );
+			result		= webSettings instanceof IStruct settings
+			    && BooleanCaster.attempt( settings.get( KeyDictionary.virtualThreads ) ).getOrDefault( false );
+			configured	= result;
+		}
+		return result;
+	}
+
+	/**
+	 * Enable or disable the mode, overriding the <code>web.virtualThreads</code> runtime setting.
+	 *
+	 * @param virtualThreads true to run SSE streams on virtual threads, null to go back to the runtime setting
+	 */
+	public static void setEnabled( Boolean virtualThreads ) {
+		override = virtualThreads;
+	}
+
+	/**
+	 * Forget the <code>web.virtualThreads</code> runtime setting, so it is read again from a newly loaded configuration
+	 */
+	public static void configurationLoaded() {
+		configured = null;
+	}
+
+	/**
+	 * Get the executor which runs every task on a new virtual thread
+	 *
+	 * @return The executor
+	 */
+	public static ExecutorService getExecutor() {
+		return executor;
+	}
+}
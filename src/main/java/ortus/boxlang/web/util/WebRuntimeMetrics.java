@@ -0,0 +1,190 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.web.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.Struct;
+
+/**
+ * Latency histograms for each phase of the web request lifecycle, for the whole runtime and per application.
+ *
+ * Phase times are collected on the request context while the request runs and recorded here once it completes.
+ * Recording never allocates once an application has been seen. The runtime histograms are striped for concurrent
+ * recording; the per application ones use a single stripe each, so an application costs about 16 KB.
+ */
+public final class WebRuntimeMetrics {
+
+	/**
+	 * The phases of a web request
+	 */
+	public enum Phase {
+
+		DESCRIPTOR( "app" ),
+		REQUEST_START( "start" ),
+		REQUEST( "request" ),
+		REQUEST_END( "end" ),
+		FLUSH( "flush" ),
+		ERROR( "error" ),
+		TOTAL( "total" );
+
+		/**
+		 * All the phases, so callers don't need to copy {@link #values()}
+		 */
+		public static final Phase[]	ALL	= values();
+
+		private final String		timingName;
+		private final Key			key;
+
+		Phase( String timingName ) {
+			this.timingName	= timingName;
+			this.key		= Key.of( timingName );
+		}
+
+		/**
+		 * Get the name used for the phase in the Server-Timing header and the metrics struct
+		 *
+		 * @return The phase name
+		 */
+		public String getTimingName() {
+			return timingName;
+		}
+
+		/**
+		 * Get the key used for the phase in the metrics struct
+		 *
+		 * @return The phase key
+		 */
+		public Key getKey() {
+			return key;
+		}
+	}
+
+	/**
+	 * The most applications we will keep separate histograms for
+	 */
+	private static final int											MAX_APPLICATIONS	= 100;
+
+	/**
+	 * The histograms for every request in the runtime, indexed by phase
+	 */
+	private static final LatencyHistogram[]								runtimePhases		= newPhaseHistograms( LatencyHistogram.STRIPE_COUNT );
+
+	/**
+	 * The histograms for each application, indexed by phase
+	 */
+	private static final ConcurrentHashMap<String, LatencyHistogram[]>	applicationPhases	= new ConcurrentHashMap<>();
+
+	private WebRuntimeMetrics() {
+	}
+
+	/**
+	 * Record the phase times of a completed request
+	 *
+	 * @param applicationName The name of the request's application, or null if it never got that far
+	 * @param phaseNanos      The time spent in each phase, indexed by {@link Phase#ordinal()}. Phases which did not run are negative.
+	 */
+	public static void recordRequest( String applicationName, long[] phaseNanos ) {
+		LatencyHistogram[] application = getApplicationHistograms( applicationName );
+		for ( int i = 0; i < phaseNanos.length; i++ ) {
+			if ( phaseNanos[ i ] < 0 ) {
+				continue;
+			}
+			runtimePhases[ i ].record( phaseNanos[ i ] );
+			if ( application != null ) {
+				application[ i ].record( phaseNanos[ i ] );
+			}
+		}
+	}
+
+	/**
+	 * Build a Server-Timing header value from the phase times of a request
+	 *
+	 * @param phaseNanos The time spent in each phase, indexed by {@link Phase#ordinal()}. Phases which did not run are negative.
+	 *
+	 * @return The header value, e.g. <code>app;dur=0.12, start;dur=0.03, request;dur=8.41</code>
+	 */
+	public static String toServerTiming( long[] phaseNanos ) {
+		StringBuilder header = new StringBuilder( 96 );
+		for ( Phase phase : Phase.ALL ) {
+			long nanos = phaseNanos[ phase.ordinal() ];
+			if ( nanos < 0 ) {
+				continue;
+			}
+			if ( header.length() > 0 ) {
+				header.append( ", " );
+			}
+			header.append( phase.getTimingName() ).append( ";dur=" ).append( ( nanos / 1000 ) / 1000d );
+		}
+		return header.toString();
+	}
+
+	/**
+	 * Get a snapshot of every histogram. Times are in milliseconds.
+	 *
+	 * @return A struct with a <code>phases</code> struct for the whole runtime and an <code>applications</code> struct
+	 *         holding the same for each application
+	 */
+	public static IStruct getSnapshot() {
+		IStruct applications = new Struct();
+		applicationPhases.forEach( ( name, histograms ) -> applications.put( Key.of( name ), snapshot( histograms ) ) );
+		return Struct.of(
+		    KeyDictionary.phases, snapshot( runtimePhases ),
+		    KeyDictionary.applications, applications
+		);
+	}
+
+	/**
+	 * Clear every histogram
+	 */
+	public static void reset() {
+		for ( LatencyHistogram histogram : runtimePhases ) {
+			histogram.reset();
+		}
+		applicationPhases.clear();
+	}
+
+	private static LatencyHistogram[] getApplicationHistograms( String applicationName ) {
+		if ( applicationName == null || applicationName.isEmpty() ) {
+			return null;
+		}
+		LatencyHistogram[] histograms = applicationPhases.get( applicationName );
+		if ( histograms == null && applicationPhases.size() < MAX_APPLICATIONS ) {
+			histograms = applicationPhases.computeIfAbsent( applicationName, name -> newPhaseHistograms( 1 ) );
+		}
+		return histograms;
+	}
+
+	private static IStruct snapshot( LatencyHistogram[] histograms ) {
+		IStruct phases = new Struct( IStruct.TYPES.LINKED );
+		for ( Phase phase : Phase.ALL ) {
+			phases.put( phase.getKey(), histograms[ phase.ordinal() ].getSnapshot() );
+		}
+		return phases;
+	}
+
+	private static LatencyHistogram[] newPhaseHistograms( int stripeCount ) {
+		LatencyHistogram[] histograms = new LatencyHistogram[ Phase.ALL.length ];
+		for ( int i = 0; i < histograms.length; i++ ) {
+			histograms[ i ] = new LatencyHistogram( stripeCount );
+		}
+		return histograms;
+	}
+}
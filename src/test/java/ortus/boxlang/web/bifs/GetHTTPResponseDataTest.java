@@ -122,6 +122,18 @@ public class GetHTTPResponseDataTest extends BaseWebTest {
 		assertThat( cookies.containsKey( Key.of( "cookieB" ) ) ).isTrue();
 	}
 
+	@Test
+	@DisplayName( "It returns cookies set in the request which have not been sent yet" )
+	public void testWithPendingCookies() {
+		runtime.executeSource( "cookie.pending = 'yes';", context );
+		runtime.executeSource( "result = getHTTPResponseData();", context );
+
+		IStruct	data	= ( IStruct ) variables.get( result );
+		IStruct	cookies	= ( IStruct ) data.get( Key.of( "cookies" ) );
+
+		assertThat( cookies.containsKey( Key.of( "pending" ) ) ).isTrue();
+	}
+
 	@Test
 	@DisplayName( "It returns empty structs by default for headers and cookies" )
 	public void testHeadersAndCookiesDefaultToEmptyStructs() {
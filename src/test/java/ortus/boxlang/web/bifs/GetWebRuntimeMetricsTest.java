@@ -0,0 +1,75 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.web.bifs;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.web.util.BaseWebTest;
+import ortus.boxlang.web.util.KeyDictionary;
+import ortus.boxlang.web.util.WebRuntimeMetrics;
+import ortus.boxlang.web.util.WebRuntimeMetrics.Phase;
+
+public class GetWebRuntimeMetricsTest extends BaseWebTest {
+
+	@Test
+	@DisplayName( "It returns the phase histograms for the runtime and each application" )
+	public void testMetrics() {
+		WebRuntimeMetrics.reset();
+		long[] timings = new long[ Phase.ALL.length ];
+		Arrays.fill( timings, -1 );
+		timings[ Phase.REQUEST.ordinal() ]	= 2_000_000;
+		timings[ Phase.TOTAL.ordinal() ]	= 3_000_000;
+		WebRuntimeMetrics.recordRequest( "metricsApp", timings );
+
+		runtime.executeSource(
+		    """
+		    result = getWebRuntimeMetrics( reset = true );
+		    """,
+		    context
+		);
+
+		IStruct	metrics	= variables.getAsStruct( result );
+		IStruct	request	= metrics.getAsStruct( KeyDictionary.phases ).getAsStruct( Key.of( "request" ) );
+		assertThat( request.get( KeyDictionary.count ) ).isEqualTo( 1L );
+		assertThat( metrics.getAsStruct( KeyDictionary.phases ).getAsStruct( Key.of( "start" ) ).get( KeyDictionary.count ) ).isEqualTo( 0L );
+		assertThat( metrics.getAsStruct( KeyDictionary.applications ).containsKey( Key.of( "metricsApp" ) ) ).isTrue();
+		assertThat( metrics.containsKey( KeyDictionary.descriptorCache ) ).isTrue();
+
+		// The reset argument cleared the histograms
+		assertThat( WebRuntimeMetrics.getSnapshot().getAsStruct( KeyDictionary.applications ) ).isEmpty();
+	}
+
+	@Test
+	@DisplayName( "Phase timings are formatted as a Server-Timing header" )
+	public void testServerTiming() {
+		long[] timings = new long[ Phase.ALL.length ];
+		Arrays.fill( timings, -1 );
+		timings[ Phase.DESCRIPTOR.ordinal() ]	= 120_000;
+		timings[ Phase.REQUEST.ordinal() ]		= 8_410_000;
+
+		assertThat( WebRuntimeMetrics.toServerTiming( timings ) ).isEqualTo( "app;dur=0.12, request;dur=8.41" );
+	}
+
+}
@@ -18,13 +18,20 @@
 package ortus.boxlang.web.bifs;
 
 import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import ortus.boxlang.runtime.application.BaseApplicationListener;
+import ortus.boxlang.runtime.context.ScriptingRequestBoxContext;
 import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
 import ortus.boxlang.web.util.BaseWebTest;
+import ortus.boxlang.web.util.MockHTTPExchange;
 
 public class HtmlBodyTest extends BaseWebTest {
 
@@ -42,13 +49,28 @@ public class HtmlBodyTest extends BaseWebTest {
 		    context
 		);
 
-		// Simulate onRequestEnd so the interceptor injects the buffered content
+		// Simulate the request end so the buffered content is injected
 		String output = simulateRequestEnd( "<html><head></head><body><p>hello</p></body></html>" );
 
 		assertThat( output ).contains( "<script>alert(1)</script>" );
 		assertThat( output ).contains( "<body>" );
 	}
 
+	@Test
+	@DisplayName( "append: content is spliced in without reformatting the page" )
+	public void testAppendPreservesMarkup() {
+		runtime.executeSource(
+		    """
+		    htmlBody( action="append", text="<p>injected</p>" );
+		    """,
+		    context
+		);
+
+		String output = simulateRequestEnd( "<html><head></head><BODY class=\"main\">\n<p>hello</p></BODY></html>" );
+
+		assertThat( output ).isEqualTo( "<html><head></head><BODY class=\"main\"><p>injected</p>\n<p>hello</p></BODY></html>" );
+	}
+
 	@Test
 	@DisplayName( "append: multiple appends accumulate in order" )
 	public void testMultipleAppends() {
@@ -384,14 +406,70 @@ public class HtmlBodyTest extends BaseWebTest {
 		assertThat( variables.getAsString( Key.of( "result" ) ) ).isEmpty();
 	}
 
+	// ---------------------------------------------------------------------------
+	// shared injection
+	// ---------------------------------------------------------------------------
+
+	@Test
+	@DisplayName( "htmlHead, htmlBody and htmlFooter content is spliced into the page together" )
+	public void testInjectedTogether() {
+		runtime.executeSource(
+		    """
+		    htmlFooter( "<script>f()</script>" );
+		    htmlBody( text="<p>top</p>" );
+		    htmlHead( "<meta x>" );
+		    """,
+		    context
+		);
+
+		String output = simulateRequestEnd( "<html><head><title>t</title></head><body><p>hello</p></body></html>" );
+
+		assertThat( output ).isEqualTo( "<html><head><title>t</title><meta x></head><body><p>top</p><p>hello</p><script>f()</script></body></html>" );
+	}
+
+	@Test
+	@DisplayName( "Content which misses a page that was already streamed is appended to the end, not reparsed" )
+	public void testInjectedAfterCommit() {
+		StringWriter streamed = new StringWriter();
+		( ( MockHTTPExchange ) mockExchange ).setResponseWriter( new PrintWriter( streamed ) );
+		context.clearBuffer();
+		context.writeToBuffer( "<html><head></head><body><p>hello</p>" );
+		context.flushBuffer( true );
+
+		runtime.executeSource(
+		    """
+		    htmlHead( "<meta x>" );
+		    htmlFooter( "<script>f()</script>" );
+		    """,
+		    context
+		);
+		context.writeToBuffer( "<p>more</p></body></html>" );
+		context.getApplicationListener().onRequestEnd( context, new Object[] { "/" } );
+		context.runRequestEndActions();
+
+		assertThat( streamed.toString() ).isEqualTo( "<html><head></head><body><p>hello</p>" );
+		assertThat( context.getBuffer().toString() ).isEqualTo( "<p>more</p><script>f()</script></body></html><meta x>" );
+	}
+
+	@Test
+	@DisplayName( "The page injection BIFs fail clearly outside of a web request" )
+	public void testOutsideWebRequest() {
+		ScriptingRequestBoxContext scriptingContext = new ScriptingRequestBoxContext( runtime.getRuntimeContext() );
+
+		BoxRuntimeException e = assertThrows( BoxRuntimeException.class, () -> runtime.executeSource( "htmlHead( '<meta x>' );", scriptingContext ) );
+		assertThat( e.getMessage() ).contains( "htmlHead() can only be used in a web request" );
+		assertThrows( BoxRuntimeException.class, () -> runtime.executeSource( "htmlBody( text='<p>x</p>' );", scriptingContext ) );
+		assertThrows( BoxRuntimeException.class, () -> runtime.executeSource( "htmlFooter( '<p>x</p>' );", scriptingContext ) );
+	}
+
 	// ---------------------------------------------------------------------------
 	// Helpers
 	// ---------------------------------------------------------------------------
 
 	/**
-	 * Simulates an onRequestEnd lifecycle by pushing the given HTML into the output
-	 * buffer and then firing onRequestEnd, which triggers the Jsoup-based injection
-	 * interceptor registered by HtmlBody.appendToBody().
+	 * Simulates the end of the request by pushing the given HTML into the output
+	 * buffer, firing onRequestEnd and then running the request end actions, which
+	 * triggers the injection action registered by HtmlBody.appendToBody().
 	 *
 	 * @param seedHtml Full HTML string to use as the base page output.
 	 *
@@ -402,6 +480,7 @@ public class HtmlBodyTest extends BaseWebTest {
 		context.writeToBuffer( seedHtml );
 		BaseApplicationListener appListener = context.getApplicationListener();
 		appListener.onRequestEnd( context, new Object[] { "/" } );
+		context.runRequestEndActions();
 		return context.getBuffer().toString();
 	}
 
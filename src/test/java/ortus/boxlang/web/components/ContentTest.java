@@ -0,0 +1,140 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.web.components;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.web.util.BaseWebTest;
+import ortus.boxlang.web.util.ByteRange;
+import ortus.boxlang.web.util.MockHTTPExchange;
+
+public class ContentTest extends BaseWebTest {
+
+	@TempDir
+	Path					tempDir;
+
+	Path					file;
+	MockHTTPExchange		exchange;
+	Map<String, String[]>	requestHeaders;
+
+	@BeforeEach
+	public void setupFile() throws IOException {
+		file			= tempDir.resolve( "media.txt" );
+		Files.writeString( file, "0123456789abcdefghij", StandardCharsets.US_ASCII );
+		exchange		= ( MockHTTPExchange ) mockExchange;
+		requestHeaders	= new HashMap<>();
+		exchange.setRequestHeaders( requestHeaders );
+		variables.put( Key.of( "filePath" ), file.toString() );
+	}
+
+	private void sendFile() {
+		// @formatter:off
+		runtime.executeSource(
+		    """
+		      bx:content file=filePath type="text/plain";
+		      """,
+		    context );
+		// @formatter:on
+	}
+
+	@Test
+	@DisplayName( "Files are sent whole, advertising range support" )
+	public void testWholeFile() {
+		sendFile();
+
+		assertThat( exchange.getResponseStatus() ).isEqualTo( 200 );
+		assertThat( new String( exchange.getResponseBody(), StandardCharsets.US_ASCII ) ).isEqualTo( "0123456789abcdefghij" );
+		assertThat( exchange.getResponseHeader( ByteRange.ACCEPT_RANGES_HEADER ) ).isEqualTo( "bytes" );
+		assertThat( exchange.getResponseHeader( "ETag" ) ).isNotNull();
+		// Whole files are left to the exchange, which can use the container's own file transfer
+		verify( exchange ).sendResponseFile( any( File.class ) );
+		verify( exchange, never() ).getResponseOutputStream();
+	}
+
+	@Test
+	@DisplayName( "A single range is sent as partial content" )
+	public void testSingleRange() {
+		requestHeaders.put( ByteRange.RANGE_HEADER, new String[] { "bytes=-5" } );
+		sendFile();
+
+		assertThat( exchange.getResponseStatus() ).isEqualTo( 206 );
+		assertThat( exchange.getResponseHeader( ByteRange.CONTENT_RANGE_HEADER ) ).isEqualTo( "bytes 15-19/20" );
+		assertThat( exchange.getResponseHeader( "Content-Length" ) ).isEqualTo( "5" );
+		assertThat( new String( exchange.getResponseBody(), StandardCharsets.US_ASCII ) ).isEqualTo( "fghij" );
+	}
+
+	@Test
+	@DisplayName( "Several ranges are sent as multipart/byteranges" )
+	public void testMultipleRanges() {
+		requestHeaders.put( ByteRange.RANGE_HEADER, new String[] { "bytes=0-1, 10-12" } );
+		sendFile();
+
+		String	contentType	= exchange.getResponseHeader( "Content-Type" );
+		String	boundary	= contentType.substring( contentType.indexOf( "boundary=" ) + 9 );
+		String	body		= new String( exchange.getResponseBody(), StandardCharsets.US_ASCII );
+
+		assertThat( exchange.getResponseStatus() ).isEqualTo( 206 );
+		assertThat( contentType ).startsWith( "multipart/byteranges; boundary=" );
+		assertThat( body ).isEqualTo(
+		    "\r\n--" + boundary + "\r\nContent-Type: text/plain\r\nContent-Range: bytes 0-1/20\r\n\r\n01"
+		        + "\r\n--" + boundary + "\r\nContent-Type: text/plain\r\nContent-Range: bytes 10-12/20\r\n\r\nabc"
+		        + "\r\n--" + boundary + "--\r\n"
+		);
+		assertThat( exchange.getResponseHeader( "Content-Length" ) ).isEqualTo( String.valueOf( exchange.getResponseBody().length ) );
+	}
+
+	@Test
+	@DisplayName( "Ranges past the end of the file are not satisfiable" )
+	public void testUnsatisfiableRange() {
+		requestHeaders.put( ByteRange.RANGE_HEADER, new String[] { "bytes=20-" } );
+		sendFile();
+
+		assertThat( exchange.getResponseStatus() ).isEqualTo( 416 );
+		assertThat( exchange.getResponseHeader( ByteRange.CONTENT_RANGE_HEADER ) ).isEqualTo( "bytes */20" );
+		assertThat( exchange.getResponseBody() ).isEmpty();
+	}
+
+	@Test
+	@DisplayName( "A stale If-Range sends the whole file" )
+	public void testStaleIfRange() {
+		requestHeaders.put( ByteRange.RANGE_HEADER, new String[] { "bytes=0-4" } );
+		requestHeaders.put( ByteRange.IF_RANGE_HEADER, new String[] { "\"stale\"" } );
+		sendFile();
+
+		assertThat( exchange.getResponseStatus() ).isEqualTo( 200 );
+		assertThat( exchange.getResponseBody() ).hasLength( 20 );
+	}
+
+}
@@ -0,0 +1,306 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.web.context;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ortus.boxlang.runtime.events.InterceptorPool;
+import ortus.boxlang.runtime.scopes.IScope;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.scopes.VariablesScope;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.Struct;
+import ortus.boxlang.web.bifs.HtmlBody;
+import ortus.boxlang.web.bifs.HtmlFooter;
+import ortus.boxlang.web.bifs.HtmlHead;
+import ortus.boxlang.web.exchange.BoxCookie;
+import ortus.boxlang.web.exchange.SessionCookiePolicy;
+import ortus.boxlang.web.scopes.CookieScope;
+import ortus.boxlang.web.scopes.FormScope;
+import ortus.boxlang.web.util.BaseWebTest;
+import ortus.boxlang.web.util.KeyDictionary;
+import ortus.boxlang.web.util.MockHTTPExchange;
+import ortus.boxlang.web.util.NegativeLookupCache;
+
+public class WebRequestBoxContextTest extends BaseWebTest {
+
+	@Test
+	@DisplayName( "A forced flush writes every buffer to the response writer in order" )
+	public void testForcedFlushPreservesBufferOrder() {
+		StringWriter output = new StringWriter();
+		( ( MockHTTPExchange ) mockExchange ).setResponseWriter( new PrintWriter( output ) );
+
+		context.writeToBuffer( "<html>" );
+		context.pushBuffer( new StringBuffer( "<body>" ) );
+		context.writeToBuffer( "hello" );
+		context.flushBuffer( true );
+
+		assertThat( output.toString() ).isEqualTo( "<html><body>hello" );
+		assertThat( context.getBuffer().length() ).isEqualTo( 0 );
+	}
+
+	@Test
+	@DisplayName( "A forced flush of a 5 MB page allocates a constant amount of heap" )
+	public void testForcedFlushDoesNotCopyTheOutput() {
+		CountingWriter counter = new CountingWriter();
+		( ( MockHTTPExchange ) mockExchange ).setResponseWriter( new PrintWriter( counter ) );
+
+		// Warm up the flush path so class loading does not count against us
+		context.writeToBuffer( "warmup" );
+		context.flushBuffer( true );
+
+		int				pageSize	= 5 * 1024 * 1024;
+		StringBuilder	page		= new StringBuilder( pageSize );
+		while ( page.length() < pageSize ) {
+			page.append( "<p>Lorem ipsum dolor sit amet</p>\n" );
+		}
+		page.setLength( pageSize );
+		context.writeToBuffer( page );
+		page = null;
+
+		long	before		= allocatedBytes();
+		context.flushBuffer( true );
+		long	allocated	= allocatedBytes() - before;
+
+		assertThat( counter.chars ).isEqualTo( pageSize + "warmup".length() );
+		// Building the page as a String would allocate at least the size of the page
+		assertThat( allocated ).isLessThan( 256L * 1024 );
+	}
+
+	@Test
+	@DisplayName( "Output is streamed to the client once it passes the auto flush threshold" )
+	public void testAutoFlushThreshold() {
+		StringWriter output = new StringWriter();
+		( ( MockHTTPExchange ) mockExchange ).setResponseWriter( new PrintWriter( output ) );
+		IStruct settings = context.getApplicationListener().getSettings();
+		settings.put( KeyDictionary.web, Struct.of( KeyDictionary.output, Struct.of( KeyDictionary.autoFlushBytes, 100 ) ) );
+		try {
+			context.writeToBuffer( "a".repeat( 60 ) );
+			context.flushBuffer( false );
+			assertThat( output.toString() ).isEmpty();
+			assertThat( context.isResponseCommitted() ).isFalse();
+
+			context.writeToBuffer( "b".repeat( 60 ) );
+			assertThat( output.toString() ).isEqualTo( "a".repeat( 60 ) + "b".repeat( 60 ) );
+			assertThat( context.getBuffer().length() ).isEqualTo( 0 );
+			assertThat( context.isResponseCommitted() ).isTrue();
+		} finally {
+			settings.remove( KeyDictionary.web );
+		}
+	}
+
+	@Test
+	@DisplayName( "Output is not streamed while it is being captured into a pushed buffer" )
+	public void testAutoFlushSkipsCapturedOutput() {
+		StringWriter output = new StringWriter();
+		( ( MockHTTPExchange ) mockExchange ).setResponseWriter( new PrintWriter( output ) );
+		IStruct settings = context.getApplicationListener().getSettings();
+		settings.put( KeyDictionary.web, Struct.of( KeyDictionary.output, Struct.of( KeyDictionary.autoFlushBytes, 10 ) ) );
+		try {
+			StringBuffer captured = new StringBuffer();
+			context.pushBuffer( captured );
+			context.writeToBuffer( "captured content" );
+			assertThat( output.toString() ).isEmpty();
+			assertThat( captured.toString() ).isEqualTo( "captured content" );
+		} finally {
+			settings.remove( KeyDictionary.web );
+		}
+	}
+
+	@Test
+	@DisplayName( "Request end actions run once, in order" )
+	public void testRequestEndActionsRunOnce() {
+		StringBuffer log = new StringBuffer();
+		assertThat( context.registerRequestEndAction( Key.of( "first" ), ctx -> log.append( "1" ) ) ).isTrue();
+		assertThat( context.registerRequestEndAction( Key.of( "second" ), ctx -> log.append( "2" ) ) ).isTrue();
+		assertThat( context.registerRequestEndAction( Key.of( "first" ), ctx -> log.append( "x" ) ) ).isFalse();
+		assertThat( context.hasRequestEndActions() ).isTrue();
+
+		context.runRequestEndActions();
+		context.runRequestEndActions();
+
+		assertThat( log.toString() ).isEqualTo( "12" );
+		assertThat( context.hasRequestEndActions() ).isFalse();
+	}
+
+	@Test
+	@DisplayName( "Injecting html content does not grow the application's interceptor pool" )
+	public void testHtmlInjectionDoesNotLeakInterceptors() throws URISyntaxException {
+		String	page	= "<html><head></head><body><p>page</p></body></html>";
+		int		before	= requestEndObservers( context.getApplicationListener().getInterceptorPool() );
+
+		for ( int i = 0; i < 500; i++ ) {
+			WebRequestBoxContext requestContext = new WebRequestBoxContext(
+			    runtime.getRuntimeContext(),
+			    new MockHTTPExchange( new BoxCookie[ 0 ], new HashMap<String, String[]>() ),
+			    TEST_WEBROOT
+			);
+			requestContext.loadApplicationDescriptor( new URI( requestURI ) );
+			HtmlHead.addToHead( requestContext, "<meta name=\"request\">" );
+			HtmlBody.appendToBody( requestContext, "<p>top</p>", null );
+			HtmlFooter.addToFooter( requestContext, "<script>end()</script>" );
+			requestContext.writeToBuffer( page );
+
+			requestContext.getApplicationListener().onRequestEnd( requestContext, new Object[] { requestURI } );
+			requestContext.runRequestEndActions();
+
+			assertThat( requestContext.getBuffer().toString() )
+			    .isEqualTo( "<html><head><meta name=\"request\"></head><body><p>top</p><p>page</p><script>end()</script></body></html>" );
+			assertThat( requestEndObservers( requestContext.getApplicationListener().getInterceptorPool() ) ).isEqualTo( before );
+			requestContext.shutdown();
+		}
+	}
+
+	@Test
+	@DisplayName( "The web scopes are only built once they are used" )
+	public void testScopesAreBuiltOnFirstUse() throws InterruptedException {
+		MockHTTPExchange		exchange		= new MockHTTPExchange( new BoxCookie[] { new BoxCookie( "name", "value" ) }, new HashMap<String, String[]>() );
+		WebRequestBoxContext	requestContext	= new WebRequestBoxContext( runtime.getRuntimeContext(), exchange, TEST_WEBROOT );
+
+		assertThat( requestContext.URLScope ).isNull();
+		assertThat( requestContext.formScope ).isNull();
+		assertThat( requestContext.cookieScope ).isNull();
+		assertThat( requestContext.requestScope ).isNull();
+		assertThat( requestContext.isKeyVisibleScope( FormScope.name, false, false ) ).isTrue();
+
+		// An unscoped miss doesn't need URL or form scopes which have nothing in them
+		requestContext.scopeFind( Key.of( "missing" ), new VariablesScope(), false );
+		assertThat( requestContext.URLScope ).isNull();
+		assertThat( requestContext.formScope ).isNull();
+
+		// Every thread gets the same instance
+		IScope[]	seen	= new IScope[ 8 ];
+		Thread[]	threads	= new Thread[ seen.length ];
+		for ( int i = 0; i < threads.length; i++ ) {
+			int index = i;
+			threads[ i ] = Thread.ofPlatform().start( () -> seen[ index ] = requestContext.getScope( CookieScope.name ) );
+		}
+		for ( Thread thread : threads ) {
+			thread.join();
+		}
+		for ( IScope scope : seen ) {
+			assertThat( scope ).isSameInstanceAs( requestContext.cookieScope );
+		}
+		assertThat( requestContext.getCookieScope().get( Key.of( "name" ) ) ).isEqualTo( "value" );
+		requestContext.shutdown();
+	}
+
+	@Test
+	@DisplayName( "Unscoped misses are remembered until the CGI, URL or form scope is written" )
+	public void testUnscopedMissesAreCached() {
+		Key		missing		= Key.of( "notDeclaredAnywhere" );
+		long	hitsBefore	= ( long ) NegativeLookupCache.getStats().get( KeyDictionary.hits );
+
+		context.scopeFind( missing, new VariablesScope(), false );
+		context.scopeFind( missing, new VariablesScope(), false );
+		assertThat( ( long ) NegativeLookupCache.getStats().get( KeyDictionary.hits ) ).isGreaterThan( hitsBefore );
+
+		// A write to any of the searched scopes makes the key visible again
+		context.getURLScope().put( missing, "found" );
+		assertThat( context.scopeFind( missing, new VariablesScope(), false ).value() ).isEqualTo( "found" );
+
+		context.getURLScope().remove( missing );
+		context.scopeFind( missing, new VariablesScope(), false );
+		context.getFormScope().assign( context, missing, "posted" );
+		assertThat( context.scopeFind( missing, new VariablesScope(), false ).value() ).isEqualTo( "posted" );
+	}
+
+	@Test
+	@DisplayName( "Form values loaded as they are read do not forget unscoped misses" )
+	public void testLoadsKeepUnscopedMisses() {
+		Key missing = Key.of( "notPostedAnywhere" );
+		( ( MockHTTPExchange ) mockExchange ).setRequestFormMap( Map.of( "name", new String[] { "brad" } ) );
+		context.scopeFind( missing, new VariablesScope(), false );
+		assertThat( context.getFormScope().get( Key.of( "name" ) ) ).isEqualTo( "brad" );
+
+		long hitsBefore = ( long ) NegativeLookupCache.getStats().get( KeyDictionary.hits );
+		context.scopeFind( missing, new VariablesScope(), false );
+		assertThat( ( long ) NegativeLookupCache.getStats().get( KeyDictionary.hits ) ).isGreaterThan( hitsBefore );
+	}
+
+	@Test
+	@DisplayName( "The session cookie policy is kept per application and resolved again when its settings change" )
+	public void testSessionCookiePolicyIsCachedPerApplication() {
+		IStruct	settings	= context.getApplicationListener().getSettings();
+		Object	original	= settings.get( KeyDictionary.sessionCookie );
+		try {
+			IStruct cookieSettings = Struct.of( KeyDictionary.secure, false );
+			settings.put( KeyDictionary.sessionCookie, cookieSettings );
+			SessionCookiePolicy policy = context.getSessionCookiePolicy();
+
+			// A later request with the same settings gets the same policy, without the defaults being written into them
+			context.clearConfigCache();
+			assertThat( context.getSessionCookiePolicy() ).isSameInstanceAs( policy );
+			assertThat( cookieSettings.keySet() ).containsExactly( KeyDictionary.secure );
+
+			cookieSettings.put( KeyDictionary.secure, true );
+			context.clearConfigCache();
+			assertThat( context.getSessionCookiePolicy() ).isNotSameInstanceAs( policy );
+			assertThat( context.getSessionCookiePolicy().toSetCookieHeader( "abc", 60, null ) ).contains( "; Secure" );
+		} finally {
+			if ( original == null ) {
+				settings.remove( KeyDictionary.sessionCookie );
+			} else {
+				settings.put( KeyDictionary.sessionCookie, original );
+			}
+			context.clearConfigCache();
+		}
+	}
+
+	private static int requestEndObservers( InterceptorPool pool ) {
+		return pool.hasState( KeyDictionary.onRequestEnd ) ? pool.getState( KeyDictionary.onRequestEnd ).size() : 0;
+	}
+
+	private static long allocatedBytes() {
+		return ( ( com.sun.management.ThreadMXBean ) ManagementFactory.getThreadMXBean() ).getCurrentThreadAllocatedBytes();
+	}
+
+	/**
+	 * A writer which only counts the chars written to it
+	 */
+	private static class CountingWriter extends Writer {
+
+		long chars = 0;
+
+		@Override
+		public void write( char[] cbuf, int off, int len ) {
+			chars += len;
+		}
+
+		@Override
+		public void flush() {
+		}
+
+		@Override
+		public void close() {
+		}
+	}
+
+}
@@ -0,0 +1,75 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.web.exchange;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.Array;
+import ortus.boxlang.web.context.WebRequestBoxContext;
+import ortus.boxlang.web.scopes.URLScope;
+import ortus.boxlang.web.util.MockHTTPExchange;
+
+public class QueryStringParserTest {
+
+	@Test
+	@DisplayName( "Parameters are split, decoded when escaped and kept in order" )
+	public void testParse() {
+		Map<String, String[]> params = QueryStringParser.DEFAULT.parseToMap( "a=1&flag&&=skipped&name=hello+world&euro=%E2%82%AC&a=2&eq=x=y&bad=%zz" );
+
+		assertThat( params.keySet() ).containsExactly( "a", "flag", "name", "euro", "eq", "bad" ).inOrder();
+		assertThat( params.get( "a" ) ).asList().containsExactly( "1", "2" ).inOrder();
+		assertThat( params.get( "flag" ) ).asList().containsExactly( "" );
+		assertThat( params.get( "name" ) ).asList().containsExactly( "hello world" );
+		assertThat( params.get( "euro" ) ).asList().containsExactly( "€" );
+		assertThat( params.get( "eq" ) ).asList().containsExactly( "x=y" );
+		assertThat( params.get( "bad" ) ).asList().containsExactly( "%zz" );
+		assertThat( QueryStringParser.DEFAULT.parseToMap( null ) ).isEmpty();
+	}
+
+	@Test
+	@DisplayName( "Parameters past the count or length limit are ignored" )
+	public void testLimits() {
+		QueryStringParser parser = new QueryStringParser( 2, 12 );
+
+		assertThat( parser.parseToMap( "a=1&b=2&c=3" ).keySet() ).containsExactly( "a", "b" );
+		assertThat( parser.parseToMap( "a=1&b=22222222&c=3" ).keySet() ).containsExactly( "a" );
+	}
+
+	@Test
+	@DisplayName( "Exchanges which opt in get their URL scope built from the query string" )
+	public void testURLScopeFromQueryString() {
+		MockHTTPExchange exchange = new MockHTTPExchange( new BoxCookie[ 0 ], new HashMap<String, String[]>() );
+		exchange.setRequestQueryString( "name=brad&name=luis&ids[]=1&ids[]=2&q=a%26b" );
+		exchange.setUseQueryStringParser( true );
+		URLScope urlScope = new URLScope( new WebRequestBoxContext( BoxRuntime.getInstance( true ).getRuntimeContext(), exchange, "/" ) );
+
+		assertThat( urlScope.get( Key.of( "name" ) ) ).isEqualTo( "brad,luis" );
+		assertThat( urlScope.get( Key.of( "q" ) ) ).isEqualTo( "a&b" );
+		assertThat( urlScope.get( Key.of( "ids" ) ) ).isInstanceOf( Array.class );
+		assertThat( ( ( Array ) urlScope.get( Key.of( "ids" ) ) ).size() ).isEqualTo( 2 );
+	}
+
+}
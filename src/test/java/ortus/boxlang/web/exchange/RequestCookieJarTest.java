@@ -0,0 +1,50 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.web.exchange;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class RequestCookieJarTest {
+
+	@Test
+	@DisplayName( "The Cookie header is split into names and values" )
+	public void testParse() {
+		RequestCookieJar jar = RequestCookieJar.parse( "a=1; b=\"two\";c=%C3%A9 ;; =x; noValue; d=x=y" );
+
+		assertThat( jar.size() ).isEqualTo( 4 );
+		assertThat( jar.getName( 0 ) ).isEqualTo( "a" );
+		assertThat( jar.getValue( 1 ) ).isEqualTo( "two" );
+		assertThat( jar.getValue( 2 ) ).isEqualTo( "é" );
+		assertThat( jar.getValue( 3 ) ).isEqualTo( "x=y" );
+		assertThat( RequestCookieJar.parse( null ).size() ).isEqualTo( 0 );
+	}
+
+	@Test
+	@DisplayName( "Lookups ignore case and the last cookie with a name wins" )
+	public void testIndexOf() {
+		RequestCookieJar jar = RequestCookieJar.parse( "name=brad; NAME=luis" );
+
+		assertThat( jar.indexOf( "Name" ) ).isEqualTo( 1 );
+		assertThat( jar.indexOf( "missing" ) ).isEqualTo( -1 );
+		assertThat( jar.toCookies() ).hasLength( 2 );
+	}
+
+}
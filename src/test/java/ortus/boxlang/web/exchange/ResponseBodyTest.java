@@ -0,0 +1,111 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.web.exchange;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ortus.boxlang.web.WebRequestExecutor;
+import ortus.boxlang.web.util.MockHTTPExchange;
+
+/**
+ * The default implementations of the byte-oriented response methods of {@link IBoxHTTPExchange}
+ */
+public class ResponseBodyTest {
+
+	@Test
+	@DisplayName( "A buffer covering a whole array is sent without a copy, and slices are copied" )
+	public void testWriteResponse() {
+		MockHTTPExchange	exchange	= spy( new MockHTTPExchange( new BoxCookie[ 0 ], new HashMap<>() ) );
+		byte[]				data		= "abcdef".getBytes( StandardCharsets.US_ASCII );
+
+		exchange.writeResponse( ByteBuffer.wrap( data ) );
+		verify( exchange ).sendResponseBinary( data );
+		assertThat( exchange.getResponseBody() ).isSameInstanceAs( data );
+
+		exchange.reset();
+		ByteBuffer slice = ByteBuffer.wrap( data, 1, 3 );
+		exchange.writeResponse( slice );
+		assertThat( exchange.getResponseBody() ).isEqualTo( "bcd".getBytes( StandardCharsets.US_ASCII ) );
+		assertThat( slice.position() ).isEqualTo( 1 );
+	}
+
+	@Test
+	@DisplayName( "Streams are sent up to their length, and output streams when they are closed" )
+	public void testStreams() throws IOException {
+		MockHTTPExchange exchange = new MockHTTPExchange( new BoxCookie[ 0 ], new HashMap<>() );
+
+		exchange.sendResponseStream( new ByteArrayInputStream( "abcdef".getBytes( StandardCharsets.US_ASCII ) ), 4 );
+		assertThat( exchange.getResponseBody() ).isEqualTo( "abcd".getBytes( StandardCharsets.US_ASCII ) );
+
+		exchange.reset();
+		exchange.sendResponseStream( new ByteArrayInputStream( "abcdef".getBytes( StandardCharsets.US_ASCII ) ), -1 );
+		assertThat( exchange.getResponseBody() ).hasLength( 6 );
+
+		exchange.reset();
+		try ( OutputStream out = exchange.getResponseOutputStream() ) {
+			out.write( "xyz".getBytes( StandardCharsets.US_ASCII ) );
+			assertThat( exchange.getResponseBody() ).isEmpty();
+		}
+		assertThat( exchange.getResponseBody() ).isEqualTo( "xyz".getBytes( StandardCharsets.US_ASCII ) );
+	}
+
+	@Test
+	@DisplayName( "Large bodies are sent whole in a single call, since sendResponseBinary replaces the body" )
+	public void testLargeBody() {
+		MockHTTPExchange	exchange	= spy( new MockHTTPExchange( new BoxCookie[ 0 ], new HashMap<>() ) );
+		byte[]				data		= new byte[ 200_000 ];
+		Arrays.fill( data, ( byte ) 'x' );
+
+		exchange.sendResponseStream( new ByteArrayInputStream( data ), -1 );
+		verify( exchange, times( 1 ) ).sendResponseBinary( any() );
+		assertThat( exchange.getResponseBody() ).isEqualTo( data );
+
+		exchange.reset();
+		exchange.writeResponse( "\u00e9".repeat( 100_000 ) );
+		assertThat( exchange.getResponseBody() ).hasLength( 200_000 );
+	}
+
+	@Test
+	@DisplayName( "Text is encoded with the charset of the response content type" )
+	public void testResponseCharset() {
+		MockHTTPExchange exchange = new MockHTTPExchange( new BoxCookie[ 0 ], new HashMap<>() );
+		assertThat( exchange.getResponseCharset() ).isEqualTo( StandardCharsets.UTF_8 );
+
+		exchange.setResponseHeader( WebRequestExecutor.CONTENT_TYPE_HEADER, "text/plain; Charset=\"ISO-8859-1\"; format=flowed" );
+		assertThat( exchange.getResponseCharset() ).isEqualTo( StandardCharsets.ISO_8859_1 );
+
+		exchange.setResponseHeader( WebRequestExecutor.CONTENT_TYPE_HEADER, "text/plain; charset=bogus" );
+		assertThat( exchange.getResponseCharset() ).isEqualTo( StandardCharsets.UTF_8 );
+	}
+
+}
@@ -0,0 +1,69 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.web.exchange;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ortus.boxlang.runtime.BoxRuntime;
+
+public class ResponseCookieJarTest {
+
+	@BeforeAll
+	public static void setUp() {
+		BoxRuntime.getInstance( true );
+	}
+
+	@Test
+	@DisplayName( "Setting a cookie with the same name, path and domain replaces it" )
+	public void testLastWriteWins() {
+		ResponseCookieJar jar = new ResponseCookieJar();
+		jar.put( new BoxCookie( "a", "1" ).setPath( "/" ) );
+		jar.put( new BoxCookie( "a", "1" ).setPath( "/admin" ) );
+		jar.put( new BoxCookie( "b", "1" ) );
+		BoxCookie replaced = jar.put( new BoxCookie( "a", "2" ).setPath( "/" ) );
+
+		assertThat( replaced.getValue() ).isEqualTo( "1" );
+		assertThat( jar.toSetCookieHeaders() ).containsExactly( "a=2; Path=/", "a=1; Path=/admin", "b=1" ).inOrder();
+
+		// Added cookies are kept even if they are equal
+		jar.add( new BoxCookie( "b", "2" ) );
+		assertThat( jar.size() ).isEqualTo( 4 );
+		jar.clear();
+		assertThat( jar.toArray() ).isEmpty();
+	}
+
+	@Test
+	@DisplayName( "The Set-Cookie header is rendered once until the cookie changes" )
+	public void testHeaderIsMemoized() {
+		BoxCookie	cookie	= new BoxCookie( "name", "brad wood" ).setPath( "/" );
+		String		header	= cookie.toSetCookieHeader();
+
+		assertThat( header ).isEqualTo( "name=brad+wood; Path=/" );
+		assertThat( cookie.toSetCookieHeader() ).isSameInstanceAs( header );
+
+		cookie.setHttpOnly( true );
+		assertThat( cookie.toSetCookieHeader() ).isEqualTo( "name=brad+wood; Path=/; HttpOnly" );
+		cookie.setValue( "luis" );
+		assertThat( cookie.toSetCookieHeader() ).isEqualTo( "name=luis; Path=/; HttpOnly" );
+	}
+
+}
@@ -0,0 +1,70 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.web.exchange;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.Date;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ortus.boxlang.runtime.BoxRuntime;
+
+public class SessionCookiePolicyTest {
+
+	@BeforeAll
+	public static void setUp() {
+		BoxRuntime.getInstance( true );
+	}
+
+	@Test
+	@DisplayName( "A policy keeps its cookie name and clamps the reissue fraction" )
+	public void testPolicySettings() {
+		SessionCookiePolicy policy = new SessionCookiePolicy( "jsessionid", true, false, null, "Lax", 0.5, "uuid", 16 );
+
+		assertThat( policy.getName() ).isEqualTo( "jsessionid" );
+		assertThat( policy.getReissueFraction() ).isEqualTo( 0.5 );
+		assertThat( new SessionCookiePolicy( "jsessionid", true, false, null, "Lax", 2, "uuid", 16 ).getReissueFraction() ).isEqualTo( 1d );
+		assertThat( new SessionCookiePolicy( "jsessionid", true, false, null, "Lax", -1, "uuid", 16 ).getReissueFraction() ).isEqualTo( 0d );
+	}
+
+	@Test
+	@DisplayName( "The pre-rendered header matches the one the cookie would render itself" )
+	public void testHeaderMatchesCookie() {
+		SessionCookiePolicy	policy	= new SessionCookiePolicy( "jsessionid", true, true, "example.com", "strict", 0.5, "uuid", 16 );
+		Date				expires	= new Date( 1735707599000L );
+
+		BoxCookie cookie = policy.newCookie( "a b+c", null, expires );
+		assertThat( cookie.toSetCookieHeader() )
+		    .isEqualTo( "jsessionid=a+b%2Bc; Path=/; Domain=example.com; Expires=Wed, 01 Jan 2025 04:59:59 GMT; Secure; HttpOnly; SameSite=Strict" );
+		assertThat( cookie.getValue() ).isEqualTo( "a b+c" );
+		assertThat( cookie.getExpires() ).isEqualTo( expires );
+
+		// Changing the cookie drops the pre-rendered header
+		cookie.setMaxAge( 0 );
+		assertThat( cookie.toSetCookieHeader() ).contains( "Max-Age=0; Expires=" );
+
+		BoxCookie expiry = policy.newCookie( "abc", 0, null );
+		assertThat( expiry.toSetCookieHeader() ).isEqualTo( "jsessionid=abc; Path=/; Domain=example.com; Max-Age=0; Secure; HttpOnly; SameSite=Strict" );
+		assertThat( new SessionCookiePolicy( "jsessionid", null, null, null, null, 0, "uuid", 16 ).toSetCookieHeader( "abc", 60, null ) )
+		    .isEqualTo( "jsessionid=abc; Path=/; Max-Age=60" );
+	}
+
+}
@@ -3,6 +3,7 @@ package ortus.boxlang.web.exchange;
 import static com.google.common.truth.Truth.assertThat;
 
 import java.io.StringWriter;
+import java.util.Random;
 
 import org.junit.jupiter.api.Test;
 
@@ -100,4 +101,48 @@ public class WhitespaceManagingPrintWriterTest {
 		assertThat( result ).contains( "if (sdf)\nsdf.innerHTML = sdf;\n}\n\">\n#foo#\n</cfoutput>" );
 	}
 
+	@Test
+	public void bulkWritesMatchCharByCharWrites() {
+		String[]	tokens	= new String[] {
+		    "<", ">", "/", "<pre>", "</pre>", "<PRE class=\"x\">", "<code>", "</code>", "<textarea\n>", "</textarea>", "<script>",
+		    "</script >", "<p>", "</p>", "<span>", "<select\nname=\"a\">", "pre", "script", " ", "  ", "\t", "\n", "\r\n", "\r",
+		    "\n\n\n", "text", "#foo#", "a", "é", "\u00a0", "\u2028", "x=\"1\"", "<!-- c -->"
+		};
+		Random		random	= new Random( 42 );
+
+		for ( int iteration = 0; iteration < 2000; iteration++ ) {
+			StringBuilder input = new StringBuilder();
+			for ( int t = random.nextInt( 60 ); t >= 0; t-- ) {
+				input.append( tokens[ random.nextInt( tokens.length ) ] );
+			}
+			String			page		= input.toString();
+			boolean			enable		= iteration % 10 != 0;
+
+			// Reference: every char through the state machine one at a time
+			StringWriter	expected	= new StringWriter();
+			try ( WhitespaceManagingPrintWriter writer = new WhitespaceManagingPrintWriter( expected, enable ) ) {
+				for ( int i = 0; i < page.length(); i++ ) {
+					writer.write( page.charAt( i ) );
+				}
+			}
+
+			// Bulk: random slices, alternating between string and char array writes
+			StringWriter actual = new StringWriter();
+			try ( WhitespaceManagingPrintWriter writer = new WhitespaceManagingPrintWriter( actual, enable ) ) {
+				int offset = 0;
+				while ( offset < page.length() ) {
+					int length = Math.min( page.length() - offset, 1 + random.nextInt( 40 ) );
+					if ( random.nextBoolean() ) {
+						writer.write( page, offset, length );
+					} else {
+						writer.write( page.toCharArray(), offset, length );
+					}
+					offset += length;
+				}
+			}
+
+			assertThat( actual.toString() ).isEqualTo( expected.toString() );
+		}
+	}
+
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package ortus.boxlang.web.handlers;
 
 import static com.google.common.truth.Truth.assertThat;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 import java.io.IOException;
@@ -96,4 +97,19 @@ public class WebErrorHandlerTest extends ortus.boxlang.web.util.BaseWebTest {
 
 		verify( mockExchange ).setResponseStatus( 500 );
 	}
+
+	@DisplayName( "An error after the response was streamed is written inline without changing the status" )
+	@Test
+	public void testErrorAfterCommit() {
+		runtime.getConfiguration().globalErrorTemplate = "";
+		context.writeToBuffer( "<p>partial page</p>" );
+		context.flushBuffer( true );
+
+		RuntimeException e = new RuntimeException( "Streamed Page Error" );
+
+		WebErrorHandler.handleError( e, mockExchange, context, null, null );
+
+		verify( mockExchange, never() ).setResponseStatus( 500 );
+		assertThat( context.getBuffer().toString() ).contains( "Streamed Page Error" );
+	}
 }
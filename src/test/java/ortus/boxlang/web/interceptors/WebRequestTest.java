@@ -2,12 +2,15 @@ package ortus.boxlang.web.interceptors;
 
 import static com.google.common.truth.Truth.assertThat;
 
+import java.nio.charset.StandardCharsets;
+
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import ortus.boxlang.runtime.scopes.Key;
 import ortus.boxlang.runtime.types.Struct;
 import ortus.boxlang.web.WebRequestExecutor;
+import ortus.boxlang.web.util.MockHTTPExchange;
 
 public class WebRequestTest extends ortus.boxlang.web.util.BaseWebTest {
 
@@ -67,4 +70,27 @@ public class WebRequestTest extends ortus.boxlang.web.util.BaseWebTest {
 
 		assertThat( mockExchange.getResponseHeader( WebRequestExecutor.CONTENT_DISPOSITION_HEADER ) ).isEqualTo( existingDisposition );
 	}
+
+	@DisplayName( "Tests writeToBrowser sends text in the charset of the mime type" )
+	@Test
+	public void testWriteToBrowserCharset() {
+		variables.put(
+		    Key.of( "interceptData" ),
+		    Struct.of(
+		        Key.context, context,
+		        Key.content, "h\u00e9llo",
+		        Key.mimetype, "text/plain; charset=ISO-8859-1"
+		    )
+		);
+
+		// @formatter:off
+		runtime.executeSource(
+		    """
+		      getBoxRuntime().getInterceptorService().announce( "writeToBrowser", interceptData )
+		      """,
+		    context );
+		// @formatter:on
+
+		assertThat( ( ( MockHTTPExchange ) mockExchange ).getResponseBody() ).isEqualTo( "h\u00e9llo".getBytes( StandardCharsets.ISO_8859_1 ) );
+	}
 }
@@ -2,6 +2,9 @@ package ortus.boxlang.web.scopes;
 
 import static com.google.common.truth.Truth.assertThat;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -11,6 +14,7 @@ import ortus.boxlang.runtime.scopes.Key;
 import ortus.boxlang.runtime.types.IStruct;
 import ortus.boxlang.runtime.util.DuplicationUtil;
 import ortus.boxlang.web.util.BaseWebTest;
+import ortus.boxlang.web.util.MockHTTPExchange;
 
 public class CGIScopeTest extends BaseWebTest {
 
@@ -84,4 +88,21 @@ public class CGIScopeTest extends BaseWebTest {
 		}
 	}
 
+	@DisplayName( "Request headers are found by name and by their http_ CGI name, ignoring case" )
+	@Test
+	public void testHeaderFallback() {
+		Map<String, String[]> headers = new HashMap<>();
+		headers.put( "X-Forwarded-For", new String[] { "10.0.0.1", "10.0.0.2" } );
+		headers.put( "Accept-Language", new String[] { "en-US" } );
+		( ( MockHTTPExchange ) mockExchange ).setRequestHeaders( headers );
+		IScope cgiScope = new CGIScope( context );
+
+		assertThat( cgiScope.get( Key.of( "http_x_forwarded_for" ) ) ).isEqualTo( "10.0.0.1" );
+		assertThat( cgiScope.get( Key.of( "HTTP_X_FORWARDED_FOR" ) ) ).isEqualTo( "10.0.0.1" );
+		assertThat( cgiScope.get( Key.of( "x-forwarded-for" ) ) ).isEqualTo( "10.0.0.1" );
+		assertThat( cgiScope.get( Key.of( "http_accept_language" ) ) ).isEqualTo( "en-US" );
+		assertThat( cgiScope.getRaw( Key.of( "http_not_sent" ) ) ).isNull();
+		assertThat( cgiScope.dereference( context, Key.of( "http_not_sent" ), false ) ).isEqualTo( "" );
+	}
+
 }
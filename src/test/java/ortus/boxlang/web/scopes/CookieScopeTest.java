@@ -23,7 +23,10 @@ import static org.mockito.Mockito.when;
 
 import java.io.OutputStream;
 import java.io.PrintWriter;
+import java.net.URI;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Map;
 
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -39,6 +42,7 @@ import ortus.boxlang.runtime.scopes.VariablesScope;
 import ortus.boxlang.web.context.WebRequestBoxContext;
 import ortus.boxlang.web.exchange.BoxCookie;
 import ortus.boxlang.web.exchange.IBoxHTTPExchange;
+import ortus.boxlang.web.util.MockHTTPExchange;
 
 public class CookieScopeTest {
 
@@ -116,4 +120,85 @@ public class CookieScopeTest {
 		assertThat( variables.getAsString( Key.of( "checkResult" ) ) ).isEqualTo( "bar" );
 	}
 
+	@DisplayName( "Cookies parsed from the Cookie header are only decoded when read and keep the write semantics" )
+	@Test
+	public void testCookieHeaderParser() {
+		Map<String, String[]> headers = new HashMap<>();
+		headers.put( "Cookie", new String[] { "_ga=GA1.2.3; name=brad%20wood; NAME=luis; _gid=\"GA1.4\"" } );
+		MockHTTPExchange exchange = new MockHTTPExchange( new BoxCookie[ 0 ], headers );
+		exchange.setUseCookieHeaderParser( true );
+		WebRequestBoxContext	requestContext	= new WebRequestBoxContext( instance.getRuntimeContext(), exchange, "/" );
+		IScope					scope			= requestContext.getScopeNearby( CookieScope.name );
+
+		// The last cookie sent with a name wins
+		assertThat( scope.get( Key.of( "name" ) ) ).isEqualTo( "luis" );
+		assertThat( scope.get( Key.of( "_gid" ) ) ).isEqualTo( "GA1.4" );
+		assertThat( scope.containsKey( Key.of( "missing" ) ) ).isFalse();
+
+		scope.assign( requestContext, Key.of( "_ga" ), "replaced" );
+		assertThat( scope.get( Key.of( "_ga" ) ) ).isEqualTo( "replaced" );
+		BoxCookie[] responseCookies = requestContext.getResponseCookies();
+		assertThat( responseCookies[ responseCookies.length - 1 ].getValue() ).isEqualTo( "replaced" );
+		assertThat( scope.keySet() ).containsExactly( Key.of( "_ga" ), Key.of( "name" ), Key.of( "_gid" ) );
+	}
+
+	@DisplayName( "A cookie written several times in a request is only sent once with its last value" )
+	@Test
+	public void testRepeatedWritesAreCollapsed() {
+		MockHTTPExchange		exchange		= new MockHTTPExchange( new BoxCookie[ 0 ], new HashMap<>() );
+		WebRequestBoxContext	requestContext	= new WebRequestBoxContext( instance.getRuntimeContext(), exchange, "/" );
+		IScope					scope			= requestContext.getScopeNearby( CookieScope.name );
+
+		scope.assign( requestContext, Key.of( "counter" ), "1" );
+		scope.assign( requestContext, Key.of( "other" ), "x" );
+		scope.assign( requestContext, Key.of( "counter" ), "2" );
+
+		// The cookies are held by the request until the response is committed
+		assertThat( exchange.getResponseCookies() ).isEmpty();
+		requestContext.sendResponseCookies();
+
+		BoxCookie[] responseCookies = exchange.getResponseCookies();
+		assertThat( responseCookies ).hasLength( 2 );
+		assertThat( responseCookies[ 0 ].getName() ).isEqualTo( "counter" );
+		assertThat( responseCookies[ 0 ].getValue() ).isEqualTo( "2" );
+		assertThat( responseCookies[ 1 ].getName() ).isEqualTo( "other" );
+		assertThat( requestContext.getResponseCookies() ).isEmpty();
+	}
+
+	@DisplayName( "Cookies are sent to the exchange when the response is flushed" )
+	@Test
+	public void testCookiesSentOnFlush() {
+		MockHTTPExchange exchange = new MockHTTPExchange( new BoxCookie[ 0 ], new HashMap<>() );
+		exchange.setResponseWriter( new PrintWriter( OutputStream.nullOutputStream() ) );
+		WebRequestBoxContext requestContext = new WebRequestBoxContext( instance.getRuntimeContext(), exchange, "/" );
+		requestContext.loadApplicationDescriptor( URI.create( "/" ) );
+		IScope scope = requestContext.getScopeNearby( CookieScope.name );
+
+		scope.assign( requestContext, Key.of( "flushed" ), "yes" );
+		requestContext.flushBuffer( true );
+
+		BoxCookie[] responseCookies = exchange.getResponseCookies();
+		assertThat( Arrays.stream( responseCookies ).map( BoxCookie::getName ).toList() ).contains( "flushed" );
+
+		// Once the response is committed a cookie can no longer be sent
+		scope.assign( requestContext, Key.of( "late" ), "no" );
+		requestContext.flushBuffer( true );
+		assertThat( exchange.getResponseCookies() ).hasLength( responseCookies.length );
+	}
+
+	@DisplayName( "Cookies are sent to the exchange when the response is committed for a direct write" )
+	@Test
+	public void testCookiesSentOnCommit() {
+		MockHTTPExchange exchange = new MockHTTPExchange( new BoxCookie[ 0 ], new HashMap<>() );
+		WebRequestBoxContext requestContext = new WebRequestBoxContext( instance.getRuntimeContext(), exchange, "/" );
+		requestContext.loadApplicationDescriptor( URI.create( "/" ) );
+		IScope scope = requestContext.getScopeNearby( CookieScope.name );
+
+		scope.assign( requestContext, Key.of( "streamed" ), "yes" );
+		requestContext.commitResponse();
+
+		assertThat( requestContext.isResponseCommitted() ).isTrue();
+		assertThat( Arrays.stream( exchange.getResponseCookies() ).map( BoxCookie::getName ).toList() ).contains( "streamed" );
+	}
+
 }
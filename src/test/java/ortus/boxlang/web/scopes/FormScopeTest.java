@@ -0,0 +1,117 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.web.scopes;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.Array;
+import ortus.boxlang.web.context.WebRequestBoxContext;
+import ortus.boxlang.web.exchange.BoxCookie;
+import ortus.boxlang.web.util.MockHTTPExchange;
+
+public class FormScopeTest {
+
+	static BoxRuntime	instance;
+	MockHTTPExchange	exchange;
+	FormScope			formScope;
+
+	@BeforeAll
+	public static void setUp() {
+		instance = BoxRuntime.getInstance( true );
+	}
+
+	@BeforeEach
+	public void setupEach() {
+		Map<String, String[]> form = new LinkedHashMap<>();
+		form.put( "name", new String[] { "brad", "", "luis" } );
+		form.put( "tags[]", new String[] { "a", "", "b" } );
+		form.put( "Email", new String[] { "brad@example.com" } );
+
+		exchange = new MockHTTPExchange( new BoxCookie[ 0 ], new HashMap<String, String[]>() );
+		exchange.setRequestMethod( "POST" );
+		exchange.setRequestFormMap( form );
+		formScope = new FormScope( new WebRequestBoxContext( instance.getRuntimeContext(), exchange, "/" ) );
+	}
+
+	@Test
+	@DisplayName( "Fields are joined or turned into arrays when they are read" )
+	public void testFieldsAreConvertedOnRead() {
+		assertThat( formScope.get( Key.of( "name" ) ) ).isEqualTo( "brad,luis" );
+		assertThat( formScope.get( Key.of( "email" ) ) ).isEqualTo( "brad@example.com" );
+		assertThat( formScope.get( Key.of( "tags" ) ) ).isInstanceOf( Array.class );
+		assertThat( ( ( Array ) formScope.get( Key.of( "tags" ) ) ).size() ).isEqualTo( 3 );
+		assertThat( formScope.containsKey( Key.of( "missing" ) ) ).isFalse();
+		assertThat( formScope.get( FormScope.fieldNames ) ).isEqualTo( "name,tags,Email" );
+	}
+
+	@Test
+	@DisplayName( "Values set on the scope win over the form fields and removed fields stay removed" )
+	public void testWritesOverrideFields() {
+		formScope.put( Key.of( "name" ), "zac" );
+		formScope.remove( Key.of( "email" ) );
+
+		assertThat( formScope.get( Key.of( "name" ) ) ).isEqualTo( "zac" );
+		assertThat( formScope.containsKey( Key.of( "email" ) ) ).isFalse();
+		assertThat( formScope.size() ).isEqualTo( 3 );
+		assertThat( formScope.keySet() ).contains( Key.of( "tags" ) );
+	}
+
+	@Test
+	@DisplayName( "Operations over the whole scope see fields which were never read" )
+	public void testWholeScopeOperationsSeeEveryField() {
+		assertThat( formScope.getOrDefault( Key.of( "email" ), "none" ) ).isEqualTo( "brad@example.com" );
+		assertThat( formScope.containsValue( "brad,luis" ) ).isTrue();
+		assertThat( formScope.getKeys() ).hasSize( 4 );
+		assertThat( formScope.getKeysAsStrings() ).contains( "tags" );
+		assertThat( formScope.getWrapped() ).containsKey( Key.of( "name" ) );
+		assertThat( formScope.toString() ).contains( "brad@example.com" );
+	}
+
+	@Test
+	@DisplayName( "Reading fields first does not change the order the scope iterates in" )
+	public void testReadsDoNotChangeOrder() {
+		FormScope unread = new FormScope( new WebRequestBoxContext( instance.getRuntimeContext(), exchange, "/" ) );
+		formScope.get( Key.of( "email" ) );
+		formScope.get( FormScope.fieldNames );
+		formScope.get( Key.of( "tags" ) );
+
+		assertThat( formScope.getKeys() ).containsExactlyElementsIn( unread.getKeys() ).inOrder();
+	}
+
+	@Test
+	@DisplayName( "Only POST requests get form.fieldNames" )
+	public void testFieldNamesOnlyForPost() {
+		exchange.setRequestMethod( "GET" );
+		formScope = new FormScope( new WebRequestBoxContext( instance.getRuntimeContext(), exchange, "/" ) );
+
+		assertThat( formScope.containsKey( FormScope.fieldNames ) ).isFalse();
+		assertThat( formScope.size() ).isEqualTo( 3 );
+	}
+
+}
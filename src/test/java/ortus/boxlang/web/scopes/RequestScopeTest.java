@@ -0,0 +1,105 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.web.scopes;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.web.context.WebRequestBoxContext;
+import ortus.boxlang.web.exchange.BoxCookie;
+import ortus.boxlang.web.util.MockHTTPExchange;
+
+public class RequestScopeTest {
+
+	static BoxRuntime		instance;
+	MockHTTPExchange		exchange;
+	WebRequestBoxContext	context;
+	RequestScope			requestScope;
+
+	@BeforeAll
+	public static void setUp() {
+		instance = BoxRuntime.getInstance( true );
+	}
+
+	@BeforeEach
+	public void setupEach() {
+		exchange	= new MockHTTPExchange( new BoxCookie[ 0 ], new HashMap<String, String[]>() );
+		context		= new WebRequestBoxContext( instance.getRuntimeContext(), exchange, "/" );
+		exchange.setRequestAttribute( "javax.servlet.forward", "yes" );
+		requestScope = ( RequestScope ) context.getRequestScope();
+		requestScope.put( Key.of( "own" ), "value" );
+	}
+
+	@Test
+	@DisplayName( "The scope's own keys and the request attributes are seen as one struct" )
+	public void testMergedView() {
+		assertThat( requestScope.size() ).isEqualTo( 2 );
+		assertThat( requestScope.keySet() ).containsExactly( Key.of( "own" ), Key.of( "javax.servlet.forward" ) );
+		assertThat( requestScope.values() ).containsExactly( "value", "yes" );
+
+		Map<Key, Object> copy = new HashMap<>();
+		requestScope.entrySet().forEach( entry -> copy.put( entry.getKey(), entry.getValue() ) );
+		assertThat( copy ).containsExactly( Key.of( "own" ), "value", Key.of( "javax.servlet.forward" ), "yes" );
+	}
+
+	@Test
+	@DisplayName( "The views follow attributes set and removed on the exchange" )
+	public void testViewsAreLive() {
+		Set<Key> keys = requestScope.keySet();
+
+		exchange.setRequestAttribute( "added", 1 );
+		assertThat( keys ).contains( Key.of( "added" ) );
+		assertThat( requestScope.size() ).isEqualTo( 3 );
+
+		exchange.removeRequestAttribute( "javax.servlet.forward" );
+		assertThat( keys ).containsExactly( Key.of( "own" ), Key.of( "added" ) );
+		assertThat( requestScope.containsKey( Key.of( "javax.servlet.forward" ) ) ).isFalse();
+	}
+
+	@Test
+	@DisplayName( "An attribute swapped for another is seen even though the count is unchanged" )
+	public void testSwappedAttribute() {
+		assertThat( requestScope.keySet() ).contains( Key.of( "javax.servlet.forward" ) );
+
+		exchange.removeRequestAttribute( "javax.servlet.forward" );
+		exchange.setRequestAttribute( "javax.servlet.include", "yes" );
+		assertThat( requestScope.keySet() ).containsExactly( Key.of( "own" ), Key.of( "javax.servlet.include" ) );
+	}
+
+	@Test
+	@DisplayName( "An attribute with the same name as one of the scope's own keys is only seen once" )
+	public void testShadowedAttribute() {
+		exchange.setRequestAttribute( "OWN", "attribute" );
+
+		assertThat( requestScope.size() ).isEqualTo( 2 );
+		assertThat( requestScope.keySet() ).containsExactly( Key.of( "own" ), Key.of( "javax.servlet.forward" ) );
+		assertThat( requestScope.values() ).containsExactly( "value", "yes" );
+		assertThat( requestScope.entrySet() ).hasSize( 2 );
+	}
+
+}
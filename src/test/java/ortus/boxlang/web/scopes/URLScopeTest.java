@@ -24,6 +24,8 @@ import static org.mockito.Mockito.when;
 import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
@@ -36,9 +38,11 @@ import ortus.boxlang.runtime.BoxRuntime;
 import ortus.boxlang.runtime.context.IBoxContext;
 import ortus.boxlang.runtime.scopes.IScope;
 import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.Array;
 import ortus.boxlang.web.context.WebRequestBoxContext;
 import ortus.boxlang.web.exchange.BoxCookie;
 import ortus.boxlang.web.exchange.IBoxHTTPExchange;
+import ortus.boxlang.web.util.MockHTTPExchange;
 
 public class URLScopeTest {
 
@@ -82,4 +86,39 @@ public class URLScopeTest {
 		assertThat( urlScope.getAsString( result ) ).isEqualTo( "foo" );
 	}
 
+	@DisplayName( "Names which only differ in case are separate parameters with either the URL map or the parser" )
+	@Test
+	public void testCaseVariantNames() {
+		Map<String, String[]> urlMap = new LinkedHashMap<>();
+		urlMap.put( "a", new String[] { "1" } );
+		urlMap.put( "A", new String[] { "2" } );
+
+		assertThat( buildScope( null, false, urlMap ).get( Key.of( "a" ) ) ).isEqualTo( "2" );
+		assertThat( buildScope( "a=1&A=2", true, null ).get( Key.of( "a" ) ) ).isEqualTo( "2" );
+		assertThat( buildScope( "a=1&a=&a=3", true, null ).get( Key.of( "a" ) ) ).isEqualTo( "1,,3" );
+	}
+
+	@DisplayName( "A foo[] parameter replaces a plain foo parameter with either the URL map or the parser" )
+	@Test
+	public void testArrayAfterPlainName() {
+		Map<String, String[]> urlMap = new LinkedHashMap<>();
+		urlMap.put( "foo", new String[] { "x" } );
+		urlMap.put( "foo[]", new String[] { "y" } );
+
+		for ( IScope scope : new IScope[] { buildScope( null, false, urlMap ), buildScope( "foo=x&foo[]=y", true, null ) } ) {
+			assertThat( scope.get( Key.of( "foo" ) ) ).isInstanceOf( Array.class );
+			assertThat( ( ( Array ) scope.get( Key.of( "foo" ) ) ).size() ).isEqualTo( 1 );
+		}
+	}
+
+	private IScope buildScope( String queryString, boolean useParser, Map<String, String[]> urlMap ) {
+		MockHTTPExchange exchange = new MockHTTPExchange( new BoxCookie[ 0 ], new HashMap<String, String[]>() );
+		exchange.setRequestQueryString( queryString );
+		exchange.setUseQueryStringParser( useParser );
+		if ( urlMap != null ) {
+			exchange.setRequestURLMap( urlMap );
+		}
+		return new URLScope( new WebRequestBoxContext( instance.getRuntimeContext(), exchange, "/" ) );
+	}
+
 }
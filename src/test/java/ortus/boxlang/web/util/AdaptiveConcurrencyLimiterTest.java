@@ -0,0 +1,199 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.web.util;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.Struct;
+
+public class AdaptiveConcurrencyLimiterTest {
+
+	private static final long	TEN_MILLIS	= TimeUnit.MILLISECONDS.toNanos( 10 );
+
+	private long				now			= 0;
+
+	@AfterEach
+	public void disableLimits() {
+		ConcurrencyLimits.configure( Struct.of( KeyDictionary.enabled, false ) );
+	}
+
+	@Test
+	@DisplayName( "Requests over the limit are rejected and counted" )
+	public void testRejectsOverLimit() {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter( 2, 1, 10, 3, () -> now );
+
+		assertThat( limiter.tryAcquire() ).isTrue();
+		assertThat( limiter.tryAcquire() ).isTrue();
+		assertThat( limiter.tryAcquire() ).isFalse();
+		assertThat( limiter.getInflight() ).isEqualTo( 2 );
+		assertThat( limiter.getRejected() ).isEqualTo( 1L );
+		assertThat( limiter.getRetryAfter() ).isEqualTo( 3 );
+
+		limiter.release();
+		assertThat( limiter.tryAcquire() ).isTrue();
+	}
+
+	@Test
+	@DisplayName( "A permit given back early frees its place once, and the final release is a no-op" )
+	public void testPermitReleasedOnce() {
+		AdaptiveConcurrencyLimiter			limiter	= new AdaptiveConcurrencyLimiter( 1, 1, 10, 1, () -> now );
+		AdaptiveConcurrencyLimiter.Permit	permit	= limiter.tryAcquirePermit();
+
+		assertThat( permit ).isNotNull();
+		assertThat( limiter.tryAcquirePermit() ).isNull();
+
+		permit.releaseWithoutSample();
+		permit.release();
+		assertThat( limiter.getInflight() ).isEqualTo( 0 );
+		assertThat( limiter.tryAcquirePermit() ).isNotNull();
+	}
+
+	@Test
+	@DisplayName( "The limit shrinks towards what the server can handle when latency climbs with load" )
+	public void testShrinksUnderQueueing() {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter( 100, 4, 1000, 1, () -> now );
+		// Learn the unloaded latency over a few windows
+		for ( int window = 0; window < 5; window++ ) {
+			for ( int i = 0; i < 10; i++ ) {
+				limiter.tryAcquire();
+			}
+			for ( int i = 0; i < 10; i++ ) {
+				limiter.release( TEN_MILLIS );
+			}
+			now += TimeUnit.MILLISECONDS.toNanos( 100 );
+		}
+
+		// A server which can only run 20 requests at once, everything past that queues
+		for ( int round = 0; round < 50; round++ ) {
+			runRound( limiter, 20 );
+		}
+
+		assertThat( limiter.getLimit() ).isLessThan( 50 );
+		assertThat( limiter.getLimit() ).isAtLeast( 20 );
+	}
+
+	@Test
+	@DisplayName( "The limit grows while latency holds steady under full load" )
+	public void testGrowsWhenHealthy() {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter( 20, 4, 1000, 1, () -> now );
+		for ( int round = 0; round < 50; round++ ) {
+			runRound( limiter, Integer.MAX_VALUE );
+		}
+		assertThat( limiter.getLimit() ).isGreaterThan( 20 );
+	}
+
+	@Test
+	@DisplayName( "Mixing fast and slow endpoints does not collapse the limit" )
+	public void testBimodalLatency() {
+		AdaptiveConcurrencyLimiter	limiter	= new AdaptiveConcurrencyLimiter( 20, 4, 1000, 1, () -> now );
+		long						fast	= TimeUnit.MILLISECONDS.toNanos( 1 );
+		long						slow	= TimeUnit.MILLISECONDS.toNanos( 200 );
+		for ( int round = 0; round < 100; round++ ) {
+			int acquired = 0;
+			while ( limiter.tryAcquire() ) {
+				acquired++;
+			}
+			// Half health checks, half pages, none of them queueing
+			for ( int i = 0; i < acquired; i++ ) {
+				limiter.release( i % 2 == 0 ? fast : slow );
+			}
+			now += TimeUnit.MILLISECONDS.toNanos( 100 );
+		}
+		assertThat( limiter.getLimit() ).isGreaterThan( 20 );
+	}
+
+	@Test
+	@DisplayName( "The limit does not grow while most of it is unused" )
+	public void testIdleDoesNotGrow() {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter( 20, 4, 1000, 1, () -> now );
+		for ( int i = 0; i < 1000; i++ ) {
+			limiter.tryAcquire();
+			limiter.release( TEN_MILLIS );
+		}
+		assertThat( limiter.getLimit() ).isEqualTo( 20 );
+	}
+
+	@Test
+	@DisplayName( "Requests are matched to the limiter of their longest URL prefix" )
+	public void testPrefixes() {
+		ConcurrencyLimits.configure( Struct.of(
+		    KeyDictionary.enabled, true,
+		    KeyDictionary.maxLimit, 500,
+		    KeyDictionary.prefixes, Struct.of(
+		        Key.of( "/api/" ), Struct.of( KeyDictionary.initialLimit, 5 ),
+		        Key.of( "/api/admin/" ), Struct.of( KeyDictionary.initialLimit, 2 )
+		    )
+		) );
+
+		AdaptiveConcurrencyLimiter	api		= ConcurrencyLimits.forRequest( "/api/users" );
+		AdaptiveConcurrencyLimiter	admin	= ConcurrencyLimits.forRequest( "/api/admin/users" );
+		AdaptiveConcurrencyLimiter	root	= ConcurrencyLimits.forRequest( "/index.bxm" );
+
+		assertThat( api.getLimit() ).isEqualTo( 5 );
+		assertThat( admin.getLimit() ).isEqualTo( 2 );
+		assertThat( root.getLimit() ).isEqualTo( ConcurrencyLimits.DEFAULT_INITIAL_LIMIT );
+		assertThat( api ).isNotSameInstanceAs( root );
+
+		IStruct snapshot = ConcurrencyLimits.getSnapshot();
+		assertThat( snapshot.keySet() ).containsExactly( Key.of( "/api/admin/" ), Key.of( "/api/" ), Key.of( "/" ) ).inOrder();
+	}
+
+	@Test
+	@DisplayName( "No limiter is handed out while limiting is disabled" )
+	public void testDisabled() {
+		ConcurrencyLimits.configure( Struct.of( KeyDictionary.enabled, false ) );
+		assertThat( ConcurrencyLimits.forRequest( "/index.bxm" ) ).isNull();
+		assertThat( ConcurrencyLimits.getSnapshot() ).isEmpty();
+	}
+
+	@Test
+	@DisplayName( "A reloaded configuration sets the limiters up again from the runtime settings" )
+	public void testConfigurationReload() {
+		ConcurrencyLimits.configure( Struct.of( KeyDictionary.enabled, true ) );
+		assertThat( ConcurrencyLimits.forRequest( "/index.bxm" ) ).isNotNull();
+
+		// The test runtime does not enable limiting
+		ConcurrencyLimits.configurationLoaded();
+		assertThat( ConcurrencyLimits.forRequest( "/index.bxm" ) ).isNull();
+	}
+
+	/**
+	 * Fill the limit, then complete every request with a latency which grows once more than <code>capacity</code>
+	 * requests run at once
+	 */
+	private void runRound( AdaptiveConcurrencyLimiter limiter, int capacity ) {
+		int acquired = 0;
+		while ( limiter.tryAcquire() ) {
+			acquired++;
+		}
+		long latency = ( long ) ( TEN_MILLIS * Math.max( 1.0, acquired / ( double ) capacity ) );
+		for ( int i = 0; i < acquired; i++ ) {
+			limiter.release( latency );
+		}
+		now += TimeUnit.MILLISECONDS.toNanos( 100 );
+	}
+
+}
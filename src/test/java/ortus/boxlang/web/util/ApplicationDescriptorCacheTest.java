@@ -0,0 +1,117 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.web.util;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ortus.boxlang.runtime.types.IStruct;
+
+public class ApplicationDescriptorCacheTest {
+
+	@TempDir
+	Path webRoot;
+
+	@BeforeEach
+	public void setupWebRoot() throws IOException {
+		Files.createDirectories( webRoot.resolve( "admin/users/reports" ) );
+		Files.createDirectories( webRoot.resolve( "public/assets" ) );
+		Files.writeString( webRoot.resolve( "admin/Application.bx" ), "class {}" );
+	}
+
+	@Test
+	@DisplayName( "Requests are pointed at the directory holding their application descriptor" )
+	public void testResolvesDescriptorDirectory() {
+		ApplicationDescriptorCache cache = new ApplicationDescriptorCache( webRoot.toString(), 60 );
+
+		assertThat( cache.resolve( "/admin/users/reports/list.bxm" ) ).isEqualTo( "/admin/list.bxm" );
+		assertThat( cache.resolve( "/admin/index.bxm" ) ).isEqualTo( "/admin/index.bxm" );
+		// No descriptor anywhere up the tree is remembered too
+		assertThat( cache.resolve( "/public/assets/page.bxm" ) ).isEqualTo( "/page.bxm" );
+	}
+
+	@Test
+	@DisplayName( "Template descriptors and descriptors in any case are not skipped over" )
+	public void testEveryDescriptorKind() throws IOException {
+		Files.writeString( webRoot.resolve( "admin/users/Application.bxm" ), "<bx:application name=\"users\">" );
+		Files.writeString( webRoot.resolve( "public/application.cfm" ), "<cfapplication name=\"public\">" );
+		ApplicationDescriptorCache cache = new ApplicationDescriptorCache( webRoot.toString(), 60 );
+
+		assertThat( cache.resolve( "/admin/users/reports/list.bxm" ) ).isEqualTo( "/admin/users/list.bxm" );
+		assertThat( cache.resolve( "/public/assets/page.cfm" ) ).isEqualTo( "/public/page.cfm" );
+	}
+
+	@Test
+	@DisplayName( "Repeat lookups for a directory are served from the cache" )
+	public void testHitsAndMisses() {
+		ApplicationDescriptorCache cache = new ApplicationDescriptorCache( webRoot.toString(), 60 );
+
+		cache.resolve( "/admin/users/reports/list.bxm" );
+		cache.resolve( "/admin/users/reports/detail.bxm" );
+		cache.resolve( "/admin/users/reports/list.bxm" );
+		cache.resolve( "/public/assets/a.bxm" );
+		cache.resolve( "/public/assets/b.bxm" );
+
+		IStruct stats = cache.getStats();
+		assertThat( stats.get( KeyDictionary.misses ) ).isEqualTo( 2L );
+		assertThat( stats.get( KeyDictionary.hits ) ).isEqualTo( 3L );
+		assertThat( stats.get( KeyDictionary.entries ) ).isEqualTo( 2 );
+	}
+
+	@Test
+	@DisplayName( "Directories outside of the web root or which do not exist are passed through and not cached" )
+	public void testUnknownDirectoriesAreNotCached() {
+		ApplicationDescriptorCache cache = new ApplicationDescriptorCache( webRoot.toString(), 60 );
+
+		assertThat( cache.resolve( "/missing/dir/page.bxm" ) ).isEqualTo( "/missing/dir/page.bxm" );
+		assertThat( cache.resolve( "/../outside/page.bxm" ) ).isEqualTo( "/../outside/page.bxm" );
+		assertThat( cache.resolve( "/index.bxm/path/info" ) ).isEqualTo( "/index.bxm/path/info" );
+		assertThat( cache.getStats().get( KeyDictionary.entries ) ).isEqualTo( 0 );
+	}
+
+	@Test
+	@DisplayName( "A new descriptor is picked up once the cache is cleared" )
+	public void testClear() throws IOException {
+		ApplicationDescriptorCache cache = new ApplicationDescriptorCache( webRoot.toString(), 60 );
+		assertThat( cache.resolve( "/public/assets/page.bxm" ) ).isEqualTo( "/page.bxm" );
+
+		Files.writeString( webRoot.resolve( "public/Application.bx" ), "class {}" );
+		assertThat( cache.resolve( "/public/assets/page.bxm" ) ).isEqualTo( "/page.bxm" );
+
+		cache.clear();
+		assertThat( cache.resolve( "/public/assets/page.bxm" ) ).isEqualTo( "/public/page.bxm" );
+	}
+
+	@Test
+	@DisplayName( "A TTL of zero disables the cache" )
+	public void testDisabled() {
+		ApplicationDescriptorCache cache = new ApplicationDescriptorCache( webRoot.toString(), 0 );
+
+		assertThat( cache.resolve( "/admin/users/reports/list.bxm" ) ).isEqualTo( "/admin/users/reports/list.bxm" );
+		assertThat( cache.getStats().get( KeyDictionary.misses ) ).isEqualTo( 0L );
+	}
+
+}
@@ -0,0 +1,75 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.web.util;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class ByteRangeTest {
+
+	@Test
+	@DisplayName( "First-last, open ended and suffix ranges are clamped to the representation" )
+	public void testParse() {
+		assertThat( ByteRange.parse( "bytes=0-499", 1000 ) ).containsExactly( new ByteRange( 0, 499 ) );
+		assertThat( ByteRange.parse( "bytes=500-", 1000 ) ).containsExactly( new ByteRange( 500, 999 ) );
+		assertThat( ByteRange.parse( "Bytes = -100", 1000 ) ).containsExactly( new ByteRange( 900, 999 ) );
+		assertThat( ByteRange.parse( "bytes=900-5000", 1000 ) ).containsExactly( new ByteRange( 900, 999 ) );
+		assertThat( ByteRange.parse( "bytes=-5000", 1000 ) ).containsExactly( new ByteRange( 0, 999 ) );
+		assertThat( new ByteRange( 900, 999 ).toContentRange( 1000 ) ).isEqualTo( "bytes 900-999/1000" );
+	}
+
+	@Test
+	@DisplayName( "Overlapping and adjacent ranges are merged in order" )
+	public void testCoalesce() {
+		List<ByteRange> ranges = ByteRange.parse( "bytes=500-599, 0-99,90-199, 200-299 ,800-", 1000 );
+		assertThat( ranges ).containsExactly( new ByteRange( 0, 299 ), new ByteRange( 500, 599 ), new ByteRange( 800, 999 ) ).inOrder();
+	}
+
+	@Test
+	@DisplayName( "Headers which cannot be parsed are ignored and ranges past the end are unsatisfiable" )
+	public void testInvalidAndUnsatisfiable() {
+		assertThat( ByteRange.parse( null, 1000 ) ).isNull();
+		assertThat( ByteRange.parse( "items=0-5", 1000 ) ).isNull();
+		assertThat( ByteRange.parse( "bytes=5-1", 1000 ) ).isNull();
+		assertThat( ByteRange.parse( "bytes=a-b", 1000 ) ).isNull();
+		assertThat( ByteRange.parse( "bytes=-", 1000 ) ).isNull();
+		assertThat( ByteRange.parse( "bytes=" + "0-0,".repeat( 40 ), 1000 ) ).isNull();
+
+		assertThat( ByteRange.parse( "bytes=1000-", 1000 ) ).isEmpty();
+		assertThat( ByteRange.parse( "bytes=-0", 1000 ) ).isEmpty();
+		assertThat( ByteRange.parse( "bytes=0-10", 0 ) ).isEmpty();
+		assertThat( ByteRange.toUnsatisfiedContentRange( 1000 ) ).isEqualTo( "bytes */1000" );
+	}
+
+	@Test
+	@DisplayName( "If-Range only matches a strong entity tag or the exact last modified date" )
+	public void testIfRange() {
+		String lastModified = "Sun, 06 Nov 1994 08:49:37 GMT";
+		assertThat( ByteRange.ifRangeMatches( null, "\"abc\"", lastModified ) ).isTrue();
+		assertThat( ByteRange.ifRangeMatches( "\"abc\"", "\"abc\"", lastModified ) ).isTrue();
+		assertThat( ByteRange.ifRangeMatches( "\"abd\"", "\"abc\"", lastModified ) ).isFalse();
+		assertThat( ByteRange.ifRangeMatches( "W/\"abc\"", "W/\"abc\"", lastModified ) ).isFalse();
+		assertThat( ByteRange.ifRangeMatches( lastModified, "\"abc\"", lastModified ) ).isTrue();
+		assertThat( ByteRange.ifRangeMatches( "Mon, 07 Nov 1994 08:49:37 GMT", "\"abc\"", lastModified ) ).isFalse();
+	}
+
+}
@@ -0,0 +1,51 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.web.util;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.time.Instant;
+import java.util.Date;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class HTTPDateFormatTest {
+
+	@Test
+	@DisplayName( "Dates are formatted as IMF-fixdate in GMT" )
+	public void testFormat() {
+		assertThat( HTTPDateFormat.format( Instant.parse( "1994-11-06T08:49:37Z" ) ) ).isEqualTo( "Sun, 06 Nov 1994 08:49:37 GMT" );
+		assertThat( HTTPDateFormat.format( new Date( 1735707599999L ) ) ).isEqualTo( "Wed, 01 Jan 2025 04:59:59 GMT" );
+		// Repeat lookups come from the cache
+		assertThat( HTTPDateFormat.formatEpochSecond( 784111777 ) ).isEqualTo( "Sun, 06 Nov 1994 08:49:37 GMT" );
+		assertThat( HTTPDateFormat.format( new Date( -1 ) ) ).isEqualTo( "Wed, 31 Dec 1969 23:59:59 GMT" );
+	}
+
+	@Test
+	@DisplayName( "The current time is formatted once per second" )
+	public void testNow() {
+		long	before	= System.currentTimeMillis() / 1000;
+		String	now		= HTTPDateFormat.now();
+		long	after	= System.currentTimeMillis() / 1000;
+
+		assertThat( now ).isAnyOf( HTTPDateFormat.formatEpochSecond( before ), HTTPDateFormat.formatEpochSecond( after ) );
+		assertThat( HTTPDateFormat.now() ).endsWith( " GMT" );
+	}
+
+}
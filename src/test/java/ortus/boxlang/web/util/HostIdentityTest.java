@@ -0,0 +1,66 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.web.util;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class HostIdentityTest {
+
+	@Test
+	@DisplayName( "The local host identity is served from memory once it is resolved" )
+	public void testResolve() throws UnknownHostException {
+		InetAddress localHost = InetAddress.getLocalHost();
+		HostIdentity.refresh();
+
+		assertThat( HostIdentity.getAddress() ).isEqualTo( localHost.getHostAddress() );
+		assertThat( HostIdentity.getHostName() ).isEqualTo( localHost.getHostName() );
+	}
+
+	@Test
+	@DisplayName( "Starting does not wait for the lookup, which completes in the background" )
+	public void testStartResolvesInBackground() throws UnknownHostException, InterruptedException {
+		String address = InetAddress.getLocalHost().getHostAddress();
+		HostIdentity.start( 0 );
+
+		// Until the lookup completes the loopback address is served
+		assertThat( HostIdentity.getAddress() ).isNotEmpty();
+		long deadline = System.currentTimeMillis() + 10_000;
+		while ( !HostIdentity.getAddress().equals( address ) && System.currentTimeMillis() < deadline ) {
+			Thread.sleep( 10 );
+		}
+		assertThat( HostIdentity.getAddress() ).isEqualTo( address );
+		HostIdentity.stop();
+	}
+
+	@Test
+	@DisplayName( "A refresh interval of zero resolves the identity without scheduling a refresh" )
+	public void testStartWithoutRefresh() {
+		HostIdentity.start( 0 );
+
+		assertThat( HostIdentity.getAddress() ).isNotEmpty();
+		assertThat( HostIdentity.getHostName() ).isNotEmpty();
+		HostIdentity.stop();
+	}
+
+}
@@ -0,0 +1,106 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.web.util;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class HtmlInjectorTest {
+
+	@Test
+	@DisplayName( "Head content is appended right before the head end tag" )
+	public void testAppendToHead() {
+		StringBuffer page = new StringBuffer( "<!DOCTYPE html>\n<HTML><Head><title>t</title></HEAD><body class=\"a\">x</body></html>" );
+		assertThat( HtmlInjector.appendToHead( page, "<meta x>" ) ).isTrue();
+		assertThat( page.toString() ).isEqualTo( "<!DOCTYPE html>\n<HTML><Head><title>t</title><meta x></HEAD><body class=\"a\">x</body></html>" );
+	}
+
+	@Test
+	@DisplayName( "A head section is created when the page has none" )
+	public void testAppendToMissingHead() {
+		StringBuffer page = new StringBuffer( "<html lang=\"en\"><body>x</body></html>" );
+		assertThat( HtmlInjector.appendToHead( page, "<meta x>" ) ).isTrue();
+		assertThat( page.toString() ).isEqualTo( "<html lang=\"en\"><head><meta x></head><body>x</body></html>" );
+
+		page = new StringBuffer( "<head><title>t</title><body>x</body>" );
+		assertThat( HtmlInjector.appendToHead( page, "<meta x>" ) ).isTrue();
+		assertThat( page.toString() ).isEqualTo( "<head><title>t</title><meta x><body>x</body>" );
+	}
+
+	@Test
+	@DisplayName( "Body content is prepended right after the body start tag" )
+	public void testPrependToBody() {
+		StringBuffer page = new StringBuffer( "<html><head></head><body data-x=\"1 > 0\" class='c'>\n  <p>hi</p></body></html>" );
+		assertThat( HtmlInjector.prependToBody( page, "<div>top</div>" ) ).isTrue();
+		assertThat( page.toString() ).isEqualTo( "<html><head></head><body data-x=\"1 > 0\" class='c'><div>top</div>\n  <p>hi</p></body></html>" );
+	}
+
+	@Test
+	@DisplayName( "Footer content is appended right before the last body end tag" )
+	public void testAppendToBody() {
+		StringBuffer page = new StringBuffer( "<html><body><p>hi</p></body>\n</html>" );
+		assertThat( HtmlInjector.appendToBody( page, "<script>f()</script>" ) ).isTrue();
+		assertThat( page.toString() ).isEqualTo( "<html><body><p>hi</p><script>f()</script></body>\n</html>" );
+	}
+
+	@Test
+	@DisplayName( "Tags inside comments, scripts and attribute values are ignored" )
+	public void testIgnoresTagsInRawText() {
+		String	html	= "<html><!-- <head></head> --><head><script>var s = '</head><body>';</script>"
+		    + "<style>/* </body> */</style></head><body title=\"<body>\"><textarea></body></textarea></body></html>";
+		var		points	= HtmlInjector.scan( html );
+
+		assertThat( points.headClose() ).isEqualTo( html.indexOf( "</style></head>" ) + "</style>".length() );
+		assertThat( points.bodyOpenStart() ).isEqualTo( html.indexOf( "<body title" ) );
+		assertThat( points.bodyOpenEnd() ).isEqualTo( html.indexOf( "<textarea>" ) );
+		assertThat( points.bodyClose() ).isEqualTo( html.lastIndexOf( "</body>" ) );
+	}
+
+	@Test
+	@DisplayName( "Fragments without the needed tags are left for the caller to handle" )
+	public void testMissingInsertionPoints() {
+		StringBuffer page = new StringBuffer( "<p>just a fragment</p>" );
+		assertThat( HtmlInjector.appendToHead( page, "x" ) ).isFalse();
+		assertThat( HtmlInjector.prependToBody( page, "x" ) ).isFalse();
+		assertThat( HtmlInjector.appendToBody( page, "x" ) ).isFalse();
+		assertThat( page.toString() ).isEqualTo( "<p>just a fragment</p>" );
+
+		// An unterminated script swallows the rest of the page
+		page = new StringBuffer( "<html><body><script>var x = '</body>';" );
+		assertThat( HtmlInjector.appendToBody( page, "x" ) ).isFalse();
+	}
+
+	@Test
+	@DisplayName( "Head, body start and body end content is spliced in with one scan, reporting what found no place" )
+	public void testInject() {
+		StringBuffer			page		= new StringBuffer( "<html><body></body></html>" );
+		HtmlInjector.Injection	injection	= HtmlInjector.inject( page, "<meta x>", "<p>top</p>", "<p>end</p>" );
+		assertThat( injection.complete() ).isTrue();
+		assertThat( page.toString() ).isEqualTo( "<html><head><meta x></head><body><p>top</p><p>end</p></body></html>" );
+
+		page		= new StringBuffer( "<p>fragment</p>" );
+		injection	= HtmlInjector.inject( page, "<meta x>", null, "" );
+		assertThat( injection.head() ).isFalse();
+		assertThat( injection.bodyStart() ).isTrue();
+		assertThat( injection.bodyEnd() ).isTrue();
+		assertThat( page.toString() ).isEqualTo( "<p>fragment</p>" );
+	}
+
+}
@@ -0,0 +1,127 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.web.util;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ortus.boxlang.runtime.types.IStruct;
+
+public class LatencyHistogramTest {
+
+	@Test
+	@DisplayName( "Every value falls in a bucket within 12.5% of it" )
+	public void testBucketPrecision() {
+		Random random = new Random( 42 );
+		for ( int i = 0; i < 100_000; i++ ) {
+			long	value	= random.nextLong( 1L << ( 1 + random.nextInt( 36 ) ) );
+			long	upper	= LatencyHistogram.bucketUpperBound( LatencyHistogram.bucketIndex( value ) );
+			assertThat( upper ).isAtLeast( value );
+			assertThat( ( double ) upper ).isAtMost( value * 1.125 + 1 );
+		}
+	}
+
+	@Test
+	@DisplayName( "Percentiles are reported to within the bucket precision" )
+	public void testPercentiles() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for ( long micros = 1; micros <= 10_000; micros++ ) {
+			histogram.record( TimeUnit.MICROSECONDS.toNanos( micros ) );
+		}
+
+		assertThat( histogram.getCount() ).isEqualTo( 10_000 );
+		assertThat( ( double ) histogram.getPercentile( 50 ) ).isWithin( 5_000 * 0.125 ).of( 5_000 );
+		assertThat( ( double ) histogram.getPercentile( 99 ) ).isWithin( 9_900 * 0.125 ).of( 9_900 );
+
+		IStruct snapshot = histogram.getSnapshot();
+		assertThat( snapshot.get( KeyDictionary.count ) ).isEqualTo( 10_000L );
+		assertThat( ( double ) snapshot.get( KeyDictionary.max ) ).isEqualTo( 10d );
+		assertThat( ( double ) snapshot.get( KeyDictionary.mean ) ).isWithin( 0.001 ).of( 5.0005 );
+
+		histogram.reset();
+		assertThat( histogram.getCount() ).isEqualTo( 0 );
+	}
+
+	@Test
+	@DisplayName( "Concurrent recording loses no counts" )
+	public void testConcurrentRecording() throws InterruptedException {
+		LatencyHistogram	histogram	= new LatencyHistogram();
+		ExecutorService		executor	= Executors.newFixedThreadPool( 8 );
+		for ( int t = 0; t < 8; t++ ) {
+			executor.submit( () -> {
+				for ( int i = 0; i < 50_000; i++ ) {
+					histogram.record( i * 1000L );
+				}
+			} );
+		}
+		executor.shutdown();
+		assertThat( executor.awaitTermination( 30, TimeUnit.SECONDS ) ).isTrue();
+
+		assertThat( histogram.getCount() ).isEqualTo( 400_000 );
+	}
+
+	@Test
+	@DisplayName( "A single stripe histogram loses no counts under concurrent recording" )
+	public void testSingleStripeConcurrentRecording() throws InterruptedException {
+		LatencyHistogram	histogram	= new LatencyHistogram( 1 );
+		ExecutorService		executor	= Executors.newFixedThreadPool( 8 );
+		for ( int t = 0; t < 8; t++ ) {
+			executor.submit( () -> {
+				for ( int i = 0; i < 50_000; i++ ) {
+					histogram.record( i * 1000L );
+				}
+			} );
+		}
+		executor.shutdown();
+		assertThat( executor.awaitTermination( 30, TimeUnit.SECONDS ) ).isTrue();
+
+		assertThat( histogram.getCount() ).isEqualTo( 400_000 );
+		assertThat( ( double ) histogram.getPercentile( 50 ) ).isWithin( 25_000 * 0.125 ).of( 25_000 );
+	}
+
+	@Test
+	@DisplayName( "Recording a value does not allocate" )
+	public void testRecordDoesNotAllocate() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		// Warm up so the recording path is compiled
+		for ( int i = 0; i < 100_000; i++ ) {
+			histogram.record( i * 1000L );
+		}
+
+		long before = allocatedBytes();
+		for ( int i = 0; i < 1_000_000; i++ ) {
+			histogram.record( i * 1000L );
+		}
+		long allocated = allocatedBytes() - before;
+
+		assertThat( allocated ).isLessThan( 1024L );
+	}
+
+	private static long allocatedBytes() {
+		return ( ( com.sun.management.ThreadMXBean ) ManagementFactory.getThreadMXBean() ).getCurrentThreadAllocatedBytes();
+	}
+
+}
@@ -18,7 +18,10 @@
 package ortus.boxlang.web.util;
 
 import java.io.File;
+import java.io.IOException;
 import java.io.PrintWriter;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.security.Principal;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -28,6 +31,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 
+import ortus.boxlang.runtime.types.exceptions.BoxIOException;
 import ortus.boxlang.web.context.WebRequestBoxContext;
 import ortus.boxlang.web.exchange.BoxCookie;
 import ortus.boxlang.web.exchange.IBoxHTTPExchange;
@@ -59,6 +63,8 @@ public class MockHTTPExchange implements IBoxHTTPExchange {
 	Map<String, String[]>	requestFormMap			= new HashMap<>();
 	FileUpload[]			uploadData;
 	Map<String, String[]>	requestURLMap			= new HashMap<>();
+	boolean					useQueryStringParser	= false;
+	boolean					useCookieHeaderParser	= false;
 	String					requestProtocol;
 	String					requestScheme;
 	String					requestServerName		= "localhost";
@@ -77,6 +83,7 @@ public class MockHTTPExchange implements IBoxHTTPExchange {
 	int						responseStatus			= 200;
 	String					responseStatusMessage;
 	PrintWriter				responseWriter			= new PrintWriter( System.out );
+	byte[]					responseBody			= new byte[ 0 ];
 
 	public MockHTTPExchange( BoxCookie[] cookies, Map<String, String[]> requestHeaders ) {
 		this.cookies		= cookies;
@@ -219,6 +226,16 @@ public class MockHTTPExchange implements IBoxHTTPExchange {
 		return requestURLMap;
 	}
 
+	@Override
+	public boolean useQueryStringParser() {
+		return useQueryStringParser;
+	}
+
+	@Override
+	public boolean useCookieHeaderParser() {
+		return useCookieHeaderParser;
+	}
+
 	@Override
 	public String getRequestProtocol() {
 		return requestProtocol;
@@ -257,11 +274,17 @@ public class MockHTTPExchange implements IBoxHTTPExchange {
 	@Override
 	public void setRequestAttribute( String name, Object o ) {
 		requestAttributes.put( name, o );
+		if ( context != null ) {
+			context.requestAttributesChanged();
+		}
 	}
 
 	@Override
 	public void removeRequestAttribute( String name ) {
 		requestAttributes.remove( name );
+		if ( context != null ) {
+			context.requestAttributesChanged();
+		}
 	}
 
 	@Override
@@ -360,12 +383,28 @@ public class MockHTTPExchange implements IBoxHTTPExchange {
 
 	@Override
 	public void sendResponseBinary( byte[] data ) {
-		// No-op for mock
+		this.responseBody = data;
 	}
 
 	@Override
 	public void sendResponseFile( File file ) {
-		// No-op for mock
+		try ( FileChannel channel = FileChannel.open( file.toPath(), StandardOpenOption.READ ) ) {
+			sendResponseFile( channel, 0, channel.size() );
+		} catch ( IOException e ) {
+			throw new BoxIOException( "Unable to read the response file", e );
+		}
+	}
+
+	/**
+	 * Send a file region by mapping it into memory, since there is no socket to transfer it to
+	 */
+	@Override
+	public void sendResponseFile( FileChannel channel, long position, long count ) {
+		try {
+			writeResponse( channel.map( FileChannel.MapMode.READ_ONLY, position, count ) );
+		} catch ( IOException e ) {
+			throw new BoxIOException( "Unable to map the response file", e );
+		}
 	}
 
 	@Override
@@ -386,6 +425,7 @@ public class MockHTTPExchange implements IBoxHTTPExchange {
 		responseCookies			= new BoxCookie[ 0 ];
 		responseStatus			= 200;
 		responseStatusMessage	= null;
+		responseBody			= new byte[ 0 ];
 	}
 
 	public BoxCookie[] getResponseCookies() {
@@ -465,6 +505,14 @@ public class MockHTTPExchange implements IBoxHTTPExchange {
 		this.requestURLMap = requestURLMap;
 	}
 
+	public void setUseQueryStringParser( boolean useQueryStringParser ) {
+		this.useQueryStringParser = useQueryStringParser;
+	}
+
+	public void setUseCookieHeaderParser( boolean useCookieHeaderParser ) {
+		this.useCookieHeaderParser = useCookieHeaderParser;
+	}
+
 	public void setRequestProtocol( String requestProtocol ) {
 		this.requestProtocol = requestProtocol;
 	}
@@ -533,4 +581,13 @@ public class MockHTTPExchange implements IBoxHTTPExchange {
 		this.responseWriter = responseWriter;
 	}
 
+	/**
+	 * Get the binary response body sent through {@link #sendResponseBinary(byte[])} or the byte-oriented response methods
+	 *
+	 * @return The last body sent
+	 */
+	public byte[] getResponseBody() {
+		return this.responseBody;
+	}
+
 }
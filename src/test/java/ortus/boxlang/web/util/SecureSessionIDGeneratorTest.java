@@ -0,0 +1,65 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.web.util;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
+
+public class SecureSessionIDGeneratorTest {
+
+	@Test
+	@DisplayName( "IDs are unique URL safe base64 of the configured number of bytes" )
+	public void testGenerate() {
+		SecureSessionIDGenerator	generator	= new SecureSessionIDGenerator();
+		Set<String>					ids			= new HashSet<>();
+		for ( int i = 0; i < 10_000; i++ ) {
+			String id = generator.generate();
+			assertThat( id ).matches( "[A-Za-z0-9_-]{22}" );
+			ids.add( id.toLowerCase() );
+		}
+		assertThat( ids ).hasSize( 10_000 );
+		assertThat( new SecureSessionIDGenerator( 32 ).generate() ).hasLength( 43 );
+	}
+
+	@Test
+	@DisplayName( "Too few or too many bytes are rejected" )
+	public void testInvalidBytes() {
+		assertThrows( BoxRuntimeException.class, () -> new SecureSessionIDGenerator( 8 ) );
+		assertThrows( BoxRuntimeException.class, () -> new SecureSessionIDGenerator( 65 ) );
+	}
+
+	@Test
+	@DisplayName( "Generators are chosen by name or class name" )
+	public void testOf() {
+		assertThat( ISessionIDGenerator.of( null, 16 ) ).isSameInstanceAs( ISessionIDGenerator.RANDOM_UUID );
+		assertThat( ISessionIDGenerator.of( "UUID", 16 ).generate() ).matches( "[0-9a-f-]{36}" );
+		assertThat( ISessionIDGenerator.of( "secure", 24 ).generate() ).hasLength( 32 );
+		assertThat( ISessionIDGenerator.of( SecureSessionIDGenerator.class.getName(), 0 ) ).isInstanceOf( SecureSessionIDGenerator.class );
+		assertThrows( BoxRuntimeException.class, () -> ISessionIDGenerator.of( "com.example.Missing", 16 ) );
+		assertThrows( BoxRuntimeException.class, () -> ISessionIDGenerator.of( String.class.getName(), 16 ) );
+	}
+
+}
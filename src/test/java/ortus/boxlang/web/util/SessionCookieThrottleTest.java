@@ -0,0 +1,62 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.web.util;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.web.exchange.SessionCookiePolicy;
+
+public class SessionCookieThrottleTest {
+
+	@BeforeAll
+	public static void setUp() {
+		BoxRuntime.getInstance( true );
+	}
+
+	@Test
+	@DisplayName( "The cookie is sent again once the reissue fraction of its lifetime has passed" )
+	public void testReissueAfterFraction() {
+		SessionCookiePolicy policy = new SessionCookiePolicy( "throttled", true, false, null, "Lax", 0.5, "uuid", 16 );
+
+		assertThat( SessionCookieThrottle.isDue( "abc", policy, 1_000 ) ).isTrue();
+		SessionCookieThrottle.issued( "abc", policy, 1_000, 11_000 );
+		assertThat( SessionCookieThrottle.isDue( "abc", policy, 1_000 ) ).isFalse();
+		assertThat( SessionCookieThrottle.isDue( "abc", policy, 5_999 ) ).isFalse();
+		assertThat( SessionCookieThrottle.isDue( "abc", policy, 6_000 ) ).isTrue();
+
+		// Different settings, or a forgotten session, always get the cookie
+		assertThat( SessionCookieThrottle.isDue( "abc", new SessionCookiePolicy( "throttled", true, true, null, "Lax", 0.5, "uuid", 16 ), 1_000 ) ).isTrue();
+		SessionCookieThrottle.forget( "abc" );
+		assertThat( SessionCookieThrottle.isDue( "abc", policy, 1_000 ) ).isTrue();
+	}
+
+	@Test
+	@DisplayName( "A reissue fraction of zero sends the cookie on every response" )
+	public void testDisabled() {
+		SessionCookiePolicy policy = new SessionCookiePolicy( "throttled", true, false, null, "Lax", 0, "uuid", 16 );
+
+		SessionCookieThrottle.issued( "abc", policy, 1_000, 11_000 );
+		assertThat( SessionCookieThrottle.isDue( "abc", policy, 1_000 ) ).isTrue();
+	}
+
+}
@@ -0,0 +1,65 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.web.util;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.concurrent.ExecutionException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ortus.boxlang.runtime.BoxRuntime;
+
+public class VirtualThreadsTest {
+
+	@BeforeAll
+	public static void setUp() {
+		BoxRuntime.getInstance( true );
+	}
+
+	@AfterEach
+	public void resetMode() {
+		VirtualThreads.setEnabled( null );
+	}
+
+	@Test
+	@DisplayName( "Tasks submitted to the executor run on virtual threads" )
+	public void testExecutorUsesVirtualThreads() throws InterruptedException, ExecutionException {
+		assertThat( VirtualThreads.getExecutor().submit( () -> Thread.currentThread().isVirtual() ).get() ).isTrue();
+	}
+
+	@Test
+	@DisplayName( "The mode set programmatically wins over the runtime setting until it is cleared" )
+	public void testOverride() {
+		boolean configured = VirtualThreads.isEnabled();
+
+		VirtualThreads.setEnabled( !configured );
+		assertThat( VirtualThreads.isEnabled() ).isEqualTo( !configured );
+
+		// A configuration load only forgets the runtime setting
+		VirtualThreads.configurationLoaded();
+		assertThat( VirtualThreads.isEnabled() ).isEqualTo( !configured );
+
+		VirtualThreads.setEnabled( null );
+		assertThat( VirtualThreads.isEnabled() ).isEqualTo( configured );
+	}
+
+}